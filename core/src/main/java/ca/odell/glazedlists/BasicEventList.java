@@ -156,14 +156,29 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
 
         // create the change event
         updates.beginEvent();
-        for (E value : collection) {
-            updates.elementInserted(index, value);
-            data.add(index, value);
-            index++;
-        }
+        // do the actual add, and record it as a single block
+        final int size = data.size();
+        data.addAll(index, collection);
+        updates.elementsInserted(index, data.size() - size);
         // fire the event
         updates.commitEvent();
-        return !collection.isEmpty();
+        return true;
+    }
+
+    /**
+     * Appends all of the elements in the specified array to the end of this
+     * list, as a single block of changes.
+     */
+    public boolean addAll(E[] elements) {
+        return addAll(size(), elements);
+    }
+
+    /**
+     * Inserts all of the elements in the specified array into this list at
+     * the specified position, as a single block of changes.
+     */
+    public boolean addAll(int index, E[] elements) {
+        return addAll(index, Arrays.asList(elements));
     }
 
     /** {@inheritDoc} */
@@ -195,13 +210,74 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         if(isEmpty()) return;
         // create the change event
         updates.beginEvent();
-        data.forEach(e -> updates.elementDeleted(0, e));
-        // do the actual clear
+        // do the actual clear, keeping the removed elements for listeners
+        final List<E> removed = new ArrayList<>(data);
         data.clear();
+        updates.elementsDeleted(0, removed);
         // fire the event
         updates.commitEvent();
     }
 
+    /**
+     * Removes the elements from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive, as a single block of changes.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within this list
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException("Cannot remove range " + fromIndex + " to " + toIndex + " on list of size " + size());
+        if(fromIndex == toIndex) return;
+        // create the change event
+        updates.beginEvent();
+        // do the actual remove, keeping the removed elements for listeners
+        final List<E> range = data.subList(fromIndex, toIndex);
+        final List<E> removed = new ArrayList<>(range);
+        range.clear();
+        updates.elementsDeleted(fromIndex, removed);
+        // fire the event
+        updates.commitEvent();
+    }
+
+    /**
+     * Replaces the elements starting at the specified index with the
+     * specified elements, as a single block of changes.
+     *
+     * @throws IndexOutOfBoundsException if the replaced elements are not
+     *      within this list
+     */
+    public void setAll(int index, List<? extends E> elements) {
+        if(index < 0 || index + elements.size() > size()) throw new IndexOutOfBoundsException("Cannot set " + elements.size() + " elements at " + index + " on list of size " + size());
+        if(elements.isEmpty()) return;
+        // create the change event
+        updates.beginEvent();
+        // do the actual set, keeping the replaced elements for listeners
+        final List<E> range = data.subList(index, index + elements.size());
+        final List<E> replaced = new ArrayList<>(range);
+        Collections.copy(range, elements);
+        updates.elementsUpdated(index, replaced);
+        // fire the event
+        updates.commitEvent();
+    }
+
+    /**
+     * Runs the specified changes to this list, and fires a single ListEvent
+     * describing all of them once they are complete. Changes made in order
+     * of increasing index, such as with {@link #addAll(int, Collection)},
+     * {@link #removeRange} and {@link #setAll}, are each recorded as a single
+     * block of that event.
+     *
+     * <p>If the changes throw an exception, the changes made so far are
+     * still fired before it is rethrown.
+     */
+    public void applyChanges(Runnable changes) {
+        updates.beginEvent(true);
+        try {
+            changes.run();
+        } finally {
+            updates.commitEvent();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public E set(int index, E element) {
@@ -232,18 +308,28 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
     public boolean removeIf(Predicate<? super E> filter) {
         if (isEmpty()) return false;
 
-        boolean changed = false;
+        // test every element before changing any, in case the filter throws
+        final int size = data.size();
+        final BitSet matches = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test(data.get(i))) matches.set(i);
+        }
+        if (matches.isEmpty()) return false;
+
         updates.beginEvent();
-        // Work backwards to prevent index changes
-        for (int i = data.size() - 1; i >= 0; i--) {
-            if (filter.test(data.get(i))) {
-                E removed = data.remove(i);
-                updates.elementDeleted(i, removed);
-                changed = true;
-            }
+        // move the remaining elements forward over each run of removed
+        // elements, which is recorded as a single block
+        int kept = 0;
+        int next = 0;
+        for (int start = matches.nextSetBit(0); start >= 0; start = matches.nextSetBit(next)) {
+            for (; next < start; next++) data.set(kept++, data.get(next));
+            next = matches.nextClearBit(start);
+            updates.elementsDeleted(kept, new ArrayList<>(data.subList(start, next)));
         }
+        for (; next < size; next++) data.set(kept++, data.get(next));
+        data.subList(kept, size).clear();
         updates.commitEvent();
-        return changed;
+        return true;
     }
 
     /**
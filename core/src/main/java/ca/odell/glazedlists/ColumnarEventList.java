@@ -0,0 +1,459 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.TableFormat;
+import ca.odell.glazedlists.impl.beans.BeanProperty;
+import ca.odell.glazedlists.impl.beans.BeanTableFormat;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+/**
+ * An {@link EventList} of JavaBeans that stores each bean property in its own
+ * column, rather than storing the beans themselves. Properties of type
+ * <code>int</code>, <code>long</code> and <code>double</code> are stored in
+ * primitive arrays and all others in an <code>Object[]</code>. For wide rows
+ * this takes much less memory than a list of beans, and reading a single
+ * column with {@link #getColumnValue(int, int)}, {@link #getInt(int, int)},
+ * {@link #getLong(int, int)} or {@link #getDouble(int, int)} touches only that
+ * column's array.
+ *
+ * <p>Beans added to this list are decomposed into their properties and are
+ * not retained. Beans returned by {@link #get(int)} are materialized lazily,
+ * a new one each time, and changing such a bean does not change this list;
+ * use {@link #set(int, Object)} or {@link #setColumnValue(int, int, Object)}
+ * instead. Consequently, only the properties named by this list's
+ * {@link #getTableFormat() TableFormat} survive a round trip.
+ *
+ * <p>{@link ca.odell.glazedlists.swing.DefaultEventTableModel} reads cells
+ * from the columns directly when it displays this list with this list's
+ * {@link TableFormat}.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>column reads: O(1), row reads: O(C) and a new bean, writes O(C) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>one array slot per property per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>ColumnarEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class ColumnarEventList<E> extends AbstractEventList<E> implements RandomAccess {
+
+    /** creates empty beans to materialize rows into */
+    private final Supplier<? extends E> beanFactory;
+
+    /** the property for each column */
+    private final BeanProperty<E>[] properties;
+
+    /** the values of each column */
+    private final Column[] columns;
+
+    /** the format whose columns correspond to this list's columns */
+    private final TableFormat<E> tableFormat;
+
+    /** the number of elements in this list */
+    private int size = 0;
+
+    /** the length of every column's array */
+    private int capacity = 10;
+
+    /**
+     * Creates a {@link ColumnarEventList} that stores the specified properties
+     * of beans of the specified class. The class must have a public no-argument
+     * constructor, and each property must be readable and writable.
+     */
+    public ColumnarEventList(Class<E> beanClass, String[] propertyNames, String[] columnLabels) {
+        this(beanClass, () -> newInstance(beanClass), propertyNames, columnLabels);
+    }
+
+    /**
+     * Creates a {@link ColumnarEventList} that stores the specified properties
+     * of beans of the specified class, using the specified factory to create
+     * the beans returned by {@link #get(int)}. Each property must be readable
+     * and writable.
+     */
+    public ColumnarEventList(Class<E> beanClass, Supplier<? extends E> beanFactory, String[] propertyNames, String[] columnLabels) {
+        super(null);
+        this.readWriteLock = LockFactory.DEFAULT.createReadWriteLock();
+        this.beanFactory = beanFactory;
+        this.tableFormat = new BeanTableFormat<>(beanClass, propertyNames, columnLabels);
+
+        this.properties = new BeanProperty[propertyNames.length];
+        this.columns = new Column[propertyNames.length];
+        for(int c = 0; c < propertyNames.length; c++) {
+            properties[c] = new BeanProperty<>(beanClass, propertyNames[c], true, true);
+            columns[c] = createColumn(properties[c].getValueClass(), capacity);
+        }
+    }
+
+    /**
+     * Get a {@link TableFormat} for the beans in this list. Its columns
+     * correspond to this list's columns.
+     */
+    public TableFormat<E> getTableFormat() {
+        return tableFormat;
+    }
+
+    /**
+     * Get the number of columns, which is the number of properties stored.
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * Get the value of the specified column for the element at the specified
+     * index, without materializing the element.
+     */
+    public Object getColumnValue(int index, int column) {
+        checkIndex(index);
+        return columns[column].get(index);
+    }
+
+    /**
+     * Get the value of the specified <code>int</code> column for the element at
+     * the specified index, without boxing it.
+     *
+     * @throws ClassCastException if the column's property is not an <code>int</code>
+     */
+    public int getInt(int index, int column) {
+        checkIndex(index);
+        return ((IntColumn)columns[column]).values[index];
+    }
+
+    /**
+     * Get the value of the specified <code>long</code> column for the element
+     * at the specified index, without boxing it.
+     *
+     * @throws ClassCastException if the column's property is not a <code>long</code>
+     */
+    public long getLong(int index, int column) {
+        checkIndex(index);
+        return ((LongColumn)columns[column]).values[index];
+    }
+
+    /**
+     * Get the value of the specified <code>double</code> column for the element
+     * at the specified index, without boxing it.
+     *
+     * @throws ClassCastException if the column's property is not a <code>double</code>
+     */
+    public double getDouble(int index, int column) {
+        checkIndex(index);
+        return ((DoubleColumn)columns[column]).values[index];
+    }
+
+    /**
+     * Set the value of the specified column for the element at the specified
+     * index, firing an update for that element.
+     *
+     * @throws IndexOutOfBoundsException if there is no such column
+     * @throws NullPointerException if the value is null and the column's
+     *      property is primitive
+     * @throws ClassCastException if the value is not an instance of the
+     *      column's property type
+     */
+    public void setColumnValue(int index, int column, Object value) {
+        checkIndex(index);
+        checkColumnValue(column, value);
+        E previous = materialize(index);
+
+        updates.beginEvent();
+        columns[column].set(index, value);
+        updates.elementUpdated(index, previous, ListEvent.<E>unknownValue());
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return materialize(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E value) {
+        checkIndex(index);
+        checkElement(value);
+        Object[] values = decompose(value);
+        E previous = materialize(index);
+
+        updates.beginEvent();
+        store(index, values);
+        updates.elementUpdated(index, previous, value);
+        updates.commitEvent();
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(E value) {
+        add(size, value);
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, E value) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        checkElement(value);
+        Object[] values = decompose(value);
+
+        updates.beginEvent();
+        openGap(index, 1);
+        store(index, values);
+        updates.elementInserted(index, value);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        return addAll(size, collection);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(collection.isEmpty()) return false;
+        Object[] elements = collection.toArray();
+        Object[][] rows = new Object[elements.length][];
+        for(int i = 0; i < elements.length; i++) {
+            checkElement(elements[i]);
+            rows[i] = decompose((E)elements[i]);
+        }
+
+        updates.beginEvent();
+        openGap(index, elements.length);
+        for(int i = 0; i < elements.length; i++) {
+            store(index, rows[i]);
+            updates.elementInserted(index, (E)elements[i]);
+            index++;
+        }
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        E removed = materialize(index);
+
+        updates.beginEvent();
+        closeGap(index, 1);
+        updates.elementDeleted(index, removed);
+        updates.commitEvent();
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if(size == 0) return;
+        Object[] removed = new Object[size];
+        for(int i = 0; i < size; i++) {
+            removed[i] = materialize(i);
+        }
+
+        updates.beginEvent();
+        for(int i = 0; i < removed.length; i++) {
+            updates.elementDeleted(0, (E)removed[i]);
+        }
+        closeGap(0, size);
+        updates.commitEvent();
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose a ColumnarEventList.
+     */
+    @Override
+    public void dispose() { }
+
+    /**
+     * Create a new bean holding the values of the element at the specified index.
+     * This calls the bean's setters, so elements are materialized before an
+     * event is begun, and a failing setter leaves no event open.
+     */
+    private E materialize(int index) {
+        E bean = beanFactory.get();
+        for(int c = 0; c < columns.length; c++) {
+            properties[c].set(bean, columns[c].get(index));
+        }
+        return bean;
+    }
+
+    /**
+     * Rejects elements that can't be stored. This is called before the list
+     * is changed, so that a rejected element leaves it unchanged.
+     */
+    private static void checkElement(Object bean) {
+        if(bean == null) throw new NullPointerException("ColumnarEventList does not permit null elements");
+    }
+
+    /**
+     * Rejects values that can't be stored in the specified column, before
+     * the list is changed.
+     */
+    private void checkColumnValue(int column, Object value) {
+        if(column < 0 || column >= columns.length) throw new IndexOutOfBoundsException("Column: " + column + ", Columns: " + columns.length);
+        final Class valueClass = properties[column].getValueClass();
+        if(value == null) {
+            if(valueClass.isPrimitive()) throw new NullPointerException("Column " + column + " does not permit null values");
+        } else if(!boxedClass(valueClass).isInstance(value)) {
+            throw new ClassCastException("Column " + column + " cannot store an instance of " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Read the properties of the specified bean, which must have been checked
+     * with {@link #checkElement}. This calls the bean's getters, so beans are
+     * decomposed before an event is begun, and a failing getter leaves
+     * neither an event open nor a partly stored element.
+     */
+    private Object[] decompose(E bean) {
+        final Object[] values = new Object[columns.length];
+        for(int c = 0; c < columns.length; c++) {
+            values[c] = properties[c].get(bean);
+        }
+        return values;
+    }
+
+    /**
+     * Store the properties read by {@link #decompose} at the specified index.
+     */
+    private void store(int index, Object[] values) {
+        for(int c = 0; c < columns.length; c++) {
+            columns[c].set(index, values[c]);
+        }
+    }
+
+    private void openGap(int index, int count) {
+        final int required = size + count;
+        if(required > capacity) {
+            capacity = Math.max(required, capacity + (capacity >> 1));
+            for(int c = 0; c < columns.length; c++) {
+                columns[c].setCapacity(capacity);
+            }
+        }
+        for(int c = 0; c < columns.length; c++) {
+            final Object array = columns[c].getArray();
+            System.arraycopy(array, index, array, index + count, size - index);
+        }
+        size = required;
+    }
+
+    private void closeGap(int index, int count) {
+        for(int c = 0; c < columns.length; c++) {
+            final Object array = columns[c].getArray();
+            System.arraycopy(array, index + count, array, index, size - index - count);
+            columns[c].clear(size - count, size);
+        }
+        size -= count;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static <E> E newInstance(Class<E> beanClass) {
+        try {
+            return beanClass.getConstructor().newInstance();
+        } catch(NoSuchMethodException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot create an instance of " + beanClass.getName(), e);
+        } catch(InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create an instance of " + beanClass.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Create the column to hold values of the specified property type.
+     */
+    private static Column createColumn(Class valueClass, int capacity) {
+        if(valueClass == int.class) return new IntColumn(capacity);
+        if(valueClass == long.class) return new LongColumn(capacity);
+        if(valueClass == double.class) return new DoubleColumn(capacity);
+        return new ObjectColumn(capacity);
+    }
+
+    /**
+     * Get the class of the values of the specified property type once boxed.
+     */
+    private static Class boxedClass(Class valueClass) {
+        if(valueClass == int.class) return Integer.class;
+        if(valueClass == long.class) return Long.class;
+        if(valueClass == double.class) return Double.class;
+        if(valueClass == boolean.class) return Boolean.class;
+        if(valueClass == char.class) return Character.class;
+        if(valueClass == byte.class) return Byte.class;
+        if(valueClass == short.class) return Short.class;
+        if(valueClass == float.class) return Float.class;
+        return valueClass;
+    }
+
+    /**
+     * The values of one property, stored in an array.
+     */
+    private static abstract class Column {
+        abstract Object getArray();
+        abstract void setCapacity(int capacity);
+        abstract Object get(int index);
+        abstract void set(int index, Object value);
+        /** release references held by the specified range of the array */
+        void clear(int start, int end) { }
+    }
+
+    private static final class IntColumn extends Column {
+        private int[] values;
+        IntColumn(int capacity) { values = new int[capacity]; }
+        @Override Object getArray() { return values; }
+        @Override void setCapacity(int capacity) { values = Arrays.copyOf(values, capacity); }
+        @Override Object get(int index) { return Integer.valueOf(values[index]); }
+        @Override void set(int index, Object value) { values[index] = ((Number)value).intValue(); }
+    }
+
+    private static final class LongColumn extends Column {
+        private long[] values;
+        LongColumn(int capacity) { values = new long[capacity]; }
+        @Override Object getArray() { return values; }
+        @Override void setCapacity(int capacity) { values = Arrays.copyOf(values, capacity); }
+        @Override Object get(int index) { return Long.valueOf(values[index]); }
+        @Override void set(int index, Object value) { values[index] = ((Number)value).longValue(); }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private double[] values;
+        DoubleColumn(int capacity) { values = new double[capacity]; }
+        @Override Object getArray() { return values; }
+        @Override void setCapacity(int capacity) { values = Arrays.copyOf(values, capacity); }
+        @Override Object get(int index) { return Double.valueOf(values[index]); }
+        @Override void set(int index, Object value) { values[index] = ((Number)value).doubleValue(); }
+    }
+
+    private static final class ObjectColumn extends Column {
+        private Object[] values;
+        ObjectColumn(int capacity) { values = new Object[capacity]; }
+        @Override Object getArray() { return values; }
+        @Override void setCapacity(int capacity) { values = Arrays.copyOf(values, capacity); }
+        @Override Object get(int index) { return values[index]; }
+        @Override void set(int index, Object value) { values[index] = value; }
+        @Override void clear(int start, int end) { Arrays.fill(values, start, end, null); }
+    }
+}
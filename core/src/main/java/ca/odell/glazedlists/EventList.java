@@ -155,6 +155,20 @@ public interface EventList<E> extends List<E> {
         return Guard.applyWithReadLock(this, function);
     }
     
+    /**
+     * Applies the given function to this EventList, using an optimistic read in place of the read
+     * lock when the list's {@link ReadWriteLock} supports it. This suits short reads such as
+     * {@code size()} and {@code get(int)} on lists that are read far more often than written.
+     *
+     * @param function the function != null, which must be free of side effects
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see Guard#applyWithOptimisticRead(EventList, Function)
+     */
+    default <R> R applyWithOptimisticRead(Function<EventList<E>, R> function) {
+        return Guard.applyWithOptimisticRead(this, function);
+    }
+
     /**
      * Applies the given function while holding the write lock of this EventList.
      * <p>
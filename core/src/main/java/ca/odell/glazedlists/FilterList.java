@@ -11,6 +11,9 @@ import ca.odell.glazedlists.matchers.Matcher;
 import ca.odell.glazedlists.matchers.MatcherEditor;
 import ca.odell.glazedlists.matchers.Matchers;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * An {@link EventList} that shows a subset of the elements of a source
  * {@link EventList}. This subset is composed of all elements of the source
@@ -65,6 +68,15 @@ public final class FilterList<E> extends TransformedList<E,E> {
     /** is this list already disposed? */
     private volatile boolean disposed;
 
+    /** the pool that evaluates matchers during a refilter, or <code>null</code> to refilter serially */
+    private ForkJoinPool refilterPool = null;
+
+    /** the minimum number of elements to be matched before a refilter is evaluated in parallel */
+    private int parallelRefilterThreshold = Integer.MAX_VALUE;
+
+    /** the number of elements each parallel task matches without forking further */
+    private static final int PARALLEL_REFILTER_CHUNK_SIZE = 4096;
+
     /**
      * Creates a {@link FilterList} that includes a subset of the specified
      * source {@link EventList}.
@@ -151,6 +163,38 @@ public final class FilterList<E> extends TransformedList<E,E> {
         }
     }
 
+    /**
+     * Configures this {@link FilterList} to evaluate its {@link Matcher} in
+     * parallel when the filter is changed, constrained or relaxed.
+     *
+     * <p>When at least <code>threshold</code> elements must be tested, the
+     * elements are matched in chunks on the given {@link ForkJoinPool} and the
+     * results are then applied to this list in a single pass on the calling
+     * thread. The resulting {@link ListEvent} is identical to the one produced
+     * by a serial refilter. Changes to the source list are always matched
+     * serially.
+     *
+     * <p><strong><font color="#FF0000">Warning:</font></strong> Parallel
+     * refiltering requires that all {@link Matcher}s used by this list can be
+     * safely invoked from multiple threads at once.
+     *
+     * @param pool the pool used to evaluate matchers, or <code>null</code>
+     *      to always refilter serially, which is the default
+     * @param threshold the minimum number of elements to be matched for a
+     *      refilter to be evaluated in parallel
+     */
+    public void setParallelRefilter(ForkJoinPool pool, int threshold) {
+        if (threshold < 0) throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+
+        getReadWriteLock().writeLock().lock();
+        try {
+            refilterPool = pool;
+            parallelRefilterThreshold = threshold;
+        } finally {
+            getReadWriteLock().writeLock().unlock();
+        }
+    }
+
     /** @inheritDoc */
     @Override
     public void dispose() {
@@ -362,11 +406,17 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match the filtered items in parallel if that's worthwhile
+        final Object[] elements = collectElements(Barcode.WHITE);
+        final boolean[] matches = matchInParallel(elements);
+
         // for all filtered items, see what the change is
-        for(BarcodeIterator i = flagList.iterator(); i.hasNextWhite();) {
+        int n = 0;
+        for(BarcodeIterator i = flagList.iterator(); i.hasNextWhite(); n++) {
             i.nextWhite();
-            E element = source.get(i.getIndex());
-            if(currentMatcher.matches(element)) {
+            E element = matches != null ? (E) elements[n] : source.get(i.getIndex());
+            boolean include = matches != null ? matches[n] : currentMatcher.matches(element);
+            if(include) {
                 updates.elementInserted(i.setBlack(), element);
             }
         }
@@ -384,11 +434,17 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match the unfiltered items in parallel if that's worthwhile
+        final Object[] elements = collectElements(Barcode.BLACK);
+        final boolean[] matches = matchInParallel(elements);
+
         // for all unfiltered items, see what the change is
-        for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack();) {
+        int n = 0;
+        for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack(); n++) {
             i.nextBlack();
-            E value = source.get(i.getIndex());
-            if(!currentMatcher.matches(value)) {
+            E value = matches != null ? (E) elements[n] : source.get(i.getIndex());
+            boolean include = matches != null ? matches[n] : currentMatcher.matches(value);
+            if(!include) {
                 int blackIndex = i.getBlackIndex();
                 i.setWhite();
                 updates.elementDeleted(blackIndex, value);
@@ -407,16 +463,21 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // match all source items in parallel if that's worthwhile
+        final Object[] elements = collectElements(null);
+        final boolean[] matches = matchInParallel(elements);
+
         // for all source items, see what the change is
-        for(BarcodeIterator i = flagList.iterator();i.hasNext();) {
+        int n = 0;
+        for(BarcodeIterator i = flagList.iterator();i.hasNext(); n++) {
             i.next();
 
             // determine if this value was already filtered out or not
             int filteredIndex = i.getBlackIndex();
             boolean wasIncluded = filteredIndex != -1;
             // whether we should add this item
-            E value = source.get(i.getIndex());
-            boolean include = currentMatcher.matches(value);
+            E value = matches != null ? (E) elements[n] : source.get(i.getIndex());
+            boolean include = matches != null ? matches[n] : currentMatcher.matches(value);
 
             // this element is being removed as a result of the change
             if(wasIncluded && !include) {
@@ -433,6 +494,85 @@ public final class FilterList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Gathers the source elements that a refilter must test, in source order,
+     * if that refilter is to be evaluated in parallel.
+     *
+     * @param colour the colour of the elements to collect, or <code>null</code>
+     *      to collect all source elements
+     * @return the elements to match, or <code>null</code> if the refilter
+     *      should be evaluated serially
+     */
+    private Object[] collectElements(Object colour) {
+        if(refilterPool == null) return null;
+
+        final int count = colour == null ? flagList.size() : flagList.colourSize(colour);
+        if(count < parallelRefilterThreshold || count < 2) return null;
+
+        final Object[] elements = new Object[count];
+        if(colour == null) {
+            for(int n = 0; n < count; n++) {
+                elements[n] = source.get(n);
+            }
+        } else {
+            int n = 0;
+            for(BarcodeIterator i = flagList.iterator(); i.hasNextColour(colour);) {
+                i.nextColour(colour);
+                elements[n++] = source.get(i.getIndex());
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Tests each of the specified elements against the current {@link Matcher}
+     * using the {@link #setParallelRefilter refilter pool}.
+     *
+     * @return an array holding the result of the {@link Matcher} for each
+     *      element, or <code>null</code> if <code>elements</code> is null
+     */
+    private boolean[] matchInParallel(Object[] elements) {
+        if(elements == null) return null;
+
+        final boolean[] matches = new boolean[elements.length];
+        refilterPool.invoke(new MatchTask<>(currentMatcher, elements, matches, 0, elements.length));
+        return matches;
+    }
+
+    /**
+     * Matches a range of elements, splitting itself into subtasks until each
+     * one covers at most {@link #PARALLEL_REFILTER_CHUNK_SIZE} elements.
+     */
+    private static final class MatchTask<E> extends RecursiveAction {
+        private final Matcher<? super E> matcher;
+        private final Object[] elements;
+        private final boolean[] matches;
+        private final int start;
+        private final int end;
+
+        MatchTask(Matcher<? super E> matcher, Object[] elements, boolean[] matches, int start, int end) {
+            this.matcher = matcher;
+            this.elements = elements;
+            this.matches = matches;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void compute() {
+            if(end - start <= PARALLEL_REFILTER_CHUNK_SIZE) {
+                for(int i = start; i < end; i++) {
+                    matches[i] = matcher.matches((E) elements[i]);
+                }
+            } else {
+                final int middle = (start + end) >>> 1;
+                invokeAll(new MatchTask<>(matcher, elements, matches, start, middle),
+                          new MatchTask<>(matcher, elements, matches, middle, end));
+            }
+        }
+    }
+
     /**
      * Listens to changes from the current {@link MatcherEditor} and handles them.
      */
@@ -51,6 +51,7 @@ import java.util.Map;
 import java.util.Observable;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.function.BiPredicate;
 
 /**
  * A factory for creating all sorts of objects to be used with Glazed Lists.
@@ -86,10 +87,12 @@ public final class GlazedLists {
      *
      * <p>This is implemented using Eugene W. Myer's paper, "An O(ND) Difference
      * Algorithm and Its Variations", the same algorithm found in GNU diff.
+     * Each run of inserted, deleted or updated elements is a single change,
+     * and a {@link BasicEventList} target fires all of them in one event.
      *
      * <p>Note that the runtime of this method is significantly less efficient
-     * in both time and memory than the {@link #replaceAllSorted sorted} version
-     * of replaceAll.
+     * than the {@link #replaceAllSorted sorted} version of replaceAll, though
+     * its memory is linear in the size of the lists.
      *
      * @param updates whether to fire update events for Objects that are equal in
      *      both {@link List}s.
@@ -156,6 +159,56 @@ public final class GlazedLists {
         GlazedListsImpl.replaceAll(target, source, updates, comparator);
     }
 
+    /**
+     * Replace the complete contents of the target {@link EventList} with the
+     * complete contents of the source {@link List}, matching their elements by
+     * the keys extracted with <code>keyFunction</code>, such as a primary key.
+     * Elements with the same key are updated if they are not
+     * {@link Object#equals(Object) equal}.
+     *
+     * @see #replaceAllByKey(EventList, List, Function, BiPredicate)
+     */
+    public static <E> void replaceAllByKey(EventList<E> target, List<E> source, Function<? super E, ?> keyFunction) {
+        Diff.replaceAllByKey(target, source, keyFunction);
+    }
+
+    /**
+     * Replace the complete contents of the target {@link EventList} with the
+     * complete contents of the source {@link List}, matching their elements by
+     * the keys extracted with <code>keyFunction</code>, such as a primary key.
+     * Target elements whose key is not in the source are deleted, source
+     * elements whose key is not in the target are inserted, and the remaining
+     * elements are updated where <code>changed</code> says so.
+     *
+     * <p>This is intended for refreshing a list from periodic snapshots of
+     * entities with stable keys. Unlike the {@link #replaceAll general} and
+     * {@link #replaceAllSorted sorted} versions of this method, it neither
+     * compares whole elements nor requires them to be sorted: the source is
+     * indexed by key in a hash table, so matching takes linear time. If the
+     * source reorders elements, as many as possible keep their place and the
+     * rest are moved by deleting and inserting them.
+     *
+     * <p>Each run of inserted, deleted or updated elements is a single change,
+     * and a {@link BasicEventList} target fires all of them in one event.
+     *
+     * <p>In a multi-threaded environment, it is necessary that the caller obtain
+     * the write lock for the target list before this method is invoked. If the
+     * source list is an {@link EventList}, its read lock must also be acquired.
+     *
+     * @param keyFunction extracts the key of each element. Keys are compared
+     *      with {@link Object#equals(Object)} and must be unique within the
+     *      source.
+     * @param changed tests the target's element against the source's element
+     *      with the same key, and returns <code>true</code> to replace it and
+     *      fire an update. To compare versions, test whether the versions of
+     *      the two elements differ.
+     * @throws IllegalArgumentException if the source has duplicate keys
+     */
+    public static <E> void replaceAllByKey(EventList<E> target, List<E> source, Function<? super E, ?> keyFunction,
+            BiPredicate<? super E, ? super E> changed) {
+        Diff.replaceAllByKey(target, source, keyFunction, changed);
+    }
+
     // Comparators // // // // // // // // // // // // // // // // // // // //
 
     /** Provide Singleton access for all Comparators with no internal state */
@@ -817,6 +870,38 @@ public final class GlazedLists {
         }
     }
 
+    /**
+     * Publish an immutable snapshot of the specified {@link EventList} after
+     * each change to it. Readers call {@link SnapshotListener#getSnapshot()} to
+     * get a consistent view of the list without acquiring its
+     * {@link EventList#getReadWriteLock() lock}:
+     *
+     * <pre>
+     * <code>SnapshotListener&lt;Trade&gt; snapshots = GlazedLists.syncEventListToSnapshot(trades);
+     *
+     * // on any thread, without locking
+     * List&lt;Trade&gt; current = snapshots.getSnapshot();
+     * for (Trade trade : current) {
+     *     ...
+     * }</code>
+     * </pre>
+     *
+     * <p>Successive snapshots share structure, so each change costs
+     * <code>O(log N)</code> rather than a full copy of the list.
+     *
+     * @param source the {@link EventList} to take snapshots of
+     * @return the {@link SnapshotListener} publishing the snapshots. To stop
+     *         publishing, call {@link SnapshotListener#dispose()}.
+     */
+    public static <E> SnapshotListener<E> syncEventListToSnapshot(EventList<E> source) {
+        source.getReadWriteLock().readLock().lock();
+        try {
+            return new SnapshotListener<>(source);
+        } finally {
+            source.getReadWriteLock().readLock().unlock();
+        }
+    }
+
 	/**
 	 * Check list elements for type safety after they are added to an EventList
 	 * using a {@link ListEventListener}. The {@link ListEventListener} which is
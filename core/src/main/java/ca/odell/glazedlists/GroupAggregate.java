@@ -0,0 +1,276 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A summary of the elements of each group of a {@link GroupingList}, such
+ * as their count or the sum of one of their properties. Once added to a
+ * {@link GroupingList} with {@link GroupingList#addAggregate}, the aggregate
+ * is maintained incrementally as elements enter and leave each group, and
+ * its value for a group is read with {@link GroupingList#getAggregate}
+ * without visiting the group's elements.
+ *
+ * <p>Each aggregate extracts a value from every element with its function,
+ * and keeps an {@link Accumulator} for each group that is told as values
+ * are added to and removed from the group. The extracted value of each
+ * element is remembered until the element is updated or removed, so the
+ * function doesn't need to return the same value for an element whose
+ * properties change without an update event.
+ *
+ * <p><code>null</code> values are ignored by the aggregates created by the
+ * factory methods of this class, so for example the mean of a group is the
+ * mean of its non-null values.
+ *
+ * @param <E> the type of the grouped elements
+ * @param <V> the type of the value extracted from each element
+ * @param <R> the type of the aggregated value of a group
+ */
+public abstract class GroupAggregate<E, V, R> {
+
+    /** extracts the aggregated value from each element */
+    private final FunctionList.Function<? super E, ? extends V> function;
+
+    /**
+     * Create an aggregate of the values extracted from each element by the
+     * specified function.
+     */
+    protected GroupAggregate(FunctionList.Function<? super E, ? extends V> function) {
+        if(function == null) throw new IllegalArgumentException("function may not be null");
+        this.function = function;
+    }
+
+    /**
+     * Extract the aggregated value of the specified element.
+     */
+    public final V evaluate(E element) {
+        return function.evaluate(element);
+    }
+
+    /**
+     * Create the accumulator of a new group, to which the group's values
+     * will be added.
+     */
+    protected abstract Accumulator<V, R> createAccumulator();
+
+    /**
+     * The running summary of the values in a single group.
+     */
+    public interface Accumulator<V, R> {
+
+        /** A value has been added to the group. */
+        void add(V value);
+
+        /** A value that was previously added has been removed from the group. */
+        void remove(V value);
+
+        /** Get the summary of the values in the group, in constant time. */
+        R get();
+    }
+
+    /**
+     * Count the elements of each group.
+     */
+    public static <E> GroupAggregate<E, Object, Integer> count() {
+        return new GroupAggregate<E, Object, Integer>(element -> element) {
+            @Override
+            protected Accumulator<Object, Integer> createAccumulator() {
+                return new Count();
+            }
+        };
+    }
+
+    /**
+     * Sum the values of each group as <code>long</code>s.
+     */
+    public static <E> GroupAggregate<E, Number, Long> sumLongs(FunctionList.Function<? super E, ? extends Number> function) {
+        return new GroupAggregate<E, Number, Long>(function) {
+            @Override
+            protected Accumulator<Number, Long> createAccumulator() {
+                return new SumLong();
+            }
+        };
+    }
+
+    /**
+     * Sum the values of each group as <code>double</code>s. Since values are
+     * subtracted as they leave a group, the sum may differ slightly from a
+     * sum calculated from scratch due to floating point rounding.
+     */
+    public static <E> GroupAggregate<E, Number, Double> sumDoubles(FunctionList.Function<? super E, ? extends Number> function) {
+        return new GroupAggregate<E, Number, Double>(function) {
+            @Override
+            protected Accumulator<Number, Double> createAccumulator() {
+                return new SumDouble(false);
+            }
+        };
+    }
+
+    /**
+     * Average the values of each group as <code>double</code>s, or
+     * <code>null</code> for a group without any values.
+     */
+    public static <E> GroupAggregate<E, Number, Double> meanDoubles(FunctionList.Function<? super E, ? extends Number> function) {
+        return new GroupAggregate<E, Number, Double>(function) {
+            @Override
+            protected Accumulator<Number, Double> createAccumulator() {
+                return new SumDouble(true);
+            }
+        };
+    }
+
+    /**
+     * Find the smallest value of each group, or <code>null</code> for a group
+     * without any values.
+     */
+    public static <E, V extends Comparable<? super V>> GroupAggregate<E, V, V> min(FunctionList.Function<? super E, ? extends V> function) {
+        return min(function, GlazedLists.<V>comparableComparator());
+    }
+
+    /**
+     * Find the smallest value of each group according to the specified
+     * {@link Comparator}, or <code>null</code> for a group without any values.
+     */
+    public static <E, V> GroupAggregate<E, V, V> min(FunctionList.Function<? super E, ? extends V> function, Comparator<? super V> comparator) {
+        return new GroupAggregate<E, V, V>(function) {
+            @Override
+            protected Accumulator<V, V> createAccumulator() {
+                return new Extreme<>(comparator, false);
+            }
+        };
+    }
+
+    /**
+     * Find the largest value of each group, or <code>null</code> for a group
+     * without any values.
+     */
+    public static <E, V extends Comparable<? super V>> GroupAggregate<E, V, V> max(FunctionList.Function<? super E, ? extends V> function) {
+        return max(function, GlazedLists.<V>comparableComparator());
+    }
+
+    /**
+     * Find the largest value of each group according to the specified
+     * {@link Comparator}, or <code>null</code> for a group without any values.
+     */
+    public static <E, V> GroupAggregate<E, V, V> max(FunctionList.Function<? super E, ? extends V> function, Comparator<? super V> comparator) {
+        return new GroupAggregate<E, V, V>(function) {
+            @Override
+            protected Accumulator<V, V> createAccumulator() {
+                return new Extreme<>(comparator, true);
+            }
+        };
+    }
+
+    /**
+     * Counts the elements added, including <code>null</code>s.
+     */
+    private static final class Count implements Accumulator<Object, Integer> {
+        private int count;
+
+        @Override
+        public void add(Object value) { count++; }
+        @Override
+        public void remove(Object value) { count--; }
+        @Override
+        public Integer get() { return Integer.valueOf(count); }
+    }
+
+    /**
+     * Sums the values as longs.
+     */
+    private static final class SumLong implements Accumulator<Number, Long> {
+        private long sum;
+
+        @Override
+        public void add(Number value) { if(value != null) sum += value.longValue(); }
+        @Override
+        public void remove(Number value) { if(value != null) sum -= value.longValue(); }
+        @Override
+        public Long get() { return Long.valueOf(sum); }
+    }
+
+    /**
+     * Sums the values as doubles, reporting either their sum or their mean.
+     */
+    private static final class SumDouble implements Accumulator<Number, Double> {
+        private final boolean mean;
+        private double sum;
+        private int count;
+
+        SumDouble(boolean mean) {
+            this.mean = mean;
+        }
+
+        @Override
+        public void add(Number value) {
+            if(value == null) return;
+            sum += value.doubleValue();
+            count++;
+        }
+        @Override
+        public void remove(Number value) {
+            if(value == null) return;
+            sum -= value.doubleValue();
+            count--;
+            // avoid accumulating rounding errors once the group has no values
+            if(count == 0) sum = 0;
+        }
+        @Override
+        public Double get() {
+            if(!mean) return Double.valueOf(sum);
+            return count == 0 ? null : Double.valueOf(sum / count);
+        }
+    }
+
+    /**
+     * Tracks the smallest or largest value. The values are counted in a sorted
+     * map so that the extreme can be found again when it is removed, and the
+     * current extreme is cached so it can be read in constant time.
+     */
+    private static final class Extreme<V> implements Accumulator<V, V> {
+        private final TreeMap<V, int[]> counts;
+        private final boolean max;
+        private V extreme;
+
+        Extreme(Comparator<? super V> comparator, boolean max) {
+            this.counts = new TreeMap<>(comparator);
+            this.max = max;
+        }
+
+        @Override
+        public void add(V value) {
+            if(value == null) return;
+            final int[] count = counts.get(value);
+            if(count != null) {
+                count[0]++;
+                return;
+            }
+            counts.put(value, new int[] { 1 });
+            if(extreme == null || (max ? counts.comparator().compare(value, extreme) > 0 : counts.comparator().compare(value, extreme) < 0)) {
+                extreme = value;
+            }
+        }
+
+        @Override
+        public void remove(V value) {
+            if(value == null) return;
+            final int[] count = counts.get(value);
+            if(count == null) throw new IllegalStateException("Removed value " + value + " was never added");
+            if(--count[0] > 0) return;
+            counts.remove(value);
+            if(counts.comparator().compare(value, extreme) == 0) {
+                final Map.Entry<V, int[]> entry = max ? counts.lastEntry() : counts.firstEntry();
+                extreme = entry == null ? null : entry.getKey();
+            }
+        }
+
+        @Override
+        public V get() {
+            return extreme;
+        }
+    }
+}
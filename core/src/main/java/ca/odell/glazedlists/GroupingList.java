@@ -5,6 +5,7 @@ package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.Grouper;
+import ca.odell.glazedlists.impl.adt.Barcode;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
 import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
@@ -25,6 +26,18 @@ import java.util.List;
  * <p>Further transformations may be layered on top of this GroupingList to
  * transform the group lists into any other desirable form.
  *
+ * <p>Summaries of each group, such as the number of its elements or the sum
+ * of one of their properties, can be maintained by adding a
+ * {@link GroupAggregate}. Aggregates are updated as elements enter and leave
+ * each group, so reading a group's aggregate doesn't visit its elements:
+ *
+ * <pre>
+ * GroupingList&lt;Trade&gt; bySymbol = new GroupingList&lt;&gt;(trades, symbolComparator);
+ * GroupAggregate&lt;Trade, Number, Long&gt; quantity = GroupAggregate.sumLongs(Trade::getQuantity);
+ * bySymbol.addAggregate(quantity);
+ * long total = bySymbol.getAggregate(0, quantity);
+ * </pre>
+ *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
  * thread ready but not thread safe. See {@link EventList} for an example
  * of thread safe code.
@@ -52,6 +65,18 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     /** The Grouper manages creating and deleting groups. */
     private final Grouper<E> grouper;
 
+    /** The aggregates maintained for each group, in the order they were added. */
+    private final List<GroupAggregate<? super E, ?, ?>> aggregates = new ArrayList<>();
+
+    /** The aggregated values of each source element, in source order. This is only maintained while there are aggregates. */
+    private SimpleTree<AggregateMember> aggregateMembers;
+
+    /** Members inserted or updated by the current change, which are added to their groups once the groups are up to date. */
+    private final List<Element<AggregateMember>> pendingMembers = new ArrayList<>();
+
+    /** Groups inserted, updated or deleted by the current change, whose aggregated members may need to be moved. */
+    private final List<GroupList> changedGroupLists = new ArrayList<>();
+
     /**
      * Creates a {@link GroupingList} that determines groupings via the
      * {@link Comparable} interface which all elements of the <code>source</code>
@@ -151,6 +176,7 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
     private class GrouperClient implements Grouper.Client<E> {
         @Override
         public void groupChanged(int index, int groupIndex, int groupChangeType, boolean primary, int elementChangeType, E oldValue, E newValue, boolean updateNextSeparator, boolean joinRight) {
+            if(aggregateMembers != null && groupChangeType != ListEvent.INSERT) changedGroupLists.add(groupLists.get(groupIndex).get());
             if(groupChangeType == ListEvent.INSERT) {
                 insertGroupList(groupIndex);
                 updates.addInsert(groupIndex);
@@ -174,6 +200,10 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
             final GroupList groupList = new GroupList();
             final Element<GroupList> indexedTreeNode = groupLists.add(index, groupList, 1);
             groupList.setTreeNode(indexedTreeNode);
+            if(aggregateMembers != null) {
+                groupList.createAccumulators();
+                changedGroupLists.add(groupList);
+            }
         }
 
         /**
@@ -241,12 +271,160 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
             // insert all new groups (represented by the newly formed barcode)
             updates.addInsert(0, size() - 1);
 
+            // the groups have been replaced, so aggregate them from scratch
+            rebuildAggregates();
+
+        } else if(aggregateMembers != null) {
+            removeChangedAggregateMembers(listChanges);
+            grouper.listChanged(listChanges);
+            addChangedAggregateMembers();
+
         } else {
             grouper.listChanged(listChanges);
         }
         updates.commitEvent();
     }
 
+    /**
+     * Start maintaining the specified aggregate for each group. This takes
+     * time proportional to the size of the source list, after which the
+     * aggregate is updated incrementally as the source list changes.
+     *
+     * @param aggregate the aggregate to maintain, which can then be read with
+     *      {@link #getAggregate}
+     */
+    public void addAggregate(GroupAggregate<? super E, ?, ?> aggregate) {
+        if(aggregate == null) throw new IllegalArgumentException("aggregate may not be null");
+        if(aggregates.contains(aggregate)) return;
+        aggregates.add(aggregate);
+        rebuildAggregates();
+    }
+
+    /**
+     * Stop maintaining the specified aggregate for each group.
+     */
+    public void removeAggregate(GroupAggregate<? super E, ?, ?> aggregate) {
+        if(aggregates.remove(aggregate)) rebuildAggregates();
+    }
+
+    /**
+     * Get the value of the specified aggregate for the group at the specified
+     * index, in constant time.
+     *
+     * @throws IllegalArgumentException if the aggregate hasn't been added
+     *      with {@link #addAggregate}
+     */
+    public <R> R getAggregate(int index, GroupAggregate<? super E, ?, R> aggregate) {
+        final int aggregateIndex = aggregates.indexOf(aggregate);
+        if(aggregateIndex == -1) throw new IllegalArgumentException("Aggregate " + aggregate + " has not been added to this GroupingList");
+        return (R) groupLists.get(index).get().accumulators[aggregateIndex].get();
+    }
+
+    /**
+     * Recalculate the aggregates of all groups from the source list.
+     */
+    private void rebuildAggregates() {
+        if(aggregates.isEmpty()) {
+            aggregateMembers = null;
+            for(int i = 0, n = groupLists.size(); i < n; i++) {
+                groupLists.get(i).get().accumulators = null;
+            }
+            return;
+        }
+
+        for(int i = 0, n = groupLists.size(); i < n; i++) {
+            groupLists.get(i).get().createAccumulators();
+        }
+        aggregateMembers = new SimpleTree<>();
+        final Barcode barcode = grouper.getBarcode();
+        for(int i = 0, n = source.size(); i < n; i++) {
+            final AggregateMember member = new AggregateMember(source.get(i));
+            aggregateMembers.add(i, member, 1);
+            member.addTo(groupLists.get(barcode.getColourIndex(i, true, Grouper.UNIQUE)).get());
+        }
+    }
+
+    /**
+     * Remove the values of deleted and updated elements from the aggregates
+     * of their groups, before the {@link Grouper} changes the groups.
+     * Inserted and updated elements are evaluated while their index in the
+     * source list is current, but are only added to their groups afterwards.
+     */
+    private void removeChangedAggregateMembers(ListEvent<E> listChanges) {
+        while(listChanges.next()) {
+            final int changeIndex = listChanges.getIndex();
+            final int changeType = listChanges.getType();
+
+            if(changeType == ListEvent.INSERT) {
+                pendingMembers.add(aggregateMembers.add(changeIndex, new AggregateMember(source.get(changeIndex)), 1));
+
+            } else if(changeType == ListEvent.DELETE) {
+                final Element<AggregateMember> node = aggregateMembers.get(changeIndex);
+                node.get().removeFromGroup();
+                aggregateMembers.remove(node);
+
+            } else if(changeType == ListEvent.UPDATE) {
+                final Element<AggregateMember> node = aggregateMembers.get(changeIndex);
+                node.get().removeFromGroup();
+                node.get().evaluate(source.get(changeIndex));
+                pendingMembers.add(node);
+            }
+        }
+        listChanges.reset();
+    }
+
+    /**
+     * Add the values of inserted and updated elements to the aggregates of
+     * their new groups, once the {@link Grouper} has changed the groups.
+     */
+    private void addChangedAggregateMembers() {
+        // The Grouper doesn't always keep the GroupList of the elements that
+        // didn't change. For example, an update can merge a group into its
+        // neighbour, deleting one GroupList even though its elements remain.
+        // So each changed group is checked for an unchanged element that is
+        // aggregated in a different group, skipping the changed elements
+        // which aren't in any group yet. If one is found, the group's unchanged
+        // elements are moved, which is rare.
+        for(int g = 0, n = changedGroupLists.size(); g < n; g++) {
+            final GroupList groupList = changedGroupLists.get(g);
+            if(groupList.treeNode == null) continue;
+            final int start = groupList.getStartIndex();
+            final int end = groupList.getEndIndex();
+            int i = start;
+            while(i < end && aggregateMembers.get(i).get().group == null) i++;
+            if(i == end || aggregateMembers.get(i).get().group == groupList) continue;
+            for(; i < end; i++) {
+                final AggregateMember member = aggregateMembers.get(i).get();
+                if(member.group == null || member.group == groupList) continue;
+                member.removeFromGroup();
+                member.addTo(groupList);
+            }
+        }
+
+        // a deleted group whose elements weren't all found above has its
+        // remaining elements found with a linear search
+        final Barcode barcode = grouper.getBarcode();
+        for(int g = 0, n = changedGroupLists.size(); g < n; g++) {
+            final GroupList deleted = changedGroupLists.get(g);
+            if(deleted.treeNode != null) continue;
+            for(int i = 0; deleted.aggregatedCount > 0 && i < aggregateMembers.size(); i++) {
+                final AggregateMember member = aggregateMembers.get(i).get();
+                if(member.group != deleted) continue;
+                member.removeFromGroup();
+                member.addTo(groupLists.get(barcode.getColourIndex(i, true, Grouper.UNIQUE)).get());
+            }
+        }
+        changedGroupLists.clear();
+
+        // add the changed elements to their groups
+        for(int i = 0, n = pendingMembers.size(); i < n; i++) {
+            final Element<AggregateMember> node = pendingMembers.get(i);
+            final int sourceIndex = aggregateMembers.indexOfNode(node, (byte)1);
+            node.get().addTo(groupLists.get(barcode.getColourIndex(sourceIndex, true, Grouper.UNIQUE)).get());
+        }
+        pendingMembers.clear();
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<E> get(int index) {
@@ -324,6 +502,23 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
          */
         private Element<GroupList> treeNode;
 
+        /** The accumulator of each aggregate, or null if there are no aggregates. */
+        private GroupAggregate.Accumulator<Object, ?>[] accumulators;
+
+        /** The number of members whose values have been added to the accumulators. */
+        private int aggregatedCount;
+
+        /**
+         * Replace the accumulators with empty ones for the current aggregates.
+         */
+        private void createAccumulators() {
+            accumulators = new GroupAggregate.Accumulator[aggregates.size()];
+            for(int i = 0; i < accumulators.length; i++) {
+                accumulators[i] = (GroupAggregate.Accumulator<Object, ?>) aggregates.get(i).createAccumulator();
+            }
+            aggregatedCount = 0;
+        }
+
         /**
          * Attach the Element that tracks this GroupLists position to the
          * GroupList itself so it can look up its own position.
@@ -399,4 +594,53 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
             source.add(getSourceIndex(index), element);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The values of a source element for each aggregate, and the group whose
+     * accumulators they have been added to.
+     */
+    private final class AggregateMember {
+
+        /** the value of the element for each aggregate */
+        private final Object[] values = new Object[aggregates.size()];
+
+        /** the group the values have been added to, or null if they haven't been */
+        private GroupList group;
+
+        private AggregateMember(E element) {
+            evaluate(element);
+        }
+
+        /**
+         * Extract the values of the specified element.
+         */
+        private void evaluate(E element) {
+            for(int i = 0; i < values.length; i++) {
+                values[i] = ((GroupAggregate<E, ?, ?>) aggregates.get(i)).evaluate(element);
+            }
+        }
+
+        /**
+         * Add the values to the accumulators of the specified group.
+         */
+        private void addTo(GroupList group) {
+            this.group = group;
+            group.aggregatedCount++;
+            for(int i = 0; i < values.length; i++) {
+                group.accumulators[i].add(values[i]);
+            }
+        }
+
+        /**
+         * Remove the values from the accumulators of their group.
+         */
+        private void removeFromGroup() {
+            if(group == null) return;
+            group.aggregatedCount--;
+            for(int i = 0; i < values.length; i++) {
+                group.accumulators[i].remove(values[i]);
+            }
+            group = null;
+        }
+    }
+}
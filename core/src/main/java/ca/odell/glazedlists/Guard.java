@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -105,6 +107,44 @@ public final class Guard {
         }
     }
 
+    /**
+     * Applies the given function to the supplied {@link EventList} without acquiring its read lock
+     * if possible. The function is first applied within an
+     * {@link ca.odell.glazedlists.util.concurrent.ReadWriteLock#tryOptimisticRead() optimistic read};
+     * if the list was written in the meantime, or its lock doesn't support optimistic reads, the
+     * function is applied again while holding the read lock.
+     * <p>
+     * Because the function may observe the list in the middle of a change, it must be short, must
+     * have no side effects, and must tolerate inconsistent state. Reading {@code size()} or
+     * {@code get(int)} qualifies; any exception thrown by a read that fails validation is discarded.
+     *
+     * @param list EventList != null
+     * @param function the function != null
+     * @param <E> the element type of the list
+     * @param <L> the concrete list type
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see EventList#applyWithOptimisticRead(Function)
+     * @see ca.odell.glazedlists.util.concurrent.StampedLockFactory
+     */
+    public static <E, L extends EventList<E>, R> R applyWithOptimisticRead(L list, Function<L, R> function) {
+        final ReadWriteLock lock = list.getReadWriteLock();
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final R result = function.apply(list);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return applyWithReadLock(list, function);
+    }
+
     /**
      * Applies the given function to the supplied {@link EventList} while holding the write lock of
      * this EventList.
@@ -0,0 +1,303 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A grouping list contains elements which are themselves Lists. Those Lists
+ * are the elements of the source list which share a key, grouped together
+ * into a List. Keys are compared with {@link Object#equals} and
+ * {@link Object#hashCode}, and are either the elements themselves or are
+ * extracted from them by a key function.
+ *
+ * <p>Unlike {@link GroupingList}, this list doesn't sort its source. Its
+ * groups are in the order they were created, which is when the first element
+ * with their key was inserted, and the elements of each group are in the
+ * order of the source list. Group membership is kept in a hash index, so
+ * each change to the source costs a key lookup instead of the comparisons of
+ * a sorted insert. Prefer this list when grouping large lists whose groups
+ * don't need to be sorted, or sort them afterwards with a {@link SortedList}.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), appends O(log N) plus one key lookup, other writes O(log<sup>2</sup> N + G) plus one key lookup, where G is the size of the changed group</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>HashGroupingListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ *
+ * @see HashUniqueList
+ */
+public final class HashGroupingList<E> extends TransformedList<E, List<E>> {
+
+    /** The GroupLists of the grouper's groups. They are stored in a SimpleTree so their indices can be quickly updated. */
+    private final SimpleTree<GroupList> groupLists = new SimpleTree<>();
+
+    /** The HashGrouper manages creating and deleting groups. */
+    private final HashGrouper<E> grouper;
+
+    /**
+     * Creates a {@link HashGroupingList} that groups equal elements of the
+     * <code>source</code>.
+     */
+    public HashGroupingList(EventList<E> source) {
+        this(source, element -> element);
+    }
+
+    /**
+     * Creates a {@link HashGroupingList} that groups the elements of the
+     * <code>source</code> with equal keys.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     * @param keyFunction extracts the key of each element, which must not
+     *      change while the element is in the source without an update event
+     */
+    public HashGroupingList(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction) {
+        super(source);
+
+        // the grouper handles changes to the source
+        this.grouper = new HashGrouper<>(source, keyFunction, new GrouperClient());
+
+        // initialize the tree of GroupLists
+        for(int i = 0, n = grouper.size(); i < n; i++) {
+            insertGroupList(i);
+        }
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Return the index of the group to which the <code>groupElement</code>
+     * would belong if it were hypothetically added to the source list. Note
+     * that <code>groupElement</code> does <strong>NOT</strong> have to exist
+     * in a group.
+     *
+     * @param groupElement a prototype element of the group to locate
+     * @return the index of the group that would contain <code>groupElement</code>
+     *      or <code>-1</code> if no currently existing group would contain it
+     */
+    public int indexOfGroup(E groupElement) {
+        return grouper.indexOfKey(grouper.keyOf(groupElement));
+    }
+
+    /**
+     * Return the index of the group with the specified key.
+     *
+     * @return the index of the group or <code>-1</code> if no element of the
+     *      source list has that key
+     */
+    public int indexOfKey(Object key) {
+        return grouper.indexOfKey(key);
+    }
+
+    /**
+     * Get the key shared by the elements of the group at the specified index.
+     */
+    public Object getKey(int index) {
+        return grouper.getKey(index);
+    }
+
+    /**
+     * Creates and inserts a new GroupList at the specified <code>index</code>.
+     */
+    private GroupList insertGroupList(int index) {
+        final GroupList groupList = new GroupList();
+        groupList.treeNode = groupLists.add(index, groupList, 1);
+        return groupList;
+    }
+
+    /**
+     * Handle changes to the grouper's groups.
+     */
+    private class GrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int index, int groupIndex, int groupChangeType, E oldFirst, E newFirst) {
+            if(groupChangeType == ListEvent.INSERT) {
+                updates.elementInserted(groupIndex, insertGroupList(groupIndex));
+            } else if(groupChangeType == ListEvent.DELETE) {
+                final Element<GroupList> treeNode = groupLists.get(groupIndex);
+                groupLists.remove(treeNode);
+                // for safety, null out the GroupList's reference to its now defunct treeNode
+                treeNode.get().treeNode = null;
+                updates.elementDeleted(groupIndex, treeNode.get());
+            } else if(groupChangeType == ListEvent.UPDATE) {
+                final GroupList groupList = groupLists.get(groupIndex).get();
+                updates.elementUpdated(groupIndex, groupList, groupList);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int index) {
+        return grouper.getSourceIndex(index, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(source, listChanges);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> get(int index) {
+        return groupLists.get(index).get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+
+        final List<E> removed = get(index);
+
+        // make a copy of the list to return
+        final List<E> result = new ArrayList<>(removed);
+
+        removed.clear();
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> set(int index, List<E> value) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        final List<E> result = remove(index);
+        add(index, value);
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /**
+     * This version of add will distribute all elements within the given
+     * <code>value</code> List into groups. Existing groups will be reused and
+     * new groups will be created as needed. As such, the <code>index</code>
+     * argument is meaningless.
+     *
+     * <p><strong><font color="#FF0000">Warning:</font></strong> This method
+     * breaks the contract required by {@link List#add(int, Object)}.
+     */
+    @Override
+    public void add(int index, List<E> value) {
+        source.addAll(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return grouper.size();
+    }
+
+    /**
+     * This is the List implementation used to store groups created by this
+     * HashGroupingList. It defines all mutator methods by mapping them to
+     * mutations on the source list. Thus, writes to this GroupList effect
+     * all Lists sitting under GroupList.
+     */
+    private class GroupList extends AbstractList<E> {
+
+        /**
+         * The node within {@link HashGroupingList#groupLists} that records
+         * the index of this GroupList, or null once the group is deleted.
+         */
+        private Element<GroupList> treeNode;
+
+        /**
+         * Get the index of this group, or -1 if it has been deleted.
+         */
+        private int getGroupIndex() {
+            return treeNode == null ? -1 : groupLists.indexOfNode(treeNode, (byte)1);
+        }
+
+        private int getSourceIndex(int index) {
+            if(treeNode == null) throw new IndexOutOfBoundsException("Cannot access index " + index + " of an empty group");
+            return grouper.getSourceIndex(getGroupIndex(), index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E get(int index) {
+            if(treeNode == null) throw new IndexOutOfBoundsException("Cannot get at " + index + " on an empty group");
+            return grouper.getElement(getGroupIndex(), index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return treeNode == null ? 0 : grouper.getGroupSize(getGroupIndex());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E set(int index, E element) {
+            return source.set(getSourceIndex(index), element);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E remove(int index) {
+            return source.remove(getSourceIndex(index));
+        }
+
+        /**
+         * Inserts the element into the source list before the group element
+         * at the specified index, or after the last if the index is the size
+         * of the group.
+         */
+        @Override
+        public void add(int index, E element) {
+            final int size = size();
+            if(index < 0 || index > size) throw new IndexOutOfBoundsException("Cannot add at " + index + " on group of size " + size);
+            if(index < size) source.add(getSourceIndex(index), element);
+            else if(size == 0) source.add(element);
+            else source.add(getSourceIndex(size - 1) + 1, element);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            if(treeNode == null) return;
+            final int[] sourceIndices = grouper.getSourceIndices(getGroupIndex());
+
+            // remove the group's elements in a single event, from last to first
+            // so the remaining indices are unchanged
+            updates.beginEvent(true);
+            for(int i = sourceIndices.length - 1; i >= 0; i--) {
+                source.remove(sourceIndices[i]);
+            }
+            updates.commitEvent();
+        }
+    }
+}
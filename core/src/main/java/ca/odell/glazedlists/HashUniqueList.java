@@ -0,0 +1,233 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link EventList} that shows the unique elements from its source
+ * {@link EventList}. For example, the source list {A, C, A, B, C, D, C} would
+ * be simplified to {A, C, B, D} by this HashUniqueList. Elements are unique
+ * by their keys, which are compared with {@link Object#equals} and
+ * {@link Object#hashCode}, and are either the elements themselves or are
+ * extracted from them by a key function.
+ *
+ * <p>Unlike {@link UniqueList}, this list doesn't sort its source. Each
+ * unique element is the first element with its key in the source list, and
+ * they are in the order their keys were first inserted, which may differ from
+ * their order in the source list after later changes. The elements with each key
+ * are kept in a hash index, so each change to the source costs a key lookup
+ * instead of the comparisons of a sorted insert.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class breaks
+ * the contract required by {@link List}. See {@link EventList} for an example.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), appends O(log N) plus one key lookup, other writes O(log<sup>2</sup> N + G) plus one key lookup, where G is the number of duplicates of the changed element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>HashUniqueListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ *
+ * @see HashGroupingList
+ */
+public final class HashUniqueList<E> extends TransformedList<E, E> {
+
+    /** the grouping service manages collapsing out duplicates */
+    private final HashGrouper<E> grouper;
+
+    /**
+     * Creates a {@link HashUniqueList} that removes the elements of the
+     * <code>source</code> that are equal to an earlier element.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     */
+    public HashUniqueList(EventList<E> source) {
+        this(source, element -> element);
+    }
+
+    /**
+     * Creates a {@link HashUniqueList} that removes the elements of the
+     * <code>source</code> whose keys are equal to the key of an earlier element.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     * @param keyFunction extracts the key of each element, which must not
+     *      change while the element is in the source without an update event
+     */
+    public HashUniqueList(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction) {
+        super(source);
+
+        // the grouper handles changes to the source
+        this.grouper = new HashGrouper<>(source, keyFunction, new GrouperClient());
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Handle changes to the grouper's groups.
+     */
+    private class GrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int index, int groupIndex, int groupChangeType, E oldFirst, E newFirst) {
+            switch (groupChangeType) {
+                case ListEvent.INSERT: updates.elementInserted(groupIndex, newFirst); break;
+                case ListEvent.UPDATE: updates.elementUpdated(groupIndex, oldFirst, newFirst); break;
+                case ListEvent.DELETE: updates.elementDeleted(groupIndex, oldFirst); break;
+                default: throw new IllegalStateException("Unrecognized groupChangeType: " + groupChangeType);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return grouper.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        return grouper.getElement(index, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int index) {
+        if(index == size()) return source.size();
+        return grouper.getSourceIndex(index, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        // remove all duplicates at this index, from last to first so the
+        // remaining indices are unchanged
+        final int[] sourceIndices = grouper.getSourceIndices(index);
+        E result = null;
+        for(int i = sourceIndices.length - 1; i >= 0; i--) {
+            result = source.remove(sourceIndices[i]);
+        }
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E value) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        // remove all duplicates of this value first
+        final int[] sourceIndices = grouper.getSourceIndices(index);
+        for(int i = sourceIndices.length - 1; i > 0; i--) {
+            source.remove(sourceIndices[i]);
+        }
+
+        // now do the set
+        final E result = source.set(sourceIndices[0], value);
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /**
+     * Returns the index in this list of the element whose key is equal to the
+     * key of the specified <code>element</code>, or -1 if this list does not
+     * contain such an element.
+     *
+     * <p>Note: This is a departure from the contract for {@link List#indexOf}
+     * since it does not guarantee that <tt>element.equals(get(i))</tt> where i
+     * is a positive index returned from this method.
+     *
+     * @param element the element to search for.
+     * @return the index in this list of the element with the same key, or -1
+     * @throws ClassCastException if the type of the specified element
+     *         is incompatible with this list
+     */
+    @Override
+    public int indexOf(Object element) {
+        return grouper.indexOfKey(grouper.keyOf((E) element));
+    }
+
+    /**
+     * Returns the index in this list of the element with the specified key,
+     * or -1 if this list does not contain such an element.
+     */
+    public int indexOfKey(Object key) {
+        return grouper.indexOfKey(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(source, listChanges);
+        updates.commitEvent();
+    }
+
+    /**
+     * Returns the number of duplicates of the value found at the specified index.
+     */
+    public int getCount(int index) {
+        return grouper.getGroupSize(index);
+    }
+
+    /**
+     * Returns the number of duplicates of the specified value.
+     */
+    public int getCount(E value) {
+        final int index = this.indexOf(value);
+        if(index == -1) return 0;
+        else return getCount(index);
+    }
+
+    /**
+     * Returns a List of all original elements represented by the value at the
+     * given <code>index</code> within this {@link HashUniqueList}, in the
+     * order of the source list.
+     */
+    public List<E> getAll(int index) {
+        final int size = grouper.getGroupSize(index);
+        final List<E> result = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            result.add(grouper.getElement(index, i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a List of all original elements represented by the given
+     * <code>value</code> within this {@link HashUniqueList}.
+     */
+    public List<E> getAll(E value) {
+        final int index = this.indexOf(value);
+        return index == -1 ? Collections.<E>emptyList() : this.getAll(index);
+    }
+}
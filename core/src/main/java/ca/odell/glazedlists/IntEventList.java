@@ -0,0 +1,202 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EventList} of <code>int</code> values, stored in
+ * an <code>int[]</code> rather than as {@link Integer} objects. This takes
+ * 4 bytes per element, compared to roughly 20 bytes per element for a
+ * {@link BasicEventList} of {@link Integer}s.
+ *
+ * <p>Values may be read and written without boxing using
+ * {@link #getInt(int)}, {@link #setInt(int, int)},
+ * {@link #addInt(int)} and {@link #addInts(int[])}. Changes made
+ * with those methods fire the same {@link ListEvent}s as the equivalent
+ * {@link java.util.List} methods. This list does not permit <code>null</code>
+ * elements.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>4 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ *
+ * @see DoubleEventList
+ * @see LongEventList
+ */
+public final class IntEventList extends PrimitiveEventList<Integer> {
+
+    /** the underlying data, of which the first {@link #size} values are elements */
+    private int[] data;
+
+    /**
+     * Creates an empty {@link IntEventList}.
+     */
+    public IntEventList() {
+        this(10, null, LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * Creates an empty {@link IntEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public IntEventList(int initialCapacity) {
+        this(initialCapacity, null, LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * Creates an empty {@link IntEventList} using the specified initial
+     * capacity, {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public IntEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher, readWriteLock);
+        this.data = new int[initialCapacity];
+    }
+
+    /**
+     * Get the value at the specified index without boxing it.
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    /**
+     * Replace the value at the specified index, returning the previous value.
+     */
+    public int setInt(int index, int value) {
+        checkIndex(index);
+
+        updates.beginEvent();
+        int previous = data[index];
+        data[index] = value;
+        updates.elementUpdated(index, Integer.valueOf(previous), Integer.valueOf(value));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Append the specified value to the end of this list.
+     */
+    public void addInt(int value) {
+        addInt(size, value);
+    }
+
+    /**
+     * Insert the specified value at the specified index.
+     */
+    public void addInt(int index, int value) {
+        checkPosition(index);
+
+        updates.beginEvent();
+        openGap(index, 1);
+        data[index] = value;
+        updates.elementInserted(index, Integer.valueOf(value));
+        updates.commitEvent();
+    }
+
+    /**
+     * Append the specified values to the end of this list.
+     */
+    public void addInts(int[] values) {
+        addInts(size, values, 0, values.length);
+    }
+
+    /**
+     * Insert <code>length</code> values from the specified array, starting at
+     * <code>offset</code>, at the specified index. All values are inserted with
+     * a single copy and described by a single block in the resulting
+     * {@link ListEvent}, whose {@link ListEvent#getNewValue() new values} are
+     * {@link ListEvent#unknownValue() unknown}.
+     */
+    public void addInts(int index, int[] values, int offset, int length) {
+        checkPosition(index);
+        if(offset < 0 || length < 0 || offset + length > values.length) throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Array length: " + values.length);
+        if(length == 0) return;
+
+        updates.beginEvent();
+        openGap(index, length);
+        System.arraycopy(values, offset, data, index, length);
+        for(int i = 0; i < length; i++) {
+            updates.elementInserted(index + i, ListEvent.<Integer>unknownValue());
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Get a copy of this list's values.
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int indexOf(Object object) {
+        if(!(object instanceof Integer)) return -1;
+        final int value = ((Integer)object).intValue();
+        for(int i = 0; i < size; i++) {
+            if(Integer.compare(data[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int lastIndexOf(Object object) {
+        if(!(object instanceof Integer)) return -1;
+        final int value = ((Integer)object).intValue();
+        for(int i = size - 1; i >= 0; i--) {
+            if(Integer.compare(data[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) != -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Object getArray() {
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getCapacity() {
+        return data.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void setCapacity(int capacity) {
+        data = Arrays.copyOf(data, capacity);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Integer box(int index) {
+        return Integer.valueOf(data[index]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void unbox(int index, Integer value) {
+        data[index] = value.intValue();
+    }
+}
@@ -0,0 +1,202 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EventList} of <code>long</code> values, stored in a
+ * <code>long[]</code> rather than as {@link Long} objects. This takes
+ * 8 bytes per element, compared to roughly 24 bytes per element for a
+ * {@link BasicEventList} of {@link Long}s.
+ *
+ * <p>Values may be read and written without boxing using
+ * {@link #getLong(int)}, {@link #setLong(int, long)},
+ * {@link #addLong(long)} and {@link #addLongs(long[])}. Changes made
+ * with those methods fire the same {@link ListEvent}s as the equivalent
+ * {@link java.util.List} methods. This list does not permit <code>null</code>
+ * elements.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ *
+ * @see DoubleEventList
+ * @see IntEventList
+ */
+public final class LongEventList extends PrimitiveEventList<Long> {
+
+    /** the underlying data, of which the first {@link #size} values are elements */
+    private long[] data;
+
+    /**
+     * Creates an empty {@link LongEventList}.
+     */
+    public LongEventList() {
+        this(10, null, LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * Creates an empty {@link LongEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public LongEventList(int initialCapacity) {
+        this(initialCapacity, null, LockFactory.DEFAULT.createReadWriteLock());
+    }
+
+    /**
+     * Creates an empty {@link LongEventList} using the specified initial
+     * capacity, {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public LongEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher, readWriteLock);
+        this.data = new long[initialCapacity];
+    }
+
+    /**
+     * Get the value at the specified index without boxing it.
+     */
+    public long getLong(int index) {
+        checkIndex(index);
+        return data[index];
+    }
+
+    /**
+     * Replace the value at the specified index, returning the previous value.
+     */
+    public long setLong(int index, long value) {
+        checkIndex(index);
+
+        updates.beginEvent();
+        long previous = data[index];
+        data[index] = value;
+        updates.elementUpdated(index, Long.valueOf(previous), Long.valueOf(value));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Append the specified value to the end of this list.
+     */
+    public void addLong(long value) {
+        addLong(size, value);
+    }
+
+    /**
+     * Insert the specified value at the specified index.
+     */
+    public void addLong(int index, long value) {
+        checkPosition(index);
+
+        updates.beginEvent();
+        openGap(index, 1);
+        data[index] = value;
+        updates.elementInserted(index, Long.valueOf(value));
+        updates.commitEvent();
+    }
+
+    /**
+     * Append the specified values to the end of this list.
+     */
+    public void addLongs(long[] values) {
+        addLongs(size, values, 0, values.length);
+    }
+
+    /**
+     * Insert <code>length</code> values from the specified array, starting at
+     * <code>offset</code>, at the specified index. All values are inserted with
+     * a single copy and described by a single block in the resulting
+     * {@link ListEvent}, whose {@link ListEvent#getNewValue() new values} are
+     * {@link ListEvent#unknownValue() unknown}.
+     */
+    public void addLongs(int index, long[] values, int offset, int length) {
+        checkPosition(index);
+        if(offset < 0 || length < 0 || offset + length > values.length) throw new IndexOutOfBoundsException("Offset: " + offset + ", Length: " + length + ", Array length: " + values.length);
+        if(length == 0) return;
+
+        updates.beginEvent();
+        openGap(index, length);
+        System.arraycopy(values, offset, data, index, length);
+        for(int i = 0; i < length; i++) {
+            updates.elementInserted(index + i, ListEvent.<Long>unknownValue());
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Get a copy of this list's values.
+     */
+    public long[] toLongArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int indexOf(Object object) {
+        if(!(object instanceof Long)) return -1;
+        final long value = ((Long)object).longValue();
+        for(int i = 0; i < size; i++) {
+            if(Long.compare(data[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int lastIndexOf(Object object) {
+        if(!(object instanceof Long)) return -1;
+        final long value = ((Long)object).longValue();
+        for(int i = size - 1; i >= 0; i--) {
+            if(Long.compare(data[i], value) == 0) return i;
+        }
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(Object object) {
+        return indexOf(object) != -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Object getArray() {
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getCapacity() {
+        return data.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void setCapacity(int capacity) {
+        data = Arrays.copyOf(data, capacity);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected Long box(int index) {
+        return Long.valueOf(data[index]);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void unbox(int index, Long value) {
+        data[index] = value.longValue();
+    }
+}
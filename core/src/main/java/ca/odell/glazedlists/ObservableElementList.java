@@ -6,10 +6,18 @@ package ca.odell.glazedlists;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.adt.Barcode;
 import ca.odell.glazedlists.impl.adt.BarcodeIterator;
+import ca.odell.glazedlists.impl.adt.IdentityMultimap;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EventListener;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A list that fires update events whenever elements are modified in place.
@@ -22,6 +30,11 @@ import java.util.List;
  * The contract between a Connector and an ObservableElementList is defined
  * in interface {@link ObservableElementChangeHandler}.
  *
+ * <p>By default each change to an element is published as its own ListEvent.
+ * With {@link #enableBatching batching}, changed elements are collected and
+ * published together, so an element that changes many times in a row costs
+ * the lists downstream a single update.
+ *
  * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
  * thread ready but not thread safe. See {@link EventList} for an example
  * of thread safe code.
@@ -30,8 +43,8 @@ import java.util.List;
  * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe; elementChanged(), however, is thread ready</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(1), deletes: O(1), updates: O(1), elementChanged: O(n)</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(log N), deletes: O(log N), updates: O(log N), elementChanged: O(k log N) for an element at k indices</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>104 bytes per element, for a tree node and an identity map entry</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>ObservableElementListTest</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
  * </table>
@@ -51,8 +64,18 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
      * the removed element as part of the ListEvent. We use this list to locate
      * removed elements for the purpose of unregistering listeners from them.
      * todo remove this list when ListEvent can reliably furnish us with a deleted value
+     *
+     * <p>The elements are kept in the nodes of a tree, so that the index of
+     * each node can be found in O(log N).
+     */
+    private SimpleTree<E> observedElements;
+
+    /**
+     * The nodes of {@link #observedElements} holding each element, keyed by
+     * identity. This locates every index of a changed element without
+     * scanning the list.
      */
-    private List<E> observedElements;
+    private IdentityMultimap<E, Element<E>> observedNodes;
 
     /**
      * The connector object containing the logic for registering and
@@ -95,6 +118,37 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
      */
     private Barcode singleEventListenerRegistry = null;
 
+    /**
+     * Guards the batching state below, which is written by the threads that
+     * report changed elements and by the thread that flushes them.
+     */
+    private final Object batchLock = new Object();
+
+    /**
+     * <tt>true</tt> indicates changed elements are collected in
+     * {@link #pendingElements} until the next {@link #flush()}, rather than
+     * published immediately.
+     */
+    private boolean batching = false;
+
+    /**
+     * Runs the flushes while batching, or <code>null</code> if flushes are
+     * only caused by the count of pending elements or explicit calls.
+     */
+    private FlushScheduler flushScheduler = null;
+
+    /** the number of pending elements that causes an immediate flush */
+    private int maxPendingElements = Integer.MAX_VALUE;
+
+    /** the changed elements that haven't been published yet, by identity */
+    private Set<Object> pendingElements = newIdentitySet();
+
+    /** <tt>true</tt> while the {@link #flushScheduler} is to run a flush */
+    private boolean flushScheduled = false;
+
+    /** the flush run by the {@link #flushScheduler} */
+    private final Runnable scheduledFlush = this::flush;
+
     /**
      * Constructs an <code>ObservableElementList</code> which wraps the given
      * <code>source</code> and uses the given <code>elementConnector</code> to
@@ -117,8 +171,11 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         // which List to notify of their modifications
         this.elementConnector.setObservableElementList(this);
 
-        // for speed, we add all source elements together, rather than individually
-        this.observedElements = new ArrayList<>(source);
+        // track the source elements and their indices
+        this.observedElements = new SimpleTree<>();
+        this.observedNodes = new IdentityMultimap<>();
+        for (int i = 0, n = source.size(); i < n; i++)
+            this.observe(i, source.get(i));
 
         // we initialize the single EventListener registry, as we optimistically
         // assume we'll be using a single listener for all observed elements
@@ -151,7 +208,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             // register a listener on the inserted object
             if (changeType == ListEvent.INSERT) {
                 final E inserted = get(changeIndex);
-                this.observedElements.add(changeIndex, inserted);
+                this.observe(changeIndex, inserted);
 
                 // connect a listener to the freshly inserted element
                 final EventListener listener = this.connectElement(inserted);
@@ -162,7 +219,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             } else if (changeType == ListEvent.DELETE) {
                 // try to get the previous value through the ListEvent
                 E deleted = listChanges.getOldValue();
-                E deletedElementFromPrivateCopy = this.observedElements.remove(changeIndex);
+                E deletedElementFromPrivateCopy = this.unobserve(changeIndex);
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (deleted == ListEvent.UNKNOWN_VALUE)
@@ -179,13 +236,14 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (previousValue == ListEvent.UNKNOWN_VALUE)
-                    previousValue = this.observedElements.get(changeIndex);
+                    previousValue = this.observedElements.get(changeIndex).get();
 
                 final E newValue = get(changeIndex);
 
                 // if a different object is present at the index
                 if (newValue != previousValue) {
-                    this.observedElements.set(changeIndex, newValue);
+                    this.unobserve(changeIndex);
+                    this.observe(changeIndex, newValue);
 
                     // disconnect the listener from the previous element at the index
                     this.disconnectElement(previousValue, this.getListener(changeIndex));
@@ -201,6 +259,26 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         this.updates.forwardEvent(listChanges);
     }
 
+    /**
+     * Track the specified element at the specified index.
+     */
+    private void observe(int index, E element) {
+        final Element<E> node = this.observedElements.add(index, element, 1);
+        this.observedNodes.addValue(element, node);
+    }
+
+    /**
+     * Stop tracking the element at the specified index.
+     *
+     * @return the element that was at the index
+     */
+    private E unobserve(int index) {
+        final Element<E> node = this.observedElements.get(index);
+        this.observedElements.remove(node);
+        this.observedNodes.removeValue(node.get(), node);
+        return node.get();
+    }
+
     /**
      * A convenience method for adding a listener into the appropriate listener
      * registry. The <code>listener</code> will be registered at the specified
@@ -381,7 +459,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
         // then remove all listeners from all list elements
         for (int i = 0, n = this.observedElements.size(); i < n; i++) {
-            final E element = this.observedElements.get(i);
+            final E element = this.observedElements.get(i).get();
             final EventListener listener = this.getListener(i);
             this.disconnectElement(element, listener);
         }
@@ -389,8 +467,16 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         // clear out the reference to this list from the associated connector
         this.elementConnector.setObservableElementList(null);
 
+        // drop the changes waiting for a flush
+        synchronized (this.batchLock) {
+            this.batching = false;
+            this.flushScheduler = null;
+            this.pendingElements.clear();
+        }
+
         // null out all references to internal data structures
         this.observedElements = null;
+        this.observedNodes = null;
         this.multiEventListenerRegistry = null;
         this.singleEventListener = null;
         this.singleEventListenerRegistry = null;
@@ -411,6 +497,9 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
      * the caller in achieving multi-threaded correctness, this method is
      * Thread ready.
      *
+     * <p>While {@link #enableBatching batching} is enabled, the update is
+     * published by the next flush instead.
+     *
      * @param listElement the list element which has been modified
      */
     @Override
@@ -418,24 +507,166 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         if (this.observedElements == null)
             throw new IllegalStateException("This list has been disposed and can no longer be used.");
 
+        if (this.addPendingElement(listElement))
+            return;
+
+        this.publishChanges(Collections.singleton(listElement));
+    }
+
+    /**
+     * Publish changes to the observed elements in batches. Changed elements
+     * are collected until the next flush, which fires a single ListEvent
+     * with an update at all locations of each of them. So an element that
+     * changes many times between flushes is updated once.
+     *
+     * <p>A flush happens when the <code>scheduler</code> runs it, as soon as
+     * <code>maxPendingElements</code> distinct elements have changed, or
+     * when {@link #flush()} is called. The scheduler is asked to run a flush
+     * when the first element of each batch changes. For example,
+     * <code>SwingUtilities::invokeLater</code> flushes the changes made
+     * before the Swing thread gets to run the flush, and
+     * <code>flush -> executor.schedule(flush, 100, TimeUnit.MILLISECONDS)</code>
+     * flushes at most every 100 milliseconds.
+     *
+     * @param scheduler runs the flushes, or <code>null</code> to flush only
+     *      when the count is reached or {@link #flush()} is called
+     * @param maxPendingElements the number of changed elements that causes an
+     *      immediate flush on the thread of the last change, or
+     *      {@link Integer#MAX_VALUE} to never flush because of the count
+     */
+    public void enableBatching(FlushScheduler scheduler, int maxPendingElements) {
+        if (maxPendingElements < 1)
+            throw new IllegalArgumentException("maxPendingElements must be positive: " + maxPendingElements);
+
+        synchronized (this.batchLock) {
+            this.batching = true;
+            this.flushScheduler = scheduler;
+            this.maxPendingElements = maxPendingElements;
+        }
+    }
+
+    /**
+     * Publish each change to the observed elements immediately, after
+     * flushing the changes that are pending.
+     */
+    public void disableBatching() {
+        synchronized (this.batchLock) {
+            this.batching = false;
+            this.flushScheduler = null;
+        }
+        this.flush();
+    }
+
+    /**
+     * Fire a single ListEvent with an update at all locations of each element
+     * that changed since the last flush. Nothing is fired if no elements have
+     * changed, or if this list has been disposed.
+     *
+     * <p>Like {@link #elementChanged(Object)}, this method acquires the write
+     * lock for this list and may be called on any Thread.
+     */
+    public void flush() {
+        final Set<Object> changed;
+        synchronized (this.batchLock) {
+            this.flushScheduled = false;
+            if (this.pendingElements.isEmpty())
+                return;
+            changed = this.pendingElements;
+            this.pendingElements = newIdentitySet();
+        }
+
+        this.publishChanges(changed);
+    }
+
+    /**
+     * Add the given <code>listElement</code> to the pending elements if
+     * batching is enabled, and schedule or run a flush as necessary.
+     *
+     * @return <tt>false</tt> if batching is disabled and the change must be
+     *      published immediately
+     */
+    private boolean addPendingElement(Object listElement) {
+        final FlushScheduler scheduler;
+        synchronized (this.batchLock) {
+            if (!this.batching)
+                return false;
+
+            this.pendingElements.add(listElement);
+            if (this.pendingElements.size() < this.maxPendingElements) {
+                // one scheduled flush handles all elements of the batch
+                if (this.flushScheduled || this.flushScheduler == null)
+                    return true;
+                this.flushScheduled = true;
+                scheduler = this.flushScheduler;
+            } else {
+                scheduler = null;
+            }
+        }
+
+        if (scheduler != null)
+            scheduler.schedule(this.scheduledFlush);
+        else
+            this.flush();
+        return true;
+    }
+
+    /**
+     * Fire a single ListEvent with an update at all locations of each of the
+     * given elements.
+     */
+    private void publishChanges(Collection<?> listElements) {
         getReadWriteLock().writeLock().lock();
         try {
-            this.updates.beginEvent();
-
-            // locate all indexes containing the given listElement
-            for (int i = 0, n = size(); i < n; i++) {
-            	final E currentElement = get(i);
-                if (listElement == currentElement) {
-                    this.updates.elementUpdated(i, currentElement);
-                }
+            // the list was disposed while the changes were pending
+            if (this.observedElements == null)
+                return;
+
+            // locate all indexes containing the given listElements
+            int count = 0;
+            for (Object listElement : listElements)
+                count += this.observedNodes.count(listElement);
+            final int[] indices = new int[count];
+            int i = 0;
+            for (Object listElement : listElements) {
+                for (Element<E> node : this.observedNodes.get(listElement))
+                    indices[i++] = this.observedElements.indexOfNode(node, (byte)1);
             }
+            Arrays.sort(indices);
 
+            this.updates.beginEvent();
+            for (int index : indices) {
+                final E element = this.observedElements.get(index).get();
+                this.updates.elementUpdated(index, element, element);
+            }
             this.updates.commitEvent();
         } finally {
             getReadWriteLock().writeLock().unlock();
         }
     }
 
+    /**
+     * Create an empty set that compares its elements by identity.
+     */
+    private static Set<Object> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    }
+
+    /**
+     * Runs the flushes of an {@link ObservableElementList} whose changes are
+     * {@link ObservableElementList#enableBatching batched}.
+     */
+    @FunctionalInterface
+    public interface FlushScheduler {
+
+        /**
+         * Run the given <code>flush</code> once, on any Thread and after any
+         * delay. Changes made before the flush runs are published by it.
+         *
+         * @param flush the flush to run
+         */
+        void schedule(Runnable flush);
+    }
+
 
     /**
      * An interface defining the methods required for registering and
@@ -0,0 +1,232 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * The storage shared by the {@link EventList}s that hold primitive values in
+ * an array, such as {@link DoubleEventList}. This class manages the array's
+ * size and growth, and implements the operations that don't depend on the
+ * array's component type.
+ *
+ * <p>Primitive lists don't permit <code>null</code> elements. Values are boxed
+ * only when they are read through the {@link java.util.List} interface or
+ * delivered as the old or new values of a {@link ca.odell.glazedlists.event.ListEvent}.
+ */
+abstract class PrimitiveEventList<E> extends AbstractEventList<E> implements RandomAccess {
+
+    /** the number of values in the array that are elements of this list */
+    protected int size = 0;
+
+    /**
+     * Creates a {@link PrimitiveEventList} using the specified
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    protected PrimitiveEventList(ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Get the array that holds this list's values.
+     */
+    protected abstract Object getArray();
+
+    /**
+     * Get the length of the array that holds this list's values.
+     */
+    protected abstract int getCapacity();
+
+    /**
+     * Replace the array that holds this list's values with a new one of the
+     * specified length, holding the same values.
+     */
+    protected abstract void setCapacity(int capacity);
+
+    /**
+     * Get the boxed value at the specified index, without range checking.
+     */
+    protected abstract E box(int index);
+
+    /**
+     * Set the specified boxed value at the specified index, without range
+     * checking. The value has already been checked to be non-null.
+     */
+    protected abstract void unbox(int index, E value);
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return box(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E value) {
+        checkIndex(index);
+        checkValue(value);
+
+        updates.beginEvent();
+        E previous = box(index);
+        unbox(index, value);
+        updates.elementUpdated(index, previous, value);
+        updates.commitEvent();
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(E value) {
+        add(size, value);
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, E value) {
+        checkPosition(index);
+        checkValue(value);
+
+        updates.beginEvent();
+        openGap(index, 1);
+        unbox(index, value);
+        updates.elementInserted(index, value);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(Collection<? extends E> collection) {
+        return addAll(size, collection);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        checkPosition(index);
+        final Object[] values = collection.toArray();
+        if(values.length == 0) return false;
+        for(int i = 0; i < values.length; i++) {
+            checkValue(values[i]);
+        }
+
+        updates.beginEvent();
+        openGap(index, values.length);
+        for(int i = 0; i < values.length; i++) {
+            E value = (E)values[i];
+            unbox(index + i, value);
+            updates.elementInserted(index + i, value);
+        }
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+
+        updates.beginEvent();
+        E removed = box(index);
+        closeGap(index, 1);
+        updates.elementDeleted(index, removed);
+        updates.commitEvent();
+        return removed;
+    }
+
+    /**
+     * Removes the elements from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive, with a single array copy.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
+        }
+        if(fromIndex == toIndex) return;
+
+        updates.beginEvent();
+        for(int i = fromIndex; i < toIndex; i++) {
+            updates.elementDeleted(fromIndex, box(i));
+        }
+        closeGap(fromIndex, toIndex - fromIndex);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        removeRange(0, size);
+    }
+
+    /**
+     * Shrinks the array that holds this list's values to the list's size.
+     */
+    public void trimToSize() {
+        if(getCapacity() > size) setCapacity(size);
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose a primitive list.
+     */
+    @Override
+    public void dispose() { }
+
+    /**
+     * Make room for <code>count</code> values at the specified index, growing
+     * the array if necessary. The values in the gap are undefined.
+     */
+    protected void openGap(int index, int count) {
+        final int required = size + count;
+        if(required < 0) throw new OutOfMemoryError("List too large: " + size + " + " + count);
+        if(required > getCapacity()) {
+            int capacity = getCapacity() + (getCapacity() >> 1);
+            if(capacity < required || capacity < 0) capacity = Math.max(required, 10);
+            setCapacity(capacity);
+        }
+
+        final Object array = getArray();
+        System.arraycopy(array, index, array, index + count, size - index);
+        size = required;
+    }
+
+    /**
+     * Remove the <code>count</code> values starting at the specified index.
+     */
+    protected void closeGap(int index, int count) {
+        final Object array = getArray();
+        System.arraycopy(array, index + count, array, index, size - index - count);
+        size -= count;
+    }
+
+    /**
+     * Throw an exception unless the specified index is an element of this list.
+     */
+    protected void checkIndex(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Throw an exception unless a value can be inserted at the specified index.
+     */
+    protected void checkPosition(int index) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private static void checkValue(Object value) {
+        if(value == null) throw new NullPointerException("Primitive lists do not permit null elements");
+    }
+}
@@ -0,0 +1,112 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.adt.PersistentList;
+
+import java.util.List;
+
+/**
+ * This {@link ListEventListener} publishes an immutable snapshot of a source
+ * {@link EventList} after each change to that list. Snapshots can be read from
+ * any thread without acquiring the source list's
+ * {@link EventList#getReadWriteLock() lock}, so readers never contend with each
+ * other or with the writer.
+ *
+ * <p>Consecutive snapshots share structure, so publishing a snapshot after
+ * a small change costs <code>O(log N)</code> time and memory per changed
+ * element, rather than a copy of the entire list. The snapshot returned by
+ * {@link #getSnapshot()} never changes; call it again to get a newer snapshot.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>Snapshot Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>snapshots are thread safe and read without locks</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), publishing: O(log N) per change, O(N) on reorderings</td></tr>
+ * </table>
+ *
+ * @see GlazedLists#syncEventListToSnapshot(EventList)
+ */
+public class SnapshotListener<E> implements ListEventListener<E> {
+
+    /**
+     * Once an event changes more than one in this many elements, the
+     * snapshot is rebuilt from the source rather than changed element by element.
+     */
+    private static final int REBUILD_RATIO = 8;
+
+    /** the EventList to take snapshots of */
+    private EventList<E> source;
+
+    /** the most recently published snapshot */
+    private volatile PersistentList<E> snapshot;
+
+    /**
+     * Create a {@link SnapshotListener} that listens for changes on the
+     * specified source {@link EventList} and publishes a snapshot after
+     * each one. The caller must hold the source's read lock.
+     */
+    public SnapshotListener(EventList<E> source) {
+        this.source = source;
+        this.snapshot = PersistentList.of(source.toArray());
+
+        // handle changes
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Get an immutable copy of the source {@link EventList} as of its most
+     * recent change. This does not acquire any locks and may be called from
+     * any thread.
+     */
+    public List<E> getSnapshot() {
+        return snapshot;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        // rebuild on reorderings, since they move every element
+        if(listChanges.isReordering()) {
+            snapshot = PersistentList.of(source.toArray());
+            return;
+        }
+
+        PersistentList<E> updated = snapshot;
+        int changes = 0;
+        while(listChanges.next()) {
+            // large changes are cheaper to copy than to apply one at a time.
+            // The source already holds its final state, so rebuild from that
+            if(++changes > (updated.size() / REBUILD_RATIO) + 1) {
+                updated = PersistentList.of(source.toArray());
+                break;
+            }
+
+            int index = listChanges.getIndex();
+            int type = listChanges.getType();
+            if(type == ListEvent.INSERT) {
+                updated = updated.insert(index, source.get(index));
+            } else if(type == ListEvent.UPDATE) {
+                updated = updated.replace(index, source.get(index));
+            } else if(type == ListEvent.DELETE) {
+                updated = updated.delete(index);
+            }
+        }
+
+        // publish the new snapshot
+        snapshot = updated;
+    }
+
+    /**
+     * Stops publishing snapshots by removing the {@link ListEventListener}
+     * from the source list. The most recent snapshot remains available.
+     */
+    public void dispose() {
+        if (source != null) {
+            source.removeListEventListener(this);
+            source = null;
+        }
+    }
+}
@@ -83,6 +83,14 @@ public final class SortedList<E> extends TransformedList<E,E> {
     /** one of {@link #STRICT_SORT_ORDER} or {@link #AVOID_MOVING_ELEMENTS}. */
     private int mode = STRICT_SORT_ORDER;
 
+    /** the minimum size at which a full sort uses {@link Arrays#parallelSort} */
+    private int parallelSortThreshold = Integer.MAX_VALUE;
+
+    /** the minimum number of inserts in one event to merge them into the sorted tree in a batch */
+    private static final int BATCH_INSERT_MINIMUM = 32;
+    /** inserts are merged in a batch only if there is at least one for every this many sorted elements */
+    private static final int BATCH_INSERT_RATIO = 16;
+
     /**
      * Creates a {@link SortedList} that sorts the specified {@link EventList}.
      * All elements in the specified {@link EventList} must implement {@link Comparable}.
@@ -148,6 +156,25 @@ public final class SortedList<E> extends TransformedList<E,E> {
         return this.mode;
     }
 
+    /**
+     * Sorts this list in parallel whenever all of its elements must be sorted
+     * at once and there are at least <code>threshold</code> of them, such as
+     * when the {@link Comparator} is changed. Parallel sorting uses
+     * {@link Arrays#parallelSort}, and the resulting order and
+     * {@link ListEvent}s are identical to those of a serial sort.
+     *
+     * <p><strong><font color="#FF0000">Warning:</font></strong> Parallel
+     * sorting requires that the {@link Comparator}s used by this list can be
+     * safely invoked from multiple threads at once.
+     *
+     * @param threshold the minimum size for a parallel sort, or
+     *      {@link Integer#MAX_VALUE} to always sort serially, which is the default
+     */
+    public void setParallelSortThreshold(int threshold) {
+        if(threshold < 0) throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+        this.parallelSortThreshold = threshold;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void listChanged(ListEvent<E> listChanges) {
@@ -171,14 +198,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
             }
 
             // reorder the unsorted nodes to get the new sorted order
-            Element<Element>[] unsortedNodes = new Element[unsorted.size()];
-            index = 0;
-            for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
-                i.next();
-                Element<Element> unsortedNode = i.node();
-                unsortedNodes[index] = unsortedNode;
-            }
-            Arrays.sort(unsortedNodes, sorted.getComparator());
+            Element<Element>[] unsortedNodes = unsortedNodesInSortedOrder();
 
             // create a new reorder map to send the changes forward
             int[] reorderMap = new int[sorted.size()];
@@ -345,11 +365,16 @@ public final class SortedList<E> extends TransformedList<E,E> {
             }
         }
 
-        // fire insert events
-        while(!insertNodes.isEmpty()) {
-            Element insertNode = insertNodes.removeFirst();
-            int insertedIndex = insertByUnsortedNode(insertNode);
-            updates.addInsert(insertedIndex);
+        // fire insert events, merging many inserts at once if that's cheaper
+        int insertCount = insertNodes.size();
+        if(insertCount >= BATCH_INSERT_MINIMUM && insertCount >= sorted.size() / BATCH_INSERT_RATIO) {
+            insertInBatch(insertCount);
+        } else {
+            while(!insertNodes.isEmpty()) {
+                Element insertNode = insertNodes.removeFirst();
+                int insertedIndex = insertByUnsortedNode(insertNode);
+                updates.addInsert(insertedIndex);
+            }
         }
 
         // commit the changes and notify listeners
@@ -370,6 +395,105 @@ public final class SortedList<E> extends TransformedList<E,E> {
         // return the sorted index
         return sorted.indexOfNode(sortedNode, ALL_COLORS);
     }
+
+    /**
+     * Inserts all unsorted nodes that don't yet have a sorted node into the
+     * sorted tree at once. The new nodes are sorted, merged with the existing
+     * sorted nodes in a single pass, and the sorted tree is then rebuilt from
+     * the merged order in linear time. Each run of adjacent inserted elements
+     * is fired as a single insert block.
+     *
+     * <p>Each new node is placed exactly where {@link SimpleTree#addInSortedOrder}
+     * would place it: before the first existing node whose nearest
+     * {@link Element#SORTED sorted} follower is greater than the new node,
+     * so existing nodes that are out of sort order are never moved.
+     *
+     * @param insertCount the number of unsorted nodes without a sorted node
+     */
+    private void insertInBatch(int insertCount) {
+        final int existingCount = sorted.size();
+
+        // look up the source value and index of every node just once
+        SortEntry[] inserted = new SortEntry[insertCount];
+        Object[] existingValues = new Object[existingCount];
+        int[] existingIndices = new int[existingCount];
+        int insertedIndex = 0;
+        int index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+            i.next();
+            Element sortedNode = i.value();
+            if(sortedNode == EMPTY_ELEMENT) {
+                inserted[insertedIndex++] = new SortEntry(i.node(), source.get(index), index);
+            } else {
+                int sortedIndex = sorted.indexOfNode(sortedNode, ALL_COLORS);
+                existingValues[sortedIndex] = source.get(index);
+                existingIndices[sortedIndex] = index;
+            }
+        }
+        assert(insertedIndex == insertCount);
+        sortEntries(inserted);
+
+        // find the nearest sorted follower of every existing node
+        Element[] existingNodes = new Element[existingCount];
+        index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(sorted); i.hasNext(); index++) {
+            i.next();
+            existingNodes[index] = i.node();
+        }
+        int[] sortedFollowers = new int[existingCount];
+        for(int j = existingCount - 1, follower = existingCount; j >= 0; j--) {
+            if(existingNodes[j].getSorted() == Element.SORTED) follower = j;
+            sortedFollowers[j] = follower;
+        }
+
+        // merge the new nodes into the existing ones, firing inserts as we go
+        Element[] merged = new Element[existingCount + insertCount];
+        int[] mergedSortedStates = new int[merged.length];
+        int runStart = -1;
+        int runEnd = -2;
+        int x = 0;
+        int m = 0;
+        for(int j = 0; j <= existingCount; j++) {
+            int follower = j < existingCount ? sortedFollowers[j] : existingCount;
+            while(x < insertCount && (follower == existingCount || compareEntry(inserted[x], existingValues[follower], existingIndices[follower]) < 0)) {
+                merged[m] = inserted[x++].node;
+                mergedSortedStates[m] = Element.SORTED;
+                if(m != runEnd + 1) {
+                    if(runStart != -1) updates.addInsert(runStart, runEnd);
+                    runStart = m;
+                }
+                runEnd = m++;
+            }
+            if(j == existingCount) break;
+            merged[m] = (Element)existingNodes[j].get();
+            mergedSortedStates[m++] = existingNodes[j].getSorted();
+        }
+        if(runStart != -1) updates.addInsert(runStart, runEnd);
+
+        // rebuild the sorted tree and link each unsorted node to its new sorted node
+        sorted.clear();
+        sorted.addAllInOrder(ALL_COLORS, merged);
+        index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(sorted); i.hasNext(); index++) {
+            i.next();
+            Element<Element> sortedNode = i.node();
+            sortedNode.setSorted(mergedSortedStates[index]);
+            i.value().set(sortedNode);
+        }
+    }
+
+    /**
+     * Compares a {@link SortEntry} to a source value at the given source
+     * index, using the same ordering as {@link SortEntryComparator}.
+     */
+    private int compareEntry(SortEntry entry, Object value, int index) {
+        if(comparator != null) {
+            int result = ((Comparator)comparator).compare(entry.value, value);
+            if(result != 0) return result;
+        }
+        return entry.index - index;
+    }
+
     /**
      * Deletes the node in the sorted tree based on the value of the specified
      * unsorted tree node.
@@ -444,10 +568,8 @@ public final class SortedList<E> extends TransformedList<E,E> {
         if(previousSorted == null && unsorted == null) {
             unsorted = new SimpleTree<>();
             // add all elements in the source list, in order
-            for(int i = 0, n = source.size(); i < n; i++) {
-                Element unsortedNode = unsorted.add(i, EMPTY_ELEMENT, 1);
-                insertByUnsortedNode(unsortedNode);
-            }
+            unsorted.addAllInOrder(ALL_COLORS, new Element[source.size()]);
+            buildSortedTree();
             // this is the first sort so we're done
             return;
         }
@@ -456,11 +578,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
         if(source.isEmpty()) return;
 
         // rebuild the sorted tree to reflect the new Comparator
-        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); ) {
-            i.next();
-            Element unsortedNode = i.node();
-            insertByUnsortedNode(unsortedNode);
-        }
+        buildSortedTree();
 
         // construct the reorder map
         int[] reorderMap = new int[size()];
@@ -480,6 +598,99 @@ public final class SortedList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Populates the empty sorted tree with a node for every unsorted node.
+     * Rather than inserting the nodes one at a time, this sorts them all at
+     * once and then builds the balanced sorted tree in linear time.
+     */
+    private void buildSortedTree() {
+        Element[] unsortedNodes = unsortedNodesInSortedOrder();
+        sorted.addAllInOrder(ALL_COLORS, unsortedNodes);
+
+        // link each unsorted node to its sorted node
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(sorted); i.hasNext(); ) {
+            i.next();
+            i.value().set(i.node());
+        }
+    }
+
+    /**
+     * Gets all unsorted nodes, ordered by the current {@link Comparator}.
+     * This is the order the nodes would have if they were inserted into the
+     * sorted tree one at a time, but it's much faster to compute because the
+     * source values and indices are looked up only once per node rather than
+     * once per comparison.
+     */
+    private Element[] unsortedNodesInSortedOrder() {
+        Element[] unsortedNodes = new Element[unsorted.size()];
+        SortEntry[] entries = comparator != null ? new SortEntry[unsortedNodes.length] : null;
+        int index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+            i.next();
+            unsortedNodes[index] = i.node();
+            if(entries != null) entries[index] = new SortEntry(i.node(), source.get(index), index);
+        }
+
+        // without a comparator, the unsorted order is the sorted order
+        if(entries == null) return unsortedNodes;
+
+        sortEntries(entries);
+        for(int i = 0; i < entries.length; i++) {
+            unsortedNodes[i] = entries[i].node;
+        }
+        return unsortedNodes;
+    }
+
+    /**
+     * Sorts the specified entries by the current {@link Comparator}, in
+     * parallel if there are enough of them. Entries created in source order
+     * are already sorted if there is no {@link Comparator}.
+     */
+    private void sortEntries(SortEntry[] entries) {
+        if(comparator == null) return;
+
+        Comparator<SortEntry> entryComparator = new SortEntryComparator(comparator);
+        if(entries.length >= parallelSortThreshold) Arrays.parallelSort(entries, entryComparator);
+        else Arrays.sort(entries, entryComparator);
+    }
+
+    /**
+     * An unsorted node along with its source value and index, so that
+     * nodes can be sorted without looking up either during comparisons.
+     */
+    private static final class SortEntry {
+        private final Element node;
+        private final Object value;
+        private final int index;
+
+        SortEntry(Element node, Object value, int index) {
+            this.node = node;
+            this.value = value;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Compares {@link SortEntry}s by value, breaking ties by source index
+     * exactly as {@link ElementComparator} does.
+     */
+    private static final class SortEntryComparator implements Comparator<SortEntry> {
+
+        /** the actual comparator used on the values found */
+        private final Comparator comparator;
+
+        SortEntryComparator(Comparator comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compare(SortEntry alpha, SortEntry beta) {
+            int result = comparator.compare(alpha.value, beta.value);
+            if(result != 0) return result;
+            return alpha.index - beta.index;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public int indexOf(Object object) {
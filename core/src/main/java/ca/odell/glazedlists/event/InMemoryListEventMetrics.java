@@ -0,0 +1,302 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.EventList;
+
+import java.beans.ConstructorProperties;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ListEventMetrics} that accumulate statistics in memory, for each
+ * list and for each listener. The statistics are read with {@link #getLists()}
+ * and {@link #getListeners()}, or over JMX by registering these metrics with
+ * an MBean server:
+ *
+ * <pre>
+ * InMemoryListEventMetrics metrics = new InMemoryListEventMetrics();
+ * source.getPublisher().setListEventMetrics(metrics);
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(metrics,
+ *     new ObjectName("ca.odell.glazedlists:type=ListEventMetrics"));
+ * </pre>
+ *
+ * <p>Lists and listeners are named by their class and identity hash code,
+ * and are referenced weakly so that measuring them doesn't keep them from
+ * being garbage collected. Their statistics are discarded once they are.
+ *
+ * <p>This class is thread safe, so a single instance may be installed on
+ * several publishers.
+ */
+public final class InMemoryListEventMetrics implements ListEventMetrics, InMemoryListEventMetricsMXBean {
+
+    /** the statistics of each list that has committed an event */
+    private final Map<Key,ListRecord> lists = new HashMap<>();
+
+    /** the statistics of each subject that has notified a listener */
+    private final Map<Key,SubjectRecord> subjects = new HashMap<>();
+
+    /** notified when a list or listener is garbage collected */
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void eventCommitted(EventList<?> source, int blockCount, int changeCount, boolean reordering) {
+        expungeCollected();
+        ListRecord record = lists.get(new Key(source, null));
+        if(record == null) {
+            record = new ListRecord(name(source));
+            lists.put(new Key(source, collected), record);
+        }
+        record.events++;
+        record.blocks += blockCount;
+        record.changes += changeCount;
+        if(reordering) record.reorderings++;
+        if(changeCount > record.maxChanges) record.maxChanges = changeCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void listenerNotified(Object subject, Object listener, int depth, long nanos) {
+        expungeCollected();
+        SubjectRecord subjectRecord = subjects.get(new Key(subject, null));
+        if(subjectRecord == null) {
+            subjectRecord = new SubjectRecord(name(subject));
+            subjects.put(new Key(subject, collected), subjectRecord);
+        }
+
+        // subjects have few listeners, so search them linearly, discarding
+        // any that have been garbage collected
+        ListenerRecord record = null;
+        for(int i = subjectRecord.listeners.size() - 1; i >= 0; i--) {
+            final Object candidate = subjectRecord.listeners.get(i).listener.get();
+            if(candidate == listener) {
+                record = subjectRecord.listeners.get(i);
+            } else if(candidate == null) {
+                subjectRecord.listeners.remove(i);
+            }
+        }
+        if(record == null) {
+            record = new ListenerRecord(listener);
+            subjectRecord.listeners.add(record);
+        }
+        record.notifications++;
+        record.totalNanos += nanos;
+        if(nanos > record.maxNanos) record.maxNanos = nanos;
+        if(depth > record.maxDepth) record.maxDepth = depth;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized List<ListStatistics> getLists() {
+        expungeCollected();
+        final List<ListStatistics> result = new ArrayList<>(lists.size());
+        for(ListRecord record : lists.values()) {
+            result.add(new ListStatistics(record.name, record.events, record.blocks, record.changes, record.reorderings, record.maxChanges));
+        }
+        result.sort((a, b) -> Long.compare(b.getChanges(), a.getChanges()));
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized List<ListenerStatistics> getListeners() {
+        expungeCollected();
+        final List<ListenerStatistics> result = new ArrayList<>();
+        for(SubjectRecord subjectRecord : subjects.values()) {
+            for(ListenerRecord record : subjectRecord.listeners) {
+                result.add(new ListenerStatistics(subjectRecord.name, record.name, record.notifications, record.totalNanos, record.maxNanos, record.maxDepth));
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void reset() {
+        lists.clear();
+        subjects.clear();
+        while(collected.poll() != null) {
+            // discard
+        }
+    }
+
+    /**
+     * Discard the statistics of lists and listeners that have been garbage collected.
+     */
+    private void expungeCollected() {
+        for(Reference<?> reference; (reference = collected.poll()) != null; ) {
+            if(lists.remove(reference) == null) {
+                subjects.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Name an object by its class and identity, since lists and listeners
+     * don't have names and the {@link Object#toString()} of a list prints
+     * all of its elements.
+     */
+    private static String name(Object object) {
+        final Class<?> type = object.getClass();
+        String className = type.getName();
+        className = className.substring(className.lastIndexOf('.') + 1);
+        return className + "@" + Integer.toHexString(System.identityHashCode(object));
+    }
+
+    /**
+     * A weak reference that is equal to another for the same referent. Lists
+     * can't be keys themselves, since their {@link Object#equals} compares
+     * elements.
+     */
+    private static final class Key extends WeakReference<Object> {
+        private final int hashCode;
+
+        Key(Object referent, ReferenceQueue<Object> queue) {
+            super(referent, queue);
+            this.hashCode = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(other == this) return true;
+            if(!(other instanceof Key)) return false;
+            final Object referent = get();
+            return referent != null && referent == ((Key)other).get();
+        }
+    }
+
+    /** The running totals of a list. */
+    private static final class ListRecord {
+        private final String name;
+        private long events;
+        private long blocks;
+        private long changes;
+        private long reorderings;
+        private long maxChanges;
+
+        ListRecord(String name) {
+            this.name = name;
+        }
+    }
+
+    /** The listeners of a subject. */
+    private static final class SubjectRecord {
+        private final String name;
+        private final List<ListenerRecord> listeners = new ArrayList<>(2);
+
+        SubjectRecord(String name) {
+            this.name = name;
+        }
+    }
+
+    /** The running totals of a listener. */
+    private static final class ListenerRecord {
+        private final WeakReference<Object> listener;
+        private final String name;
+        private long notifications;
+        private long totalNanos;
+        private long maxNanos;
+        private int maxDepth;
+
+        ListenerRecord(Object listener) {
+            this.listener = new WeakReference<>(listener);
+            this.name = name(listener);
+        }
+    }
+
+    /**
+     * The statistics of the events committed by a list.
+     */
+    public static final class ListStatistics {
+        private final String name;
+        private final long events;
+        private final long blocks;
+        private final long changes;
+        private final long reorderings;
+        private final long maxChanges;
+
+        @ConstructorProperties({ "name", "events", "blocks", "changes", "reorderings", "maxChanges" })
+        public ListStatistics(String name, long events, long blocks, long changes, long reorderings, long maxChanges) {
+            this.name = name;
+            this.events = events;
+            this.blocks = blocks;
+            this.changes = changes;
+            this.reorderings = reorderings;
+            this.maxChanges = maxChanges;
+        }
+
+        /** the list's class and identity hash code */
+        public String getName() { return name; }
+        /** the number of events committed */
+        public long getEvents() { return events; }
+        /** the total number of blocks in all events */
+        public long getBlocks() { return blocks; }
+        /** the total number of changed elements in all events */
+        public long getChanges() { return changes; }
+        /** the number of events that were reorderings */
+        public long getReorderings() { return reorderings; }
+        /** the number of changed elements in the largest event */
+        public long getMaxChanges() { return maxChanges; }
+
+        @Override
+        public String toString() {
+            return name + ": " + events + " events, " + blocks + " blocks, " + changes + " changes, "
+                    + reorderings + " reorderings, at most " + maxChanges + " changes";
+        }
+    }
+
+    /**
+     * The statistics of the time taken by a listener to handle the events of
+     * a subject.
+     */
+    public static final class ListenerStatistics {
+        private final String subject;
+        private final String listener;
+        private final long notifications;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final int maxDepth;
+
+        @ConstructorProperties({ "subject", "listener", "notifications", "totalNanos", "maxNanos", "maxDepth" })
+        public ListenerStatistics(String subject, String listener, long notifications, long totalNanos, long maxNanos, int maxDepth) {
+            this.subject = subject;
+            this.listener = listener;
+            this.notifications = notifications;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.maxDepth = maxDepth;
+        }
+
+        /** the class and identity hash code of the source of the events */
+        public String getSubject() { return subject; }
+        /** the listener's class and identity hash code */
+        public String getListener() { return listener; }
+        /** the number of events handled */
+        public long getNotifications() { return notifications; }
+        /** the total time taken to handle all events */
+        public long getTotalNanos() { return totalNanos; }
+        /** the time taken to handle the slowest event */
+        public long getMaxNanos() { return maxNanos; }
+        /** the greatest depth of an event handled, see {@link ListEventMetrics#listenerNotified} */
+        public int getMaxDepth() { return maxDepth; }
+
+        @Override
+        public String toString() {
+            return subject + " -> " + listener + ": " + notifications + " events in " + totalNanos
+                    + "ns, at most " + maxNanos + "ns, depth " + maxDepth;
+        }
+    }
+}
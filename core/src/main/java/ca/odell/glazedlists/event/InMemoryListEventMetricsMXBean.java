@@ -0,0 +1,30 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import java.util.List;
+
+/**
+ * The management interface of {@link InMemoryListEventMetrics}, so that the
+ * metrics of a running application can be read with a JMX console.
+ */
+public interface InMemoryListEventMetricsMXBean {
+
+    /**
+     * Get the statistics of the events committed by each list, ordered by the
+     * number of changes, most first.
+     */
+    List<InMemoryListEventMetrics.ListStatistics> getLists();
+
+    /**
+     * Get the statistics of the time taken by each listener, ordered by the
+     * total time, most first. These are the hot stages of a pipeline.
+     */
+    List<InMemoryListEventMetrics.ListenerStatistics> getListeners();
+
+    /**
+     * Discard all measurements so far.
+     */
+    void reset();
+}
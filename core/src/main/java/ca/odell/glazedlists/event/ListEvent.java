@@ -276,6 +276,21 @@ public abstract class ListEvent<E> extends EventObject {
      */
     public abstract boolean isReordering();
 
+    /**
+     * Tests if this change touches so many elements that listeners should
+     * refresh their whole view of the list rather than handle each block of
+     * changes. This is the case once an event has as many changes as the
+     * structural reset threshold of its {@link ListEventAssembler}, which is
+     * disabled by default.
+     *
+     * <p>The blocks of a structural reset are as detailed as those of any
+     * other event, so listeners that don't test for resets still work. Listeners
+     * that do can skip the blocks and read the list instead.
+     *
+     * @see ListEventPublisher#setStructuralResetThreshold(int)
+     */
+    public abstract boolean isStructuralReset();
+
     /**
      * Gets the reorder map of this list. Before calling this method,
      * you should check that {@link #isReordering()} returns <code>true</code>.
@@ -39,7 +39,7 @@ public final class ListEventAssembler<E> {
     /** the current reordering array if this change is a reorder */
     protected int[] reorderMap = null;
     /** prefer to use the linear blocks, which are more performant but handle only a subset of all cases */
-    private BlockSequence<E> blockSequence = new BlockSequence<>();
+    private final BlockSequence<E> blockSequence = new BlockSequence<>();
     private boolean useListBlocksLinear = false;
     /** fall back to list tree4deltas, which are capable of all list changes */
     private Tree4Deltas<E> listDeltas = new Tree4Deltas<>();
@@ -50,6 +50,11 @@ public final class ListEventAssembler<E> {
     /** true if we're waiting on the publisher to distribute our event */
     private boolean eventIsBeingPublished = false;
 
+    /** the number of changes from which events are structural resets, or -1 to use the publisher's */
+    private int structuralResetThreshold = -1;
+    /** whether the event being published is a structural reset */
+    private boolean structuralReset = false;
+
     /**
      * Create a new {@link ListEventPublisher} for an {@link EventList} not attached
      * to any other {@link EventList}s.
@@ -121,6 +126,26 @@ public final class ListEventAssembler<E> {
         eventLevel++;
     }
 
+    /**
+     * Starts a new atomic change to this list change queue, like
+     * {@link #beginEvent(boolean)}, and prepares to record the specified
+     * number of change blocks. A block is a run of adjacent changes of the
+     * same type, so a bulk insert is a single block. With an accurate hint,
+     * the event's storage doesn't need to grow while its changes are added.
+     *
+     * <p>The storage for change blocks is reused from one event to the next,
+     * so the hint is only necessary for events that are larger than the
+     * events that came before.
+     *
+     * @param expectedBlocks the number of change blocks the event is expected
+     *      to contain
+     */
+    public synchronized void beginEvent(boolean allowNestedEvents, int expectedBlocks) {
+        if(expectedBlocks < 0) throw new IllegalArgumentException("expectedBlocks may not be negative: " + expectedBlocks);
+        beginEvent(allowNestedEvents);
+        if(useListBlocksLinear) blockSequence.reserve(expectedBlocks);
+    }
+
     /**
      * Add to the current ListEvent the insert of the element at
      * the specified index, with the specified previous value.
@@ -143,6 +168,34 @@ public final class ListEventAssembler<E> {
         addChange(ListEvent.DELETE, index, index, oldValue, ListEvent.<E>unknownValue());
     }
 
+    /**
+     * Add to the current ListEvent the insert of <code>count</code> elements
+     * starting at the specified index, as a single block of changes. Listeners
+     * read the inserted values from the list.
+     */
+    public void elementsInserted(int index, int count) {
+        if(count == 0) return;
+        addChange(ListEvent.INSERT, index, index + count - 1, ListEvent.<E>unknownValue(), ListEvent.<E>unknownValue());
+    }
+    /**
+     * Add to the current ListEvent the update of the elements starting at the
+     * specified index, as a single block of changes. The previous values are
+     * read from <code>oldValues</code> as listeners ask for them, so that list
+     * must not be modified afterwards.
+     */
+    public void elementsUpdated(int index, List<? extends E> oldValues) {
+        addChanges(ListEvent.UPDATE, index, oldValues);
+    }
+    /**
+     * Add to the current ListEvent the removal of the elements starting at the
+     * specified index, as a single block of changes. The previous values are
+     * read from <code>oldValues</code> as listeners ask for them, so that list
+     * must not be modified afterwards.
+     */
+    public void elementsDeleted(int index, List<? extends E> oldValues) {
+        addChanges(ListEvent.DELETE, index, oldValues);
+    }
+
     /**
      * @deprecated replaced with {@link #elementUpdated(int, Object, Object)}.
      */
@@ -255,6 +308,27 @@ public final class ListEventAssembler<E> {
         }
     }
 
+    /**
+     * Adds a block of updates or deletes, each with its own old value.
+     */
+    private void addChanges(int type, int startIndex, List<? extends E> oldValues) {
+        if(oldValues.isEmpty()) return;
+
+        // try the linear holder first
+        if(useListBlocksLinear) {
+            final boolean success = blockSequence.addChange(type, startIndex, oldValues);
+            if (success)
+                return;
+
+            // convert from linear to tree4deltas
+            listDeltas.addAll(blockSequence);
+            useListBlocksLinear = false;
+        }
+
+        if(type == ListEvent.UPDATE) listDeltas.targetUpdate(startIndex, oldValues);
+        else listDeltas.targetDelete(startIndex, oldValues);
+    }
+
     /**
      * Sets the current event as a reordering. Reordering events cannot be
      * combined with other events.
@@ -330,9 +404,56 @@ public final class ListEventAssembler<E> {
         }
 
         eventIsBeingPublished = true;
+        final ListEventMetrics metrics = publisher.getListEventMetrics();
+        final int threshold = getStructuralResetThreshold();
+        if(metrics != ListEventMetrics.NONE || threshold != Integer.MAX_VALUE) {
+            measureEvent(metrics, threshold);
+        }
         publisher.fireEvent(sourceList, listEvent, eventFormat);
     }
 
+    /**
+     * Count the changes of the event about to be published, to report them
+     * to the specified metrics and to decide whether the event is a structural
+     * reset.
+     */
+    private void measureEvent(ListEventMetrics metrics, int threshold) {
+        int blockCount = 0;
+        int changeCount = 0;
+        listEvent.reset();
+        while(listEvent.nextBlock()) {
+            blockCount++;
+            changeCount += listEvent.getBlockEndIndex() - listEvent.getBlockStartIndex() + 1;
+        }
+        structuralReset = changeCount >= threshold;
+        if(metrics != ListEventMetrics.NONE) {
+            metrics.eventCommitted(sourceList, blockCount, changeCount, listEvent.isReordering());
+        }
+    }
+
+    /**
+     * Mark events as structural resets when they contain at least the
+     * specified number of changes, in place of the threshold of the
+     * {@link ListEventPublisher}.
+     *
+     * @param threshold the number of changes, {@link Integer#MAX_VALUE} to
+     *      never mark events as structural resets, or -1 to use the threshold
+     *      of the publisher
+     * @see ListEvent#isStructuralReset()
+     */
+    public void setStructuralResetThreshold(int threshold) {
+        if(threshold < 1 && threshold != -1) throw new IllegalArgumentException("threshold must be positive or -1: " + threshold);
+        this.structuralResetThreshold = threshold;
+    }
+
+    /**
+     * Get the number of changes from which events are marked as structural
+     * resets, which is the publisher's threshold unless another has been set.
+     */
+    public int getStructuralResetThreshold() {
+        return structuralResetThreshold == -1 ? publisher.getStructuralResetThreshold() : structuralResetThreshold;
+    }
+
     /**
      * Discards the current atomic change to this list change queue. This does
      * not notify any listeners about any changes.
@@ -417,6 +538,7 @@ public final class ListEventAssembler<E> {
     Tree4Deltas getListDeltas() { return listDeltas; }
     BlockSequence getListBlocksLinear() { return blockSequence; }
     int[] getReorderMap() { return reorderMap; }
+    boolean isStructuralReset() { return structuralReset; }
 
     /**
      * Cleanup all temporary variables necessary while events are being fired.
@@ -426,6 +548,7 @@ public final class ListEventAssembler<E> {
         blockSequence.reset();
         listDeltas.reset(sourceList.size());
         reorderMap = null;
+        structuralReset = false;
         listDeltas.setAllowContradictingEvents(false);
         // force cleanup of iterator which still could reference old data
         listEvent.reset();
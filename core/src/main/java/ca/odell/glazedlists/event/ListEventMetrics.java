@@ -0,0 +1,64 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.EventList;
+
+/**
+ * Receives measurements of the {@link ListEvent}s flowing through a pipeline
+ * of {@link EventList}s, to find the stages that are slow or that produce
+ * large events.
+ *
+ * <p>Metrics are installed on a {@link ListEventPublisher}, which is shared by
+ * all of the lists in a pipeline, using
+ * {@link ListEventPublisher#setListEventMetrics}. Each list reports the shape
+ * of every event it commits, and the publisher reports the time taken by
+ * every listener to handle each event it's notified of. The time spent in a
+ * listener excludes the time spent by the listeners downstream of it, since
+ * the publisher notifies those afterwards.
+ *
+ * <p>Measurements are reported on the thread that changes the list while it
+ * holds the pipeline's write lock, so implementations should be fast. They
+ * must be thread safe if they're installed on more than one publisher.
+ *
+ * @see InMemoryListEventMetrics
+ */
+public interface ListEventMetrics {
+
+    /** metrics that ignore all measurements, the default for every publisher */
+    ListEventMetrics NONE = new ListEventMetrics() {
+        @Override
+        public void eventCommitted(EventList<?> source, int blockCount, int changeCount, boolean reordering) {
+            // do nothing
+        }
+        @Override
+        public void listenerNotified(Object subject, Object listener, int depth, long nanos) {
+            // do nothing
+        }
+    };
+
+    /**
+     * Record that an {@link EventList} has committed an event and is about to
+     * notify its listeners.
+     *
+     * @param source the list whose event was committed
+     * @param blockCount the number of blocks in the event
+     * @param changeCount the number of changed elements in the event
+     * @param reordering whether the event is a reordering
+     */
+    void eventCommitted(EventList<?> source, int blockCount, int changeCount, boolean reordering);
+
+    /**
+     * Record that a listener has handled an event.
+     *
+     * @param subject the source of the event, usually an {@link EventList}
+     * @param listener the listener notified, often the next {@link EventList}
+     *      of the pipeline
+     * @param depth the number of events that led to this event, 0 for an
+     *      event caused by a change from outside of the pipeline, 1 for an
+     *      event fired by one of its listeners and so on
+     * @param nanos the time the listener took to handle the event
+     */
+    void listenerNotified(Object subject, Object listener, int depth, long nanos);
+}
@@ -72,4 +72,47 @@ public interface ListEventPublisher {
      * Detach the subject from its related listener.
      */
     void clearRelatedListener(Object subject, Object relatedListener);
+
+    /**
+     * Report the events published by this publisher to the specified metrics,
+     * in place of the current metrics. Publishers that don't support metrics
+     * ignore this, and keep reporting to {@link ListEventMetrics#NONE}.
+     *
+     * @param metrics the metrics to report to, or {@link ListEventMetrics#NONE}
+     *      to stop reporting
+     */
+    default void setListEventMetrics(ListEventMetrics metrics) {
+        // metrics are not supported by default
+    }
+
+    /**
+     * Get the metrics that the events published by this publisher are reported
+     * to, {@link ListEventMetrics#NONE} unless others have been set.
+     */
+    default ListEventMetrics getListEventMetrics() {
+        return ListEventMetrics.NONE;
+    }
+
+    /**
+     * Mark the events published by this publisher as structural resets when
+     * they contain at least the specified number of changes, unless the
+     * {@link ListEventAssembler} of their list has its own threshold.
+     * Publishers that don't support thresholds ignore this, so only the
+     * assemblers' own thresholds apply.
+     *
+     * @param threshold the number of changes, or {@link Integer#MAX_VALUE}
+     *      to never mark events as structural resets
+     * @see ListEvent#isStructuralReset()
+     */
+    default void setStructuralResetThreshold(int threshold) {
+        // thresholds are not supported by default
+    }
+
+    /**
+     * Get the number of changes from which events are marked as structural
+     * resets, {@link Integer#MAX_VALUE} unless another threshold has been set.
+     */
+    default int getStructuralResetThreshold() {
+        return Integer.MAX_VALUE;
+    }
 }
\ No newline at end of file
@@ -11,7 +11,6 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.IdentityHashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -57,6 +56,8 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
 
     /** subject to cleanup when this event is completely distributed */
     private transient final Map<Object,EventFormat> subjectsToCleanUp = new IdentityHashMap<>();
+    /** the subjects to clean up in the order they fired, so they can be visited without allocating map entries */
+    private transient final List<Object> subjectsToCleanUpInOrder = new ArrayList<>();
 
     /** for proper dependency management, when a listener and subject aren't the same identity */
     private transient final Map<Object,Object> listenersToRelatedSubjects = new IdentityHashMap<>();
@@ -64,6 +65,15 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
     /** the last listener notified, the next one will be beyond it in the list */
     private transient int nextToNotify;
 
+    /** receives the time taken by each listener, or {@link ListEventMetrics#NONE} */
+    private transient volatile ListEventMetrics metrics = ListEventMetrics.NONE;
+
+    /** the number of changes from which events are marked as structural resets */
+    private transient volatile int structuralResetThreshold = Integer.MAX_VALUE;
+
+    /** the depth of the event being fired to a listener, or -1 between listeners */
+    private transient int notifyingDepth = -1;
+
     /**
      * A mix of different subjects and listeners pairs in a deliberate order.
      * We should be careful not to make changes to this list directly and instead
@@ -299,6 +309,32 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
         listenersToRelatedSubjects.remove(listener);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void setListEventMetrics(ListEventMetrics metrics) {
+        if(metrics == null) throw new NullPointerException("ListEventMetrics is undefined");
+        this.metrics = metrics;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ListEventMetrics getListEventMetrics() {
+        return metrics;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setStructuralResetThreshold(int threshold) {
+        if(threshold < 1) throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        this.structuralResetThreshold = threshold;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getStructuralResetThreshold() {
+        return structuralResetThreshold;
+    }
+
     /**
      * Get all listeners of the specified object.
      */
@@ -336,15 +372,18 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
             // record this subject as firing an event, so we can clean up later
             EventFormat previous = subjectsToCleanUp.put(subject, eventFormat);
             if(previous != null) throw new IllegalStateException("Reentrant fireEvent() by \"" + subject + "\"");
+            subjectsToCleanUpInOrder.add(subject);
 
-            // Mark the listeners who need this event
+            // Mark the listeners who need this event, one level deeper than
+            // the event that caused it
+            final int depth = notifyingDepth + 1;
             int subjectAndListenersSize = subjectsAndListenersForCurrentEvent.size();
             // was i = lastNotified + 1
             for(int i = 0; i < subjectAndListenersSize; i++) {
                 SubjectAndListener subjectAndListener = subjectsAndListenersForCurrentEvent.get(i);
                 if(subjectAndListener.subject != subject) continue;
                 if(i < nextToNotify) nextToNotify = i;
-                subjectAndListener.addPendingEvent(event);
+                subjectAndListener.addPendingEvent(event, depth);
             }
 
             // If this method is reentrant, let someone higher up the stack handle this
@@ -352,6 +391,7 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
 
             // remember any runtime exceptions thrown to rethrow later
             RuntimeException toRethrow = null;
+            final ListEventMetrics metrics = this.metrics;
 
             // fire events to listeners in order
             while(true) {
@@ -371,23 +411,31 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
                 if(nextToFire == null) break;
 
                 // notify this listener
+                notifyingDepth = nextToFire.pendingDepth;
+                final long start = metrics == ListEventMetrics.NONE ? 0 : System.nanoTime();
                 try {
                     nextToFire.firePendingEvent();
                 } catch(RuntimeException e) {
                     if(toRethrow == null) toRethrow = e;
+                } finally {
+                    notifyingDepth = -1;
+                }
+                if(metrics != ListEventMetrics.NONE) {
+                    metrics.listenerNotified(nextToFire.subject, nextToFire.listener, nextToFire.pendingDepth, System.nanoTime() - start);
                 }
             }
 
             // clean up all the subjects now that we're done firing events
-            for(Iterator<Map.Entry<Object,EventFormat>> i = subjectsToCleanUp.entrySet().iterator(); i.hasNext(); ) {
-                Map.Entry<Object,EventFormat> subjectAndEventFormat = i.next();
+            for(int i = 0; i < subjectsToCleanUpInOrder.size(); i++) {
+                Object subjectToCleanUp = subjectsToCleanUpInOrder.get(i);
                 try {
-                    subjectAndEventFormat.getValue().postEvent(subjectAndEventFormat.getKey());
+                    subjectsToCleanUp.get(subjectToCleanUp).postEvent(subjectToCleanUp);
                 } catch(RuntimeException e) {
                     if(toRethrow == null) toRethrow = e;
                 }
             }
             subjectsToCleanUp.clear();
+            subjectsToCleanUpInOrder.clear();
 
             // this event is completely finished
             subjectsAndListenersForCurrentEvent = null;
@@ -456,6 +504,8 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
         private final Listener listener;
         private final EventFormat<Subject,Listener,Event> eventFormat;
         private Event pendingEvent;
+        /** the number of events that led to the pending event */
+        private int pendingDepth;
 
         public SubjectAndListener(Subject subject, Listener listener, EventFormat<Subject,Listener,Event> eventFormat) {
             this.subject = subject;
@@ -467,10 +517,11 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
             return pendingEvent != null;
         }
 
-        public void addPendingEvent(Event pendingEvent) {
+        public void addPendingEvent(Event pendingEvent, int pendingDepth) {
             if(this.pendingEvent != null) throw new IllegalStateException();
             if(pendingEvent == null) throw new IllegalStateException();
             this.pendingEvent = pendingEvent;
+            this.pendingDepth = pendingDepth;
         }
 
         public void firePendingEvent() {
@@ -17,6 +17,8 @@ class Tree4DeltasListEvent<E> extends ListEvent<E> {
 
     private Tree4Deltas.Iterator deltasIterator;
     private BlockSequence.Iterator linearIterator;
+    /** reused for each pass over linear blocks, so publishing them doesn't allocate */
+    private BlockSequence.Iterator reusableLinearIterator;
 
     private ListEventAssembler deltasAssembler;
 
@@ -41,7 +43,9 @@ class Tree4DeltasListEvent<E> extends ListEvent<E> {
     public void reset() {
         // prefer to use the linear blocks, which are faster
         if(deltasAssembler.getUseListBlocksLinear()) {
-            this.linearIterator = deltasAssembler.getListBlocksLinear().iterator();
+            if(reusableLinearIterator == null) reusableLinearIterator = deltasAssembler.getListBlocksLinear().iterator();
+            else reusableLinearIterator.reset();
+            this.linearIterator = reusableLinearIterator;
             this.deltasIterator = null;
 
         // otherwise use the deltas, which are more general
@@ -74,6 +78,11 @@ class Tree4DeltasListEvent<E> extends ListEvent<E> {
         return (deltasAssembler.getReorderMap() != null);
     }
 
+    @Override
+    public boolean isStructuralReset() {
+        return deltasAssembler.isStructuralReset();
+    }
+
     @Override
     public int[] getReorderMap() {
         int[] reorderMap = deltasAssembler.getReorderMap();
@@ -3,30 +3,50 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl;
 
+import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.impl.adt.IntArrayList;
 
 import java.util.*;
+import java.util.function.BiPredicate;
 
 /**
  * Implementation of Eugene W. Myer's paper, "An O(ND) Difference Algorithm and
  * Its Variations", the same algorithm found in GNU diff.
  *
- * <p>Note that this is a cleanroom implementation of this popular algorithm
- * that is particularly suited for the Java programmer. The variable names are
- * descriptive and the approach is more object-oriented than Myer's sample
- * algorithm.
+ * <p>This uses the linear space refinement from the paper: rather than
+ * remembering every path it explores, it finds the middle snake of the
+ * shortest edit script by searching forward from the start and backward from
+ * the end at the same time, and then recurses on the parts before and after
+ * that snake. So the memory used is proportional to the size of the lists,
+ * and the time to <code>O((N+M)D)</code>. Common prefixes and suffixes are
+ * matched before each search, which makes the usual case of a few scattered
+ * differences between long lists fast.
+ *
+ * <p>The edit script is applied as a sequence of blocks: each run of deleted,
+ * inserted or updated elements is a single change. When the target is a
+ * {@link BasicEventList}, all of the blocks are fired as a single ListEvent.
+ * Edit scripts for lists of elements with unique keys are found by
+ * {@link #replaceAllByKey} without a diff, by indexing the keys.
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
 public final class Diff {
 
+    /** updates every pair of common elements */
+    private static final BiPredicate<Object, Object> ALWAYS_CHANGED = (oldElement, newElement) -> true;
+
+    /** updates pairs of common elements that aren't equal */
+    private static final BiPredicate<Object, Object> UNEQUAL = (oldElement, newElement) -> !Objects.equals(oldElement, newElement);
+
     /**
      * Convenience method for {@link #replaceAll(EventList,List,boolean,Comparator)
      * replaceAll()} that uses {@link Object#equals(Object)} to determine
      * equality.
      */
     public static <E> void replaceAll(EventList<E> target, List<E> source, boolean updates) {
-        replaceAll(target, source, updates, GlazedListsImpl.<E>equalsComparator());
+        replaceAll(target, source, updates, null);
     }
 
     /**
@@ -36,216 +56,376 @@ public final class Diff {
      *
      * @param comparator a {@link Comparator} to use to test only for equality.
      *      This comparator shall return 0 to signal that two elements are
-     *      equal, and nonzero otherwise.
+     *      equal, and nonzero otherwise. If <code>null</code>,
+     *      {@link Object#equals(Object)} determines equality.
      * @param updates whether to fire update events for Objects that are equal
      *      in both {@link List}s.
      */
     public static <E> void replaceAll(EventList<E> target, List<E> source,
                                       boolean updates, Comparator<E> comparator) {
         DiffMatcher listDiffMatcher = new ListDiffMatcher<>(target, source, comparator);
-        List<Point> editScript = shortestEditScript(listDiffMatcher);
+        IntArrayList commonRuns = longestCommonSubsequence(listDiffMatcher);
+        applyEditScript(target, source, commonRuns, updates ? ALWAYS_CHANGED : null);
+    }
 
-        // target is x axis. Changes in X mean advance target index
-        // source is y axis. Changes to y mean advance source index
-        int targetIndex = 0;
-        int sourceIndex = 0;
+    /**
+     * Convenience method for {@link #replaceAllByKey(EventList,List,FunctionList.Function,BiPredicate)
+     * replaceAllByKey()} that updates the elements that are not
+     * {@link Object#equals(Object) equal} to the new element with their key.
+     */
+    public static <E> void replaceAllByKey(EventList<E> target, List<E> source, FunctionList.Function<? super E, ?> keyFunction) {
+        replaceAllByKey(target, source, keyFunction, UNEQUAL);
+    }
 
-        // walk through points, applying changes as they arrive
-        Point previousPoint = null;
-        for(Iterator<Point> i = editScript.iterator(); i.hasNext();) {
-            Point currentPoint = i.next();
+    /**
+     * Replace the complete contents of the target {@link EventList} with the
+     * complete contents of the source {@link List}, matching their elements
+     * by key rather than by comparing them.
+     *
+     * <p>The source elements are indexed by key in a hash table, so the
+     * elements of the target are matched in linear time. Target elements
+     * without a match are deleted, and source elements without a match are
+     * inserted. Matched elements are kept in place, except where the source
+     * has reordered them: then as many of them as possible are kept, and the
+     * rest are deleted and inserted again at their new index.
+     *
+     * @param keyFunction extracts the key of each element, which is compared
+     *      with {@link Object#equals(Object)}. Keys must be unique within
+     *      the source; after the first element with a key, the target's
+     *      elements with that key are deleted.
+     * @param changed decides whether an element is replaced by the element
+     *      with the same key in the source, firing an update. It is called
+     *      with the element of the target followed by that of the source.
+     * @throws IllegalArgumentException if the source has duplicate keys
+     */
+    public static <E> void replaceAllByKey(EventList<E> target, List<E> source,
+            FunctionList.Function<? super E, ?> keyFunction, BiPredicate<? super E, ? super E> changed) {
+        if(keyFunction == null) throw new IllegalArgumentException("keyFunction may not be null");
+        if(changed == null) throw new IllegalArgumentException("changed may not be null");
 
-            // skip the first point
-            if(previousPoint == null) {
-                previousPoint = currentPoint;
-                continue;
+        // index the source by key
+        final Map<Object, Integer> sourceIndices = new HashMap<>(Math.max(16, (int)(source.size() / 0.75f) + 1));
+        int sourceIndex = 0;
+        for(E element : source) {
+            final Object key = keyFunction.evaluate(element);
+            if(sourceIndices.put(key, Integer.valueOf(sourceIndex)) != null) {
+                throw new IllegalArgumentException("Duplicate key " + key + " in source at index " + sourceIndex);
             }
+            sourceIndex++;
+        }
 
-            // figure out what the relationship in the values is
-            int deltaX = currentPoint.getX() - previousPoint.getX();
-            int deltaY = currentPoint.getY() - previousPoint.getY();
-
-            // handle an update
-            if(deltaX == deltaY) {
-                if(updates) {
-                    for(int u = 0; u < deltaX; u++) {
-                        target.set(targetIndex + u, source.get(sourceIndex + u));
-                    }
-                }
-                targetIndex += deltaX;
-                sourceIndex += deltaY;
+        // find the source index of each target element, once per key
+        final IntArrayList matchedTargetIndices = new IntArrayList();
+        final IntArrayList matchedSourceIndices = new IntArrayList();
+        int targetIndex = 0;
+        for(E element : target) {
+            final Integer match = sourceIndices.remove(keyFunction.evaluate(element));
+            if(match != null) {
+                matchedTargetIndices.add(targetIndex);
+                matchedSourceIndices.add(match.intValue());
+            }
+            targetIndex++;
+        }
 
-            // handle a remove
-            } else if(deltaX == 1 && deltaY == 0) {
-                target.remove(targetIndex);
+        // keep the matches that are in the same order in both lists
+        final boolean[] kept = longestIncreasingSubsequence(matchedSourceIndices);
+        final IntArrayList commonRuns = new IntArrayList();
+        for(int m = 0; m < kept.length; m++) {
+            if(kept[m]) addRun(commonRuns, matchedTargetIndices.get(m), matchedSourceIndices.get(m), 1);
+        }
 
-            // handle an insert
-            } else if(deltaX == 0 && deltaY == 1) {
-                target.add(targetIndex, source.get(sourceIndex));
-                sourceIndex++;
-                targetIndex++;
+        applyEditScript(target, source, commonRuns, changed);
+    }
 
-            // should never be reached
+    /**
+     * Find a longest strictly increasing subsequence of the specified values,
+     * in <code>O(N log N)</code> time, or linear time if they are all
+     * increasing already.
+     *
+     * @return whether each value is in the subsequence
+     */
+    private static boolean[] longestIncreasingSubsequence(IntArrayList values) {
+        final int size = values.size();
+
+        // the index of the last value of the best subsequence of each length,
+        // and the index of the value before each value in its subsequence
+        final int[] tails = new int[size];
+        final int[] predecessors = new int[size];
+        int length = 0;
+        for(int i = 0; i < size; i++) {
+            final int value = values.get(i);
+
+            // find the shortest subsequence whose last value is not less
+            int low = 0;
+            int high = length;
+            if(length > 0 && values.get(tails[length - 1]) < value) {
+                low = length;
             } else {
-                throw new IllegalStateException();
+                while(low < high) {
+                    final int middle = (low + high) >>> 1;
+                    if(values.get(tails[middle]) < value) low = middle + 1;
+                    else high = middle;
+                }
             }
 
-            // the next previous point is this current point
-            previousPoint = currentPoint;
+            predecessors[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if(low == length) length++;
         }
+
+        final boolean[] result = new boolean[size];
+        for(int i = length > 0 ? tails[length - 1] : -1; i != -1; i = predecessors[i]) {
+            result[i] = true;
+        }
+        return result;
     }
 
+    /**
+     * Change the target to the source, given the runs of elements that they
+     * have in common. Elements between the runs are removed from the target
+     * and inserted from the source, one block at a time. When the target is
+     * a {@link BasicEventList}, the blocks are fired as a single event.
+     *
+     * @param commonRuns triples of the target index, source index and length
+     *      of each run of common elements, in increasing order
+     * @param changed decides which common elements are replaced by their
+     *      source element, or <code>null</code> to keep them all
+     */
+    private static <E> void applyEditScript(EventList<E> target, List<E> source, IntArrayList commonRuns, BiPredicate<? super E, ? super E> changed) {
+        if(target instanceof BasicEventList) {
+            final BasicEventList<E> basicTarget = (BasicEventList<E>)target;
+            basicTarget.applyChanges(() -> applyEditScript(target, basicTarget, source, commonRuns, changed));
+        } else {
+            applyEditScript(target, null, source, commonRuns, changed);
+        }
+    }
 
     /**
-     * Calculate the length of the longest common subsequence for the specified
-     * input.
+     * Apply the edit script one block at a time, using the bulk methods of
+     * <code>basicTarget</code> if it is not <code>null</code>.
      */
-    private static List<Point> shortestEditScript(DiffMatcher input) {
-        // calculate limits based on the size of the input matcher
-        int N = input.getAlphaLength();
-        int M = input.getBetaLength();
-        Point maxPoint = new Point(N, M);
-        int maxSteps = N + M;
-
-        // use previous round furthest reaching D-path to determine the
-        // new furthest reaching (D+1)-path
-        Map<Integer,Point> furthestReachingPoints = new HashMap<>();
-
-        // walk through in stages, each stage adding one non-diagonal.
-        // D == count of non-diagonals in current stage
-        for(int D = 0; D <= maxSteps; D++) {
+    private static <E> void applyEditScript(EventList<E> target, BasicEventList<E> basicTarget, List<E> source,
+            IntArrayList commonRuns, BiPredicate<? super E, ? super E> changed) {
 
-            // exploit diagonals in order to save storing both X and Y
-            // diagonal k means every point on k, (k = x - y)
-            for(int k = -D; k <= D; k += 2) {
-                // the furthest reaching D-path on the left and right diagonals
-                // either of these may be null. The terms 'below left' and 'above
-                // right' refer to the diagonals that the points are on and may
-                // not be representative of the point positions
-                Point belowLeft = furthestReachingPoints.get(new Integer(k - 1));
-                Point aboveRight = furthestReachingPoints.get(new Integer(k + 1));
-
-                // the new furthest reaching point to create
-                Point point;
-
-                // first round: we have matched zero in word X
-                if(furthestReachingPoints.isEmpty()) {
-                    point = new Point(0, 0);
-
-                // if this is the leftmost diagonal, or the left edge is
-                // further than the right edge, our new X is that value and
-                // our y is one greater (shift verically by one)
-                } else if(k == -D || (k != D && belowLeft.getX() < aboveRight.getX())) {
-                    point = aboveRight.createDeltaPoint(0, 1);
-
-                // if the right edge is further than the left edge, use that
-                // x and keep y the same (shift horizontally by one)
-                } else {
-                    point = belowLeft.createDeltaPoint(1, 0);
-                }
+        // target is x axis. Changes in X mean advance target index
+        // source is y axis. Changes to y mean advance source index
+        final int targetSize = target.size();
+        final int sourceSize = source.size();
+        int x = 0;
+        int y = 0;
+        for(int r = 0; r <= commonRuns.size(); r += 3) {
+            // the final run is an empty one at the end of both lists
+            final boolean last = r == commonRuns.size();
+            final int runX = last ? targetSize : commonRuns.get(r);
+            final int runY = last ? sourceSize : commonRuns.get(r + 1);
+            final int runLength = last ? 0 : commonRuns.get(r + 2);
+
+            // the target index of x, having applied the changes before it
+            final int targetIndex = y;
 
-                // match as much diagonal as possible from the previous endpoint
-                while(point.isLessThan(maxPoint) && input.matchPair(point.getX(), point.getY())) {
-                    point = point.incrementDiagonally();
+            // handle a remove
+            if(runX > x) {
+                if(basicTarget != null) {
+                    basicTarget.removeRange(targetIndex, targetIndex + runX - x);
+                } else {
+                    for(int i = x; i < runX; i++) target.remove(targetIndex);
                 }
+            }
 
-                // save this furthest reaching path
-                furthestReachingPoints.put(new Integer(k), point);
+            // handle an insert
+            if(runY > y) {
+                target.addAll(targetIndex, source.subList(y, runY));
+            }
 
-                // if we're past the end, we have a solution!
-                if(point.isEqualToOrGreaterThan(maxPoint)) {
-                    return point.trail();
+            // handle an update of each run of changed elements
+            if(changed != null) {
+                int u = 0;
+                while(u < runLength) {
+                    if(!changed.test(target.get(runY + u), source.get(runY + u))) {
+                        u++;
+                        continue;
+                    }
+                    final int updateStart = runY + u;
+                    do u++;
+                    while(u < runLength && changed.test(target.get(runY + u), source.get(runY + u)));
+
+                    if(basicTarget != null) {
+                        basicTarget.setAll(updateStart, source.subList(updateStart, runY + u));
+                    } else {
+                        for(int i = updateStart; i < runY + u; i++) {
+                            target.set(i, source.get(i));
+                        }
+                    }
                 }
             }
+
+            x = runX + runLength;
+            y = runY + runLength;
         }
-        // no solution was found
-        throw new IllegalStateException();
     }
 
     /**
-     * Models an X and Y point in a path. The top-left corner of the axis is the point (0,
-     * 0). This is the lowest point in both the x and y dimensions. Negative points are
-     * not allowed.
+     * Find the runs of elements that are common to both inputs, in the order
+     * of a longest common subsequence.
+     *
+     * @return triples of the alpha index, beta index and length of each run
      */
-    private static class Point {
-        private int x = 0;
-        private int y = 0;
-        private Point predecessor = null;
+    private static IntArrayList longestCommonSubsequence(DiffMatcher input) {
+        final int N = input.getAlphaLength();
+        final int M = input.getBetaLength();
+
+        // the furthest reaching paths of each diagonal, reused by each search
+        final int diagonals = 2 * ((N + M + 1) / 2) + 3;
+        final int[] forward = new int[diagonals];
+        final int[] reverse = new int[diagonals];
+
+        final IntArrayList result = new IntArrayList();
+        longestCommonSubsequence(input, 0, N, 0, M, forward, reverse, new int[4], result);
+        return result;
+    }
 
-        /**
-         * Create a new point with the specified coordinates and no predecessor.
-         */
-        public Point(int x, int y) {
-            this.x = x;
-            this.y = y;
+    /**
+     * Find the runs of elements that are common to the specified ranges of
+     * both inputs, and add them to <code>result</code>.
+     */
+    private static void longestCommonSubsequence(DiffMatcher input, int alphaStart, int alphaEnd, int betaStart, int betaEnd,
+            int[] forward, int[] reverse, int[] snake, IntArrayList result) {
+        // match the common prefix
+        int prefix = 0;
+        while(alphaStart + prefix < alphaEnd && betaStart + prefix < betaEnd && input.matchPair(alphaStart + prefix, betaStart + prefix)) {
+            prefix++;
         }
-
-        /**
-         * Creates a new point from this point by shifting its values as specified. The
-         * new point keeps a reference to its source in order to create a path later.
-         */
-        public Point createDeltaPoint(int deltaX, int deltaY) {
-            Point result = new Point(x + deltaX, y + deltaY);
-            result.predecessor = this;
-            return result;
+        addRun(result, alphaStart, betaStart, prefix);
+        alphaStart += prefix;
+        betaStart += prefix;
+
+        // match the common suffix, which is added after the runs before it
+        int suffix = 0;
+        while(alphaStart < alphaEnd - suffix && betaStart < betaEnd - suffix && input.matchPair(alphaEnd - suffix - 1, betaEnd - suffix - 1)) {
+            suffix++;
         }
-
-        /**
-         * Shifts <code>x</code> and <code>y</code> values down and to the
-         * right by one.
-         */
-        public Point incrementDiagonally() {
-            Point result = createDeltaPoint(1, 1);
-
-            // shortcut to the predecessor (to save memory!)
-            if(predecessor != null) {
-                int deltaX = result.x - predecessor.x;
-                int deltaY = result.y - predecessor.y;
-
-                if(deltaX == deltaY) {
-                    result.predecessor = this.predecessor;
-                }
-            }
-
-            return result;
-        }
-
-        public int getX() {
-            return x;
+        alphaEnd -= suffix;
+        betaEnd -= suffix;
+
+        // with no common prefix or suffix, the edit script has at least two
+        // edits if neither range is empty, so both halves are smaller
+        if(alphaStart < alphaEnd && betaStart < betaEnd) {
+            findMiddleSnake(input, alphaStart, alphaEnd, betaStart, betaEnd, forward, reverse, snake);
+            final int snakeStartX = snake[0];
+            final int snakeStartY = snake[1];
+            final int snakeEndX = snake[2];
+            final int snakeEndY = snake[3];
+
+            longestCommonSubsequence(input, alphaStart, snakeStartX, betaStart, snakeStartY, forward, reverse, snake, result);
+            addRun(result, snakeStartX, snakeStartY, snakeEndX - snakeStartX);
+            longestCommonSubsequence(input, snakeEndX, alphaEnd, snakeEndY, betaEnd, forward, reverse, snake, result);
         }
 
-        public int getY() {
-            return y;
-        }
+        addRun(result, alphaEnd, betaEnd, suffix);
+    }
 
-        public boolean isLessThan(Point other) {
-            return x < other.x && y < other.y;
+    /**
+     * Add a run of common elements, joining it to the previous run if they
+     * are adjacent.
+     */
+    private static void addRun(IntArrayList result, int alphaIndex, int betaIndex, int length) {
+        if(length == 0) return;
+        final int size = result.size();
+        if(size > 0 && result.get(size - 3) + result.get(size - 1) == alphaIndex && result.get(size - 2) + result.get(size - 1) == betaIndex) {
+            result.set(size - 1, result.get(size - 1) + length);
+            return;
         }
+        result.add(alphaIndex);
+        result.add(betaIndex);
+        result.add(length);
+    }
 
-        public boolean isEqualToOrGreaterThan(Point other) {
-            return x >= other.x && y >= other.y;
-        }
+    /**
+     * Find the middle snake of a shortest edit script for the specified
+     * ranges, which must have different first and last elements. The start
+     * and end points of the snake are written to <code>snake</code> as
+     * alpha index, beta index, alpha index and beta index.
+     *
+     * <p>The forward search extends the furthest reaching D-paths from the
+     * start, and the reverse search the furthest reaching D-paths from the end
+     * of the ranges. When they overlap on a diagonal, the snake of the
+     * overlapping path is in the middle of a shortest edit script.
+     */
+    private static void findMiddleSnake(DiffMatcher input, int alphaStart, int alphaEnd, int betaStart, int betaEnd,
+            int[] forward, int[] reverse, int[] snake) {
+        final int N = alphaEnd - alphaStart;
+        final int M = betaEnd - betaStart;
+        final int delta = N - M;
+        final boolean odd = (delta & 1) != 0;
+        final int maxSteps = (N + M + 1) / 2;
+
+        // diagonal k is stored at offset + k, where k = x - y. The reverse
+        // search uses reversed coordinates, so its diagonal k is the
+        // forward diagonal delta - k.
+        final int offset = maxSteps + 1;
+        forward[offset + 1] = 0;
+        reverse[offset + 1] = 0;
 
-        @Override
-        public String toString() {
-            return "(" + x + "," + y + ")";
-        }
+        for(int D = 0; D <= maxSteps; D++) {
+            for(int k = -D; k <= D; k += 2) {
+                int x;
+                if(k == -D || (k != D && forward[offset + k - 1] < forward[offset + k + 1])) {
+                    x = forward[offset + k + 1];
+                } else {
+                    x = forward[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                final int startX = x;
+                final int startY = y;
+
+                // match as much diagonal as possible
+                while(x < N && y < M && input.matchPair(alphaStart + x, betaStart + y)) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+
+                // overlapping with a reverse path of D - 1 steps?
+                if(odd && k >= delta - (D - 1) && k <= delta + (D - 1) && x + reverse[offset + delta - k] >= N) {
+                    snake[0] = alphaStart + startX;
+                    snake[1] = betaStart + startY;
+                    snake[2] = alphaStart + x;
+                    snake[3] = betaStart + y;
+                    return;
+                }
+            }
 
-        /**
-         * Get a trail from the original point to this point. This is a list of
-         * all points created via a series of {@link #createDeltaPoint(int,int)}
-         * calls.
-         */
-        public List<Point> trail() {
-            List<Point> reverse = new ArrayList<>();
-            Point current = this;
-            while (current != null) {
-                reverse.add(current);
-                current = current.predecessor;
+            for(int k = -D; k <= D; k += 2) {
+                int x;
+                if(k == -D || (k != D && reverse[offset + k - 1] < reverse[offset + k + 1])) {
+                    x = reverse[offset + k + 1];
+                } else {
+                    x = reverse[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                final int startX = x;
+                final int startY = y;
+
+                // match as much diagonal as possible, backwards from the end
+                while(x < N && y < M && input.matchPair(alphaEnd - x - 1, betaEnd - y - 1)) {
+                    x++;
+                    y++;
+                }
+                reverse[offset + k] = x;
+
+                // overlapping with a forward path of D steps?
+                if(!odd && delta - k >= -D && delta - k <= D && x + forward[offset + delta - k] >= N) {
+                    snake[0] = alphaEnd - x;
+                    snake[1] = betaEnd - y;
+                    snake[2] = alphaEnd - startX;
+                    snake[3] = betaEnd - startY;
+                    return;
+                }
             }
-            Collections.reverse(reverse);
-            return reverse;
         }
+
+        // no solution was found
+        throw new IllegalStateException();
     }
 
     /**
@@ -272,42 +452,60 @@ public final class Diff {
     }
 
     /**
-     * Matcher for Lists.
+     * Matcher for Lists. The elements are copied into arrays first, so that
+     * each comparison reads them directly rather than through the lists.
+     * Without a {@link Comparator}, elements are compared with
+     * {@link Object#equals(Object)}, after their cached hash codes.
      */
     static class ListDiffMatcher<E> implements DiffMatcher {
-        private List<E> alpha;
-        private List<E> beta;
-        private Comparator<E> comparator;
+        private final Object[] alpha;
+        private final Object[] beta;
+        private final Comparator<E> comparator;
+        private final int[] alphaHashes;
+        private final int[] betaHashes;
 
         public ListDiffMatcher(List<E> alpha, List<E> beta, Comparator<E> comparator) {
-            this.alpha = alpha;
-            this.beta = beta;
+            this.alpha = alpha.toArray();
+            this.beta = beta.toArray();
             this.comparator = comparator;
+            this.alphaHashes = comparator == null ? hashCodes(this.alpha) : null;
+            this.betaHashes = comparator == null ? hashCodes(this.beta) : null;
+        }
+
+        private static int[] hashCodes(Object[] elements) {
+            final int[] result = new int[elements.length];
+            for(int i = 0; i < elements.length; i++) {
+                result[i] = Objects.hashCode(elements[i]);
+            }
+            return result;
         }
 
         @Override
         public int getAlphaLength() {
-            return alpha.size();
+            return alpha.length;
         }
 
         @Override
         public char alphaAt(int index) {
-            return alpha.get(index).toString().charAt(0);
+            return alpha[index].toString().charAt(0);
         }
 
         @Override
         public char betaAt(int index) {
-            return beta.get(index).toString().charAt(0);
+            return beta[index].toString().charAt(0);
         }
 
         @Override
         public int getBetaLength() {
-            return beta.size();
+            return beta.length;
         }
 
         @Override
         public boolean matchPair(int alphaIndex, int betaIndex) {
-            return (comparator.compare(alpha.get(alphaIndex), beta.get(betaIndex)) == 0);
+            if(comparator == null) {
+                return alphaHashes[alphaIndex] == betaHashes[betaIndex] && Objects.equals(alpha[alphaIndex], beta[betaIndex]);
+            }
+            return (comparator.compare((E)alpha[alphaIndex], (E)beta[betaIndex]) == 0);
         }
     }
-}
\ No newline at end of file
+}
@@ -318,8 +318,15 @@ public class Grouper<E> {
                 // figure out if we deleted a UNIQUE or DUPLICATE or UNIQUE_WITH_DUPLICATE
                 final Object deleted = removedValues.removeFirst();
 
+                // case: AACC -> A (list change UXX)
+                // the deleted element was marked UNIQUE by an update of the preceding
+                // UNIQUE element in the first iteration, and passed that mark on to its
+                // DUPLICATE when deleted. Since that DUPLICATE was deleted too, no group
+                // was split off, and the deleted element was part of the updated group.
+                final boolean fakedUnique = deleted == UNIQUE_WITH_DUPLICATE && changeIndex == lastFakedUniqueChangeIndex && changeIndex >= barcode.size();
+
                 // get the index of the element removed from the source list
-                final int sourceDeletedIndex = deleted == DUPLICATE ? changeIndex - 1 : changeIndex;
+                final int sourceDeletedIndex = deleted == DUPLICATE || fakedUnique ? changeIndex - 1 : changeIndex;
 
                 // determine the index of the GroupList the removal impacts
                 final int groupDeletedIndex = sourceDeletedIndex < barcode.size() ? barcode.getBlackIndex(sourceDeletedIndex, true) : barcode.blackSize();
@@ -351,7 +358,7 @@ public class Grouper<E> {
                         newValueInGroup = ListEvent.<E>unknownValue();
                     }
 
-                    if (deleted == UNIQUE_WITH_DUPLICATE) {
+                    if (deleted == UNIQUE_WITH_DUPLICATE && !fakedUnique) {
                         oldValueInGroup = oldValue;
                     } else {
                         // assume the old value and the new value are the same. If they're not,
@@ -0,0 +1,314 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This helper class manages the groups created by dividing up an unsorted
+ * {@link EventList} by the key of each element. Elements whose keys are equal
+ * according to {@link Object#equals} and {@link Object#hashCode} belong to the
+ * same group. It is the hash-based counterpart of {@link Grouper}, which
+ * requires its source to be sorted by a {@link java.util.Comparator}.
+ *
+ * <p>Groups are ordered by when they were created, which is when their first
+ * element was inserted. The elements of a group are ordered as they are in the
+ * source list. This class uses a delegate interface {@link Client} to fire the
+ * appropriate events as groups are inserted, updated and deleted.
+ *
+ * <p>Each source element is tracked by a node in a tree ordered by source
+ * index, and each group keeps the nodes of its elements in source order in an
+ * array. So appending an element takes a single hash lookup plus O(log N) tree
+ * operations, without any comparisons between elements. Inserting or deleting
+ * an element elsewhere also binary searches its group, at O(log N) per probe,
+ * and shifts the group's array, for O(log<sup>2</sup> N + G) in all where G
+ * is the size of the group. The nodes also hold the elements, so groups can be
+ * read while the source list is part way through an event.
+ */
+public class HashGrouper<E> {
+
+    /** extracts the key that determines each element's group */
+    private final FunctionList.Function<? super E, ?> keyFunction;
+
+    /** the client to notify of group changes, null while the initial groups are created */
+    private Client<E> client;
+
+    /** each element and its group, in source order */
+    private final SimpleTree<Member<E>> members = new SimpleTree<>();
+
+    /** the groups, in the order they were created */
+    private final SimpleTree<Group<E>> groups = new SimpleTree<>();
+
+    /** the group of each key */
+    private final Map<Object,Group<E>> groupsByKey = new HashMap<>();
+
+    /**
+     * Create a new {@link HashGrouper} that manages groups for the specified
+     * source list. This doesn't listen to the source list, its owner must
+     * forward changes to {@link #listChanged}. The client isn't notified of
+     * the groups of the elements already in the source list.
+     */
+    public HashGrouper(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction, Client<E> client) {
+        this.keyFunction = keyFunction;
+        for(int i = 0, n = source.size(); i < n; i++) {
+            insert(i, source.get(i));
+        }
+        this.client = client;
+    }
+
+    /**
+     * Get the number of groups.
+     */
+    public int size() {
+        return groups.size();
+    }
+
+    /**
+     * Get the key shared by the elements of the specified group.
+     */
+    public Object getKey(int groupIndex) {
+        return groups.get(groupIndex).get().key;
+    }
+
+    /**
+     * Get the number of elements in the specified group.
+     */
+    public int getGroupSize(int groupIndex) {
+        return groups.get(groupIndex).get().members.size();
+    }
+
+    /**
+     * Get the element at the specified index within the specified group.
+     */
+    public E getElement(int groupIndex, int index) {
+        return groups.get(groupIndex).get().members.get(index).get().value;
+    }
+
+    /**
+     * Get the source index of the element at the specified index within the
+     * specified group.
+     */
+    public int getSourceIndex(int groupIndex, int index) {
+        return members.indexOfNode(groups.get(groupIndex).get().members.get(index), (byte)1);
+    }
+
+    /**
+     * Get the source indices of all elements of the specified group, in
+     * increasing order.
+     */
+    public int[] getSourceIndices(int groupIndex) {
+        final List<Element<Member<E>>> groupMembers = groups.get(groupIndex).get().members;
+        final int[] result = new int[groupMembers.size()];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = members.indexOfNode(groupMembers.get(i), (byte)1);
+        }
+        return result;
+    }
+
+    /**
+     * Get the index of the group with the specified key, or <code>-1</code>
+     * if no element has that key.
+     */
+    public int indexOfKey(Object key) {
+        final Group<E> group = groupsByKey.get(key);
+        return group == null ? -1 : groups.indexOfNode(group.node, (byte)1);
+    }
+
+    /**
+     * Get the key of the specified element, according to this grouper's
+     * key function.
+     */
+    public Object keyOf(E element) {
+        return keyFunction.evaluate(element);
+    }
+
+    /**
+     * Handle changes from the source list by modifying the grouping state.
+     * During this method, callbacks will be made to the {@link Client} who is
+     * responsible for firing the appropriate change events to its listeners.
+     *
+     * @param source the list that changed, whose element at each inserted or
+     *      updated index is read as the change is handled
+     */
+    public void listChanged(EventList<E> source, ListEvent<E> listChanges) {
+        // Changes arrive in increasing order of their index, so the source
+        // element at each inserted or updated index is already in its final place
+        while(listChanges.next()) {
+            final int changeIndex = listChanges.getIndex();
+            final int changeType = listChanges.getType();
+
+            if(changeType == ListEvent.INSERT) {
+                insert(changeIndex, source.get(changeIndex));
+
+            } else if(changeType == ListEvent.DELETE) {
+                delete(changeIndex);
+
+            } else if(changeType == ListEvent.UPDATE) {
+                final E value = source.get(changeIndex);
+                final Object key = keyFunction.evaluate(value);
+                final Element<Member<E>> node = members.get(changeIndex);
+                final Group<E> group = node.get().group;
+
+                // the element stays in its group, whose first element may have changed
+                if(key == null ? group.key == null : key.equals(group.key)) {
+                    final E oldFirst = group.first();
+                    node.get().value = value;
+                    fireGroupChanged(changeIndex, groups.indexOfNode(group.node, (byte)1), ListEvent.UPDATE, oldFirst, group.first());
+
+                // the element moves to another group
+                } else {
+                    delete(changeIndex);
+                    insert(changeIndex, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the element inserted at the specified source index to its group,
+     * creating the group if it doesn't exist.
+     */
+    private void insert(int sourceIndex, E value) {
+        final Object key = keyFunction.evaluate(value);
+        Group<E> group = groupsByKey.get(key);
+        final boolean created = group == null;
+        if(created) {
+            group = new Group<>(key);
+            group.node = groups.add(groups.size(), group, 1);
+            groupsByKey.put(key, group);
+        }
+
+        final E oldFirst = created ? ListEvent.<E>unknownValue() : group.first();
+        final Element<Member<E>> node = members.add(sourceIndex, new Member<>(group, value), 1);
+        group.members.add(group.position(members, sourceIndex, false), node);
+
+        final int groupIndex = groups.indexOfNode(group.node, (byte)1);
+        fireGroupChanged(sourceIndex, groupIndex, created ? ListEvent.INSERT : ListEvent.UPDATE, oldFirst, group.first());
+    }
+
+    /**
+     * Remove the element deleted from the specified source index from its
+     * group, deleting the group if it's now empty.
+     */
+    private void delete(int sourceIndex) {
+        final Element<Member<E>> node = members.get(sourceIndex);
+        final Group<E> group = node.get().group;
+        final E oldFirst = group.first();
+        group.members.remove(group.position(members, sourceIndex, true));
+        members.remove(node);
+
+        final int groupIndex = groups.indexOfNode(group.node, (byte)1);
+        if(group.members.isEmpty()) {
+            groups.remove(group.node);
+            groupsByKey.remove(group.key);
+            group.node = null;
+            fireGroupChanged(sourceIndex, groupIndex, ListEvent.DELETE, oldFirst, ListEvent.<E>unknownValue());
+        } else {
+            fireGroupChanged(sourceIndex, groupIndex, ListEvent.UPDATE, oldFirst, group.first());
+        }
+    }
+
+    /**
+     * Notify the client of a group change, unless the initial groups are
+     * still being created.
+     */
+    private void fireGroupChanged(int index, int groupIndex, int groupChangeType, E oldFirst, E newFirst) {
+        if(client != null) client.groupChanged(index, groupIndex, groupChangeType, oldFirst, newFirst);
+    }
+
+    /**
+     * A source element and the group it belongs to.
+     */
+    private static final class Member<E> {
+        private final Group<E> group;
+        private E value;
+
+        private Member(Group<E> group, E value) {
+            this.group = group;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The elements that share a key.
+     */
+    private static final class Group<E> {
+        /** the key shared by all elements */
+        private final Object key;
+        /** the nodes of the elements in the tree of members, in source order */
+        private final List<Element<Member<E>>> members = new ArrayList<>(2);
+        /** the node of this group in the tree of groups, null once deleted */
+        private Element<Group<E>> node;
+
+        private Group(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Get the first element, which represents the group.
+         */
+        private E first() {
+            return members.get(0).get().value;
+        }
+
+        /**
+         * Find the position of the specified source index among the members.
+         *
+         * @param existing true to find the member at the source index, false
+         *      to find where the element at the source index, which is not a
+         *      member yet, should be inserted
+         */
+        private int position(SimpleTree<Member<E>> allMembers, int sourceIndex, boolean existing) {
+            int low = 0;
+            int high = members.size() - 1;
+
+            // elements are usually appended, so try the end first
+            if(!existing && (high < 0 || allMembers.indexOfNode(members.get(high), (byte)1) < sourceIndex)) return high + 1;
+
+            while(low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int midIndex = allMembers.indexOfNode(members.get(mid), (byte)1);
+                if(midIndex < sourceIndex) low = mid + 1;
+                else if(midIndex > sourceIndex || !existing) high = mid - 1;
+                else return mid;
+            }
+            if(existing) throw new IllegalStateException("No element at source index " + sourceIndex);
+            return low;
+        }
+    }
+
+    /**
+     * The grouper client is responsible for turning grouping events into
+     * {@link ListEvent}s if desired. The client receives callbacks as groups
+     * are created, modified and destroyed.
+     */
+    @FunctionalInterface
+    public interface Client<E> {
+        /**
+         * Handle the structure of a group changing.
+         *
+         * @param index the location in the source list that was inserted,
+         *      updated or deleted
+         * @param groupIndex the group that the source element now belongs to,
+         *      or belonged to in the case of {@link ListEvent#DELETE} events
+         * @param groupChangeType one of {@link ListEvent#INSERT},
+         *      {@link ListEvent#UPDATE} or {@link ListEvent#DELETE} signalling
+         *      what happened to the group in response to this element change
+         * @param oldFirst the first element of the group before the change, or
+         *      {@link ListEvent#unknownValue()} for a new group
+         * @param newFirst the first element of the group after the change, or
+         *      {@link ListEvent#unknownValue()} for a deleted group
+         */
+        void groupChanged(int index, int groupIndex, int groupChangeType, E oldFirst, E newFirst);
+    }
+}
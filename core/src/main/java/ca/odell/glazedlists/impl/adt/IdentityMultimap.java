@@ -23,6 +23,16 @@ public class IdentityMultimap<K,V> extends IdentityHashMap<K, List<V>> {
         }
         values.add(value);
     }
+    public void removeValue(K key, V value) {
+        List<V> values = super.get(key);
+        if(values == null) return;
+        for(int i = 0; i < values.size(); i++) {
+            if(values.get(i) != value) continue;
+            values.remove(i);
+            if(values.isEmpty()) remove(key);
+            return;
+        }
+    }
     @Override
     public List<V> get(Object key) {
         List<V> values = super.get(key);
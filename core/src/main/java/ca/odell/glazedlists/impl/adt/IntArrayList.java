@@ -92,6 +92,25 @@ public class IntArrayList {
 	}
 
 
+	/**
+	 * Make room for at least the given number of entries, so they can be added without
+	 * allocating additional array space.
+	 *
+	 * @param capacity      The number of entries the list should hold without growing.
+	 */
+	public void ensureCapacity( int capacity ) {
+		checkGrow( capacity - size );
+	}
+
+
+	/**
+	 * Returns the number of entries the list can hold without growing.
+	 */
+	public int capacity() {
+		return data.length;
+	}
+
+
 	/**
 	 * Determine if there is sufficient data in the list to make access to the given index
 	 * make sense. If it is outside the current bounds of the list, an exception will
@@ -119,9 +138,9 @@ public class IntArrayList {
 	private void checkGrow( int amount ) {
 		if ( size + amount <= data.length ) return;
 
-		int new_length = data.length * 2;
+		int new_length = Math.max( data.length * 2, 1 );
 		while( new_length < ( size + amount ) ) {
-			new_length = data.length * 2;
+			new_length *= 2;
 		}
 
 		int[] new_data = new int[ new_length ];
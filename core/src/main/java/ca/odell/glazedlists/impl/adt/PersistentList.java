@@ -0,0 +1,227 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.adt;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable {@link java.util.List} backed by a balanced tree. Changes are
+ * made by creating new lists with methods such as {@link #insert} and
+ * {@link #delete}, which share all unchanged nodes with the original list. Each
+ * such change costs <code>O(log N)</code> time and allocates
+ * <code>O(log N)</code> nodes, and leaves the original list untouched.
+ *
+ * <p>Because instances are never modified, they may be read from any number
+ * of threads without synchronization.
+ */
+public final class PersistentList<E> extends AbstractList<E> {
+
+    /** the list with no elements */
+    private static final PersistentList EMPTY = new PersistentList(null);
+
+    /** the root of the tree, or <code>null</code> for an empty list */
+    private final Node root;
+
+    private PersistentList(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Get the list with no elements.
+     */
+    public static <E> PersistentList<E> empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create a list holding the specified values in order. This takes linear
+     * time.
+     */
+    public static <E> PersistentList<E> of(Object[] values) {
+        return new PersistentList<>(build(values, 0, values.length));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+        Node node = root;
+        while(true) {
+            int leftSize = size(node.left);
+            if(index < leftSize) {
+                node = node.left;
+            } else if(index == leftSize) {
+                return (E)node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Create a list with the specified value inserted at the specified index.
+     */
+    public PersistentList<E> insert(int index, E value) {
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        return new PersistentList<>(insert(root, index, value));
+    }
+
+    /**
+     * Create a list with the value at the specified index removed.
+     */
+    public PersistentList<E> delete(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        return new PersistentList<>(remove(root, index));
+    }
+
+    /**
+     * Create a list with the value at the specified index replaced.
+     */
+    public PersistentList<E> replace(int index, E value) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        return new PersistentList<>(replace(root, index, value));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<E> iterator() {
+        return new PersistentListIterator();
+    }
+
+    /**
+     * Walks the tree in order, without the <code>O(log N)</code> lookup of
+     * {@link #get} for each element.
+     */
+    private class PersistentListIterator implements Iterator<E> {
+
+        /** the nodes whose values and right subtrees are still to be visited */
+        private final Node[] stack = new Node[root != null ? root.height : 0];
+        private int stackSize = 0;
+
+        PersistentListIterator() {
+            pushLeftPath(root);
+        }
+
+        private void pushLeftPath(Node node) {
+            for(; node != null; node = node.left) {
+                stack[stackSize++] = node;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return stackSize > 0;
+        }
+
+        @Override
+        public E next() {
+            if(stackSize == 0) throw new NoSuchElementException();
+
+            Node node = stack[--stackSize];
+            pushLeftPath(node.right);
+            return (E)node.value;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static int height(Node node) {
+        return node != null ? node.height : 0;
+    }
+
+    private static Node build(Object[] values, int start, int end) {
+        if(start == end) return null;
+        int middle = (start + end) >>> 1;
+        return new Node(values[middle], build(values, start, middle), build(values, middle + 1, end));
+    }
+
+    private static Node insert(Node node, int index, Object value) {
+        if(node == null) return new Node(value, null, null);
+
+        int leftSize = size(node.left);
+        if(index <= leftSize) return balance(node.value, insert(node.left, index, value), node.right);
+        else return balance(node.value, node.left, insert(node.right, index - leftSize - 1, value));
+    }
+
+    private static Node remove(Node node, int index) {
+        int leftSize = size(node.left);
+        if(index < leftSize) return balance(node.value, remove(node.left, index), node.right);
+        if(index > leftSize) return balance(node.value, node.left, remove(node.right, index - leftSize - 1));
+
+        // remove this node by replacing it with its successor
+        if(node.left == null) return node.right;
+        if(node.right == null) return node.left;
+        Node successor = node.right;
+        while(successor.left != null) successor = successor.left;
+        return balance(successor.value, node.left, remove(node.right, 0));
+    }
+
+    private static Node replace(Node node, int index, Object value) {
+        int leftSize = size(node.left);
+        if(index < leftSize) return new Node(node.value, replace(node.left, index, value), node.right);
+        if(index > leftSize) return new Node(node.value, node.left, replace(node.right, index - leftSize - 1, value));
+        return new Node(value, node.left, node.right);
+    }
+
+    /**
+     * Create a node with the specified value and children, performing an AVL
+     * rotation if the children's heights differ by more than one.
+     */
+    private static Node balance(Object value, Node left, Node right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+
+        if(leftHeight > rightHeight + 1) {
+            if(height(left.left) >= height(left.right)) {
+                return new Node(left.value, left.left, new Node(value, left.right, right));
+            } else {
+                return new Node(left.right.value, new Node(left.value, left.left, left.right.left), new Node(value, left.right.right, right));
+            }
+        } else if(rightHeight > leftHeight + 1) {
+            if(height(right.right) >= height(right.left)) {
+                return new Node(right.value, new Node(value, left, right.left), right.right);
+            } else {
+                return new Node(right.left.value, new Node(value, left, right.left.left), new Node(right.value, right.left.right, right.right));
+            }
+        }
+
+        return new Node(value, left, right);
+    }
+
+    /**
+     * An immutable tree node.
+     */
+    private static final class Node {
+        private final Object value;
+        private final Node left;
+        private final Node right;
+        private final int size;
+        private final byte height;
+
+        Node(Object value, Node left, Node right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = (byte)(Math.max(height(left), height(right)) + 1);
+        }
+    }
+}
@@ -363,6 +363,46 @@ public class BciiTree/*[ TYPELIST_START ]*/ <T0,T1> /*[ TYPELIST_END ]*/ {
         }
     }
 
+    /**
+     * Populate this empty tree with the specified values, one node of size 1
+     * per value, in the order given. The tree is built bottom-up so that it is
+     * perfectly balanced, which takes linear time rather than the
+     * <code>O(N log N)</code> of adding the values one at a time.
+     *
+     * @param color the color of each inserted node.
+     * @param values the node values, in the order they shall appear in the tree.
+     */
+    public void addAllInOrder(byte color, T0[] values) {
+        if(this.root != null) throw new IllegalStateException("Tree must be empty");
+
+        this.root = buildSubtree(/*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ values, 0, values.length, null);
+        assert(valid());
+    }
+
+    /**
+     * Build a balanced subtree holding the values in the range
+     * <code>[start, end)</code>.
+     *
+     * @return the root of the new subtree, or <code>null</code> if the range is empty.
+     */
+    private /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ buildSubtree(/*[ COLORED_START ]*/ byte color, /*[ COLORED_END ]*/ T0[] values, int start, int end, /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ parent) {
+        if(start == end) return null;
+
+        // the middle value roots the subtree, the halves on either side are its children
+        int middle = (start + end) >>> 1;
+        /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ node = new /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/(/*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ 1, values[middle], parent);
+        node.left = buildSubtree(/*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ values, start, middle, node);
+        node.right = buildSubtree(/*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ values, middle + 1, end, node);
+
+        // update height and counts now that the children are in place
+        byte leftHeight = node.left != null ? node.left.height : 0;
+        byte rightHeight = node.right != null ? node.right.height : 0;
+        node.height = (byte)(Math.max(leftHeight, rightHeight) + 1);
+        /*[ REFRESH_COUNTS(node) ]*/ node.refreshCounts(); /*[ EXAMPLE_END ]*/
+
+        return node;
+    }
+
     /**
      * Adjust counts for all nodes (including the specified node) up the tree
      * to the root. The counts of the specified color are adjusted by delta
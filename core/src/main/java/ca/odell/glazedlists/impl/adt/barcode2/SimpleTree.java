@@ -405,6 +405,46 @@ public class SimpleTree <  T0>   {
         }
     }
 
+    /**
+     * Populate this empty tree with the specified values, one node of size 1
+     * per value, in the order given. The tree is built bottom-up so that it is
+     * perfectly balanced, which takes linear time rather than the
+     * <code>O(N log N)</code> of adding the values one at a time.
+     *
+     * @param color the color of each inserted node.
+     * @param values the node values, in the order they shall appear in the tree.
+     */
+    public void addAllInOrder(byte color, T0[] values) {
+        if(this.root != null) throw new IllegalStateException("Tree must be empty");
+
+        this.root = buildSubtree(   values, 0, values.length, null);
+        assert(valid());
+    }
+
+    /**
+     * Build a balanced subtree holding the values in the range
+     * <code>[start, end)</code>.
+     *
+     * @return the root of the new subtree, or <code>null</code> if the range is empty.
+     */
+    private  SimpleNode <  T0>   buildSubtree(   T0[] values, int start, int end,  SimpleNode <  T0>   parent) {
+        if(start == end) return null;
+
+        // the middle value roots the subtree, the halves on either side are its children
+        int middle = (start + end) >>> 1;
+         SimpleNode <  T0>   node = new  SimpleNode <  T0>  (   1, values[middle], parent);
+        node.left = buildSubtree(   values, start, middle, node);
+        node.right = buildSubtree(   values, middle + 1, end, node);
+
+        // update height and counts now that the children are in place
+        byte leftHeight = node.left != null ? node.left.height : 0;
+        byte rightHeight = node.right != null ? node.right.height : 0;
+        node.height = (byte)(Math.max(leftHeight, rightHeight) + 1);
+         node.refreshCounts(!zeroQueue.contains(node));
+
+        return node;
+    }
+
     /**
      * Adjust counts for all nodes (including the specified node) up the tree
      * to the root. The counts of the specified color are adjusted by delta
@@ -3,12 +3,22 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.beans;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import ca.odell.glazedlists.impl.reflect.J2SE50ReturnTypeResolver;
 import ca.odell.glazedlists.impl.reflect.ReturnTypeResolver;
@@ -16,6 +26,12 @@ import ca.odell.glazedlists.impl.reflect.ReturnTypeResolver;
 /**
  * Models a getter and setter for an abstract property.
  *
+ * <p>Where possible, each method of the getter and setter chains is called
+ * through a class generated for it by {@link LambdaMetafactory}, which runs
+ * as fast as a hand-written call. Methods that can't be called that way, for
+ * example because the generated class couldn't see the bean's classes, are
+ * called through reflection. Either way the same exceptions are thrown.
+ *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
 public class BeanProperty<T> {
@@ -39,10 +55,28 @@ public class BeanProperty<T> {
     /** the chain of methods for the setter */
     private List<Method> setterChain = null;
 
+    /** calls the methods of the getter chain */
+    private Invoker[] getterInvokers = null;
+
+    /** calls the methods of the setter chain */
+    private Invoker[] setterInvokers = null;
+
     /** commonly used paramters */
     private static final Object[] EMPTY_ARGUMENTS = new Object[0];
     private static final Class[] EMPTY_PARAMETER_TYPES = new Class[0];
 
+    /**
+     * the invokers of the methods of each declaring class, so that a class is
+     * generated only once per method. Values of a ClassValue don't prevent
+     * their class from being unloaded.
+     */
+    private static final ClassValue<Map<Method, Invoker>> INVOKERS = new ClassValue<Map<Method, Invoker>>() {
+        @Override
+        protected Map<Method, Invoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * Creates a new {@link BeanProperty} that gets the specified property from the
      * specified class.
@@ -93,6 +127,57 @@ public class BeanProperty<T> {
             setterChain.add(lastSetter);
             if(valueClass == null) valueClass = TYPE_RESOLVER.getFirstParameterType(currentClass, lastSetter);
         }
+
+        if(getterChain != null) getterInvokers = createInvokers(getterChain);
+        if(setterChain != null) setterInvokers = createInvokers(setterChain);
+    }
+
+    /**
+     * Creates an {@link Invoker} for each of the specified methods.
+     */
+    private static Invoker[] createInvokers(List<Method> methods) {
+        final Invoker[] result = new Invoker[methods.size()];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = createInvoker(methods.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the {@link Invoker} for the specified method, creating it the
+     * first time the method is used by any BeanProperty.
+     */
+    private static Invoker createInvoker(Method method) {
+        return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, BeanProperty::compileInvoker);
+    }
+
+    /**
+     * Creates an {@link Invoker} that calls the specified method through a
+     * generated class, or through reflection if that is not possible.
+     */
+    private static Invoker compileInvoker(Method method) {
+        if(!Modifier.isStatic(method.getModifiers()) && isVisible(method.getDeclaringClass())
+                && isVisible(method.getReturnType()) && (method.getParameterTypes().length == 0 || isVisible(method.getParameterTypes()[0]))) {
+            try {
+                return new CompiledInvoker(method);
+            } catch(Throwable e) {
+                // the method is not accessible for a generated class, so use reflection
+            }
+        }
+        return new ReflectiveInvoker(method);
+    }
+
+    /**
+     * Returns <tt>true</tt> if the specified class can be referred to by the
+     * classes generated for this class, which are defined by its class loader.
+     */
+    private static boolean isVisible(Class clazz) {
+        if(clazz.isPrimitive()) return true;
+        try {
+            return Class.forName(clazz.getName(), false, BeanProperty.class.getClassLoader()) == clazz;
+        } catch(ClassNotFoundException | LinkageError e) {
+            return false;
+        }
     }
 
     /**
@@ -249,9 +334,8 @@ public class BeanProperty<T> {
         try {
             // do all the getters in sequence
             Object currentMember = member;
-            for(int i = 0, n = getterChain.size(); i < n; i++) {
-                Method currentMethod = getterChain.get(i);
-                currentMember = currentMethod.invoke(currentMember, EMPTY_ARGUMENTS);
+            for(int i = 0; i < getterInvokers.length; i++) {
+                currentMember = getterInvokers[i].invoke(currentMember, null);
                 if(currentMember == null) return null;
             }
 
@@ -276,15 +360,14 @@ public class BeanProperty<T> {
         try {
             // everything except the last setter chain element is a getter
             Object currentMember = member;
-            for(int i = 0, n = setterChain.size() - 1; i < n; i++) {
-                Method currentMethod = setterChain.get(i);
-                currentMember = currentMethod.invoke(currentMember, EMPTY_ARGUMENTS);
+            for(int i = 0, n = setterInvokers.length - 1; i < n; i++) {
+                currentMember = setterInvokers[i].invoke(currentMember, null);
                 if(currentMember == null) return null;
             }
 
             // do the remaining setter
             setterMethod = setterChain.get(setterChain.size() - 1);
-            return setterMethod.invoke(currentMember, new Object[] { newValue });
+            return setterInvokers[setterInvokers.length - 1].invoke(currentMember, newValue);
         } catch (IllegalArgumentException e) {
             String message = e.getMessage();
 
@@ -305,6 +388,107 @@ public class BeanProperty<T> {
         }
     }
 
+    /**
+     * Calls a getter or a setter. Implementations throw the same exceptions
+     * as {@link Method#invoke}, so callers handle them in one place.
+     */
+    private interface Invoker {
+
+        /**
+         * Call the method on the specified target, with the specified argument
+         * if the method is a setter.
+         */
+        Object invoke(Object target, Object argument) throws IllegalAccessException, InvocationTargetException;
+    }
+
+    /**
+     * Calls a method through reflection.
+     */
+    private static final class ReflectiveInvoker implements Invoker {
+        private final Method method;
+        private final boolean setter;
+
+        ReflectiveInvoker(Method method) {
+            this.method = method;
+            this.setter = method.getParameterTypes().length == 1;
+        }
+
+        @Override
+        public Object invoke(Object target, Object argument) throws IllegalAccessException, InvocationTargetException {
+            return method.invoke(target, setter ? new Object[] { argument } : EMPTY_ARGUMENTS);
+        }
+    }
+
+    /**
+     * Calls a method through a class generated by {@link LambdaMetafactory}.
+     * The target and argument are checked as {@link Method#invoke} checks
+     * them, so that only exceptions thrown by the method itself are reported
+     * as an {@link InvocationTargetException}.
+     */
+    private static final class CompiledInvoker implements Invoker {
+        private final Class declaringClass;
+        /** the type of the setter's argument with primitives boxed, or null for a getter */
+        private final Class argumentClass;
+        private final boolean primitiveArgument;
+        private final Function<Object, Object> getter;
+        private final BiFunction<Object, Object, Object> setter;
+
+        CompiledInvoker(Method method) throws Throwable {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle handle = lookup.unreflect(method);
+            this.declaringClass = method.getDeclaringClass();
+
+            if(method.getParameterTypes().length == 0) {
+                this.argumentClass = null;
+                this.primitiveArgument = false;
+                this.getter = (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                        MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class),
+                        handle, handle.type().wrap()).getTarget().invokeExact();
+                this.setter = null;
+
+            } else {
+                final Class parameterType = method.getParameterTypes()[0];
+                this.argumentClass = MethodType.methodType(parameterType).wrap().returnType();
+                this.primitiveArgument = parameterType.isPrimitive();
+                this.getter = null;
+
+                // a setter returning void can't be a BiFunction, so adapt it
+                if(method.getReturnType() == Void.TYPE) {
+                    final CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                            MethodType.methodType(BiConsumer.class),
+                            MethodType.methodType(void.class, Object.class, Object.class),
+                            handle, MethodType.methodType(void.class, declaringClass, argumentClass));
+                    final BiConsumer<Object, Object> consumer = (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+                    this.setter = (target, argument) -> {
+                        consumer.accept(target, argument);
+                        return null;
+                    };
+                } else {
+                    this.setter = (BiFunction<Object, Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+                            MethodType.methodType(BiFunction.class),
+                            MethodType.methodType(Object.class, Object.class, Object.class),
+                            handle, handle.type().wrap()).getTarget().invokeExact();
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object target, Object argument) throws InvocationTargetException {
+            if(target == null) throw new NullPointerException();
+            if(!declaringClass.isInstance(target)) throw new IllegalArgumentException("object is not an instance of declaring class");
+            if(argumentClass != null) {
+                if(argument == null ? primitiveArgument : !argumentClass.isInstance(argument)) throw new IllegalArgumentException("argument type mismatch");
+            }
+
+            try {
+                return getter != null ? getter.apply(target) : setter.apply(target, argument);
+            } catch(Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+
     /**
      * This method was backported from the JDK 1.5 version of java.lang.Class.
      *
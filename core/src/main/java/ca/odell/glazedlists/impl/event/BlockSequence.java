@@ -17,6 +17,12 @@ import java.util.List;
  */
 public class BlockSequence<E> {
 
+    /**
+     * the most blocks whose storage is kept for the next event, so that a
+     * single huge event doesn't hold on to its storage indefinitely
+     */
+    private static final int MAX_RETAINED_BLOCKS = 1024;
+
     /** the start indices of the change blocks, inclusive */
     private IntArrayList starts = new IntArrayList();
     /** the end indices of the change blocks, exclusive */
@@ -24,8 +30,10 @@ public class BlockSequence<E> {
     /** the change types */
     private IntArrayList types = new IntArrayList();
     /** the impacted values */
-    private List<E> oldValues = new ArrayList<>();
-    private List<E> newValues = new ArrayList<>();
+    private ArrayList<E> oldValues = new ArrayList<>();
+    private ArrayList<E> newValues = new ArrayList<>();
+    /** the old value of each element of a block, or null for blocks with a single old value */
+    private ArrayList<List<? extends E>> oldValueRanges = new ArrayList<>();
 
     /**
      * @param startIndex the first updated element, inclusive
@@ -89,7 +97,7 @@ public class BlockSequence<E> {
             return false;
 
         // concatenate this change on to the previous one
-        } else if(lastChangedIndex == startIndex && lastType == type && oldValue == lastOldValue && newValue == lastNewValue) {
+        } else if(lastChangedIndex == startIndex && lastType == type && oldValue == lastOldValue && newValue == lastNewValue && (size == 0 || oldValueRanges.get(size - 1) == null)) {
             int newLength = (lastEndIndex - lastStartIndex) + (endIndex - startIndex);
             ends.set(size - 1, lastStartIndex + newLength);
             return true;
@@ -101,20 +109,78 @@ public class BlockSequence<E> {
             types.add(type);
             oldValues.add(oldValue);
             newValues.add(newValue);
+            oldValueRanges.add(null);
             return true;
         }
     }
 
+    /**
+     * Add a block of updates or deletes whose old values are the elements
+     * of the specified list, or return <code>false</code> if that failed
+     * because the change is not in increasing order. The list is read as
+     * listeners ask for old values, so it must not be modified afterwards.
+     *
+     * @param startIndex the first changed element, inclusive
+     * @param oldValues the old value of each changed element
+     */
+    public boolean addChange(int type, int startIndex, List<? extends E> oldValues) {
+        if(type != ListEvent.UPDATE && type != ListEvent.DELETE) throw new IllegalArgumentException("Unexpected type " + type);
+
+        // this change breaks the linear-ordering requirement
+        int size = types.size();
+        if(size != 0) {
+            int lastType = types.get(size - 1);
+            int lastChangedIndex = (lastType == ListEvent.DELETE) ? starts.get(size - 1) : ends.get(size - 1);
+            if(startIndex < lastChangedIndex) return false;
+        }
+
+        starts.add(startIndex);
+        ends.add(startIndex + oldValues.size());
+        types.add(type);
+        this.oldValues.add(ListEvent.<E>unknownValue());
+        newValues.add(ListEvent.<E>unknownValue());
+        oldValueRanges.add(oldValues);
+        return true;
+    }
+
     public boolean isEmpty() {
         return types.isEmpty();
     }
 
+    /**
+     * Prepare to add the specified number of blocks without growing the
+     * storage of this sequence.
+     */
+    public void reserve(int blocks) {
+        final int capacity = types.size() + blocks;
+        starts.ensureCapacity(capacity);
+        ends.ensureCapacity(capacity);
+        types.ensureCapacity(capacity);
+        oldValues.ensureCapacity(capacity);
+        newValues.ensureCapacity(capacity);
+        oldValueRanges.ensureCapacity(capacity);
+    }
+
+    /**
+     * Remove all blocks. The storage is reused by the next event, unless it
+     * has grown beyond {@link #MAX_RETAINED_BLOCKS}.
+     */
     public void reset() {
+        if(types.capacity() > MAX_RETAINED_BLOCKS) {
+            starts = new IntArrayList();
+            ends = new IntArrayList();
+            types = new IntArrayList();
+            oldValues = new ArrayList<>();
+            newValues = new ArrayList<>();
+            oldValueRanges = new ArrayList<>();
+            return;
+        }
         starts.clear();
         ends.clear();
         types.clear();
         oldValues.clear();
         newValues.clear();
+        oldValueRanges.clear();
     }
 
     public Iterator iterator() {
@@ -161,6 +227,18 @@ public class BlockSequence<E> {
         private int endIndex = -1;
         private int type = -1;
 
+        /**
+         * Move this iterator back to before the first block, so it can
+         * be reused for another pass over the changes.
+         */
+        public void reset() {
+            blockIndex = -1;
+            offset = 0;
+            startIndex = -1;
+            endIndex = -1;
+            type = -1;
+        }
+
         public Iterator copy() {
             Iterator result = new Iterator();
             result.blockIndex = blockIndex;
@@ -193,8 +271,17 @@ public class BlockSequence<E> {
             return type;
         }
         public E getOldValue() {
+            List<? extends E> oldValueRange = oldValueRanges.get(blockIndex);
+            if(oldValueRange != null) return oldValueRange.get(offset);
             return oldValues.get(blockIndex);
         }
+        /**
+         * Get the old value of each element of the current block, or
+         * <code>null</code> if the block has a single old value.
+         */
+        public List<? extends E> getOldValues() {
+            return oldValueRanges.get(blockIndex);
+        }
         public E getNewValue() {
             return newValues.get(blockIndex);
         }
@@ -4,6 +4,7 @@
 package ca.odell.glazedlists.impl.event;
 
 import java.util.Arrays;
+import java.util.List;
 
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
@@ -150,6 +151,30 @@ public class Tree4Deltas<E> {
        }
     }
 
+    /**
+     * Update a range of elements in the target, each with its own old value.
+     *
+     * @param startIndex the first updated element, inclusive
+     * @param oldValues the replaced value of each updated element
+     */
+    public void targetUpdate(int startIndex, List<? extends E> oldValues) {
+        for(int i = 0; i < oldValues.size(); i++) {
+            targetUpdate(startIndex + i, startIndex + i + 1, oldValues.get(i), ListEvent.<E>unknownValue());
+        }
+    }
+
+    /**
+     * Remove a range of elements from the target, each with its own old value.
+     *
+     * @param startIndex the index of the first element to remove
+     * @param oldValues the removed value of each element
+     */
+    public void targetDelete(int startIndex, List<? extends E> oldValues) {
+        for(int i = 0; i < oldValues.size(); i++) {
+            targetDelete(startIndex, startIndex + 1, oldValues.get(i));
+        }
+    }
+
     public void sourceInsert(int sourceIndex) {
         tree.add(sourceIndex, SOURCE_INDICES, NO_CHANGE, ListEvent.<E>unknownValue(), 1);
     }
@@ -190,8 +215,18 @@ public class Tree4Deltas<E> {
     }
 
     public void reset(int size) {
-        tree.clear();
         initialCapacityKnown = true;
+
+        // without changes the tree only holds unchanged elements, so resize
+        // it rather than discarding its nodes
+        if(isEmpty()) {
+            int currentSize = tree.size(ALL_INDICES);
+            if(currentSize > size) tree.remove(size, ALL_INDICES, currentSize - size);
+            else ensureCapacity(size);
+            return;
+        }
+
+        tree.clear();
         ensureCapacity(size);
     }
     private void ensureCapacity(int size) {
@@ -213,8 +248,12 @@ public class Tree4Deltas<E> {
             int type = i.getType();
             E oldValue = i.getOldValue();
             E newValue = i.getNewValue();
+            List<? extends E> oldValues = i.getOldValues();
 
-            if(type == ListEvent.INSERT) {
+            if(oldValues != null) {
+                if(type == ListEvent.UPDATE) targetUpdate(blockStart, oldValues);
+                else targetDelete(blockStart, oldValues);
+            } else if(type == ListEvent.INSERT) {
                 targetInsert(blockStart, blockEnd, newValue);
             } else if(type == ListEvent.UPDATE) {
                 targetUpdate(blockStart, blockEnd, oldValue, newValue);
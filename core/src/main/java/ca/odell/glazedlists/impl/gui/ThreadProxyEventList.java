@@ -55,6 +55,14 @@ import java.util.RandomAccess;
  * source {@link EventList}. This enables interested classes to read a consistent
  * (albeit potentially out of date) view of the data at all times.
  *
+ * <p>By default the private copy is brought up to date on the proxy thread,
+ * which costs time proportional to the size of the list there. When the
+ * cache is precomputed instead, each change is applied to a pending copy on
+ * the thread that changes the source, and the proxy thread only swaps the
+ * pending copy in before firing the combined event. This keeps large bursts
+ * of changes from stalling a GUI thread, at the cost of a second copy of the
+ * elements while changes are pending.
+ *
  * <p><strong><font color="#FF0000">Important:</font></strong> ThreadProxyEventList
  * relies heavily on its ability to pause changes to its source EventList
  * while it is updating its private copy of the source data. It does this by
@@ -79,6 +87,15 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
     /** whether the proxy thread has been scheduled */
     private volatile boolean scheduled = false;
 
+    /** whether changes are applied to {@link #pendingCache} on the source thread */
+    private final boolean precomputeCache;
+
+    /** the next local cache, updated by the source thread when the cache is precomputed, or null if no changes are pending */
+    private List<E> pendingCache;
+
+    /** the most changes of a single event to apply to the pending cache one at a time */
+    private static final int MAX_IN_PLACE_CHANGES = 16;
+
     /**
      * Create a {@link ThreadProxyEventList} which delivers changes to the
      * given <code>source</code> on a particular {@link Thread}, called the
@@ -88,13 +105,29 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
      * @param source the {@link EventList} for which to proxy events
      */
     public ThreadProxyEventList(EventList<E> source) {
+        this(source, false);
+    }
+
+    /**
+     * Create a {@link ThreadProxyEventList} which delivers changes to the
+     * given <code>source</code> on a particular {@link Thread}, called the
+     * proxy {@link Thread} of a subclasses choosing. The {@link Thread} used
+     * depends on the implementation of {@link #schedule(Runnable)}.
+     *
+     * @param source the {@link EventList} for which to proxy events
+     * @param precomputeCache <code>true</code> to update the private copy of
+     *      the source on the thread that changes it, so the proxy thread only
+     *      swaps in the new copy. {@link #applyChangeToCache} isn't used then.
+     */
+    public ThreadProxyEventList(EventList<E> source, boolean precomputeCache) {
         super(source);
+        this.precomputeCache = precomputeCache;
 
         // populate the initial cache value
         localCache.addAll(source);
 
         // handle my own events to update the internal state
-        cacheUpdates.addListEventListener(updateRunner);
+        if(!precomputeCache) cacheUpdates.addListEventListener(updateRunner);
 
         // handle changes in the source event list
         source.addListEventListener(this);
@@ -106,12 +139,13 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         // if we've haven't scheduled a commit, we need to begin a new event
         if(!scheduled) {
             updates.beginEvent(true);
-            cacheUpdates.beginEvent(true);
+            if(!precomputeCache) cacheUpdates.beginEvent(true);
         }
 
         // add the changes for this event to our queue
         updates.forwardEvent(listChanges);
-        cacheUpdates.forwardEvent(listChanges);
+        if(precomputeCache) applyChangeToPendingCache(listChanges);
+        else cacheUpdates.forwardEvent(listChanges);
 
         // commit the event on the appropriate thread
         if(!scheduled) {
@@ -155,6 +189,15 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
      * @return a new List to serve as the up-to-date local cache
      */
     protected List<E> applyChangeToCache(EventList<E> source, ListEvent<E> listChanges, List<E> localCache) {
+        return mergeChanges(source, listChanges, localCache);
+    }
+
+    /**
+     * Create a copy of the <code>source</code> by merging the changes with
+     * the unchanged elements of the out of date <code>localCache</code>,
+     * which is not modified.
+     */
+    private static <E> List<E> mergeChanges(EventList<E> source, ListEvent<E> listChanges, List<E> localCache) {
         List<E> result = new ArrayList<>(source.size());
 
         // cacheOffset is the running index delta between localCache and result
@@ -197,11 +240,47 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         return result;
     }
 
+    /**
+     * Apply the {@link ListEvent} to the pending cache, copying the local
+     * cache first if this is the first change since the proxy thread ran.
+     * This is called on the thread that changed the source, while it holds
+     * the write lock.
+     */
+    private void applyChangeToPendingCache(ListEvent<E> listChanges) {
+        // a reordering may move every element, so copy the source instead
+        if(listChanges.isReordering()) {
+            pendingCache = new ArrayList<>(source);
+            return;
+        }
+
+        // many changes would each shift the elements that follow them, so
+        // merge them into a new copy in a single pass instead
+        int changeCount = 0;
+        while(changeCount <= MAX_IN_PLACE_CHANGES && listChanges.next()) changeCount++;
+        listChanges.reset();
+        if(changeCount > MAX_IN_PLACE_CHANGES) {
+            pendingCache = mergeChanges(source, listChanges, pendingCache == null ? localCache : pendingCache);
+            listChanges.reset();
+            return;
+        }
+
+        if(pendingCache == null) pendingCache = new ArrayList<>(localCache);
+        while(listChanges.next()) {
+            final int changeIndex = listChanges.getIndex();
+            switch(listChanges.getType()) {
+                case ListEvent.INSERT: pendingCache.add(changeIndex, source.get(changeIndex)); break;
+                case ListEvent.UPDATE: pendingCache.set(changeIndex, source.get(changeIndex)); break;
+                case ListEvent.DELETE: pendingCache.remove(changeIndex); break;
+            }
+        }
+        listChanges.reset();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
         super.dispose();
-        cacheUpdates.removeListEventListener(updateRunner);
+        if(!precomputeCache) cacheUpdates.removeListEventListener(updateRunner);
     }
 
     /**
@@ -228,7 +307,13 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
                 // This is necessary so that intermediate states in this list
                 // are visible to larger list changes (such as clearing tables,
                 // see bug 447)
-                cacheUpdates.commitEvent();
+                if(precomputeCache) {
+                    // the new cache is ready, so just swap it in
+                    if(pendingCache != null) localCache = pendingCache;
+                    pendingCache = null;
+                } else {
+                    cacheUpdates.commitEvent();
+                }
                 updates.commitEvent();
             } finally {
                 scheduled = false;
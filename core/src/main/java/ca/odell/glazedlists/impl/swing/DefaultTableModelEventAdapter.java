@@ -21,7 +21,9 @@ import javax.swing.table.TableModel;
  * <p>
  * The goal here is to be as accurate as possible. In particular, each list
  * event block is converted to and fired as a separate {@link TableModelEvent}.
- * So, one list event can cause multiple table model events.
+ * So, one list event can cause multiple table model events. Only events that
+ * are {@link ListEvent#isStructuralReset() structural resets} are fired as a
+ * single event that all data has changed.
  * </p>
  * <p>
  * In some cases, this conversion strategy can lead to undesirable effects, such
@@ -59,6 +61,12 @@ class DefaultTableModelEventAdapter<E> implements TableModelEventAdapter<E> {
     public void listChanged(ListEvent<E> listChanges) {
         checkAccessThread();
 
+        // a change to most of the list is cheaper to repaint in one go
+        if (listChanges.isStructuralReset()) {
+            fireTableDataChanged();
+            return;
+        }
+
         // for all changes, one block at a time
         while (listChanges.nextBlock()) {
             // get the current change info
@@ -25,6 +25,15 @@ public class SwingThreadProxyEventList<E> extends ThreadProxyEventList<E> {
         super(source);
     }
 
+    /**
+     * Create a {@link SwingThreadProxyEventList} that mirrors the specified source
+     * {@link EventList} for access on the Swing thread, optionally updating its
+     * copy of the source on the thread that changes it.
+     */
+    public SwingThreadProxyEventList(EventList<E> source, boolean precomputeCache) {
+        super(source, precomputeCache);
+    }
+
     /**
      * Schedule the specified runnable to be run on the proxied thread.
      */
@@ -3,6 +3,7 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.swing;
 
+import ca.odell.glazedlists.ColumnarEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
@@ -189,6 +190,13 @@ public class DefaultEventTableModel<E> extends AbstractTableModel implements Adv
     public Object getValueAt(int row, int column) {
         source.getReadWriteLock().readLock().lock();
         try {
+            // read the cell without materializing the row, if possible
+            if (source instanceof ColumnarEventList) {
+                final ColumnarEventList<E> columnarSource = (ColumnarEventList<E>) source;
+                if (tableFormat == columnarSource.getTableFormat()) {
+                    return columnarSource.getColumnValue(row, column);
+                }
+            }
             return tableFormat.getColumnValue(source.get(row), column);
         } finally {
             source.getReadWriteLock().readLock().unlock();
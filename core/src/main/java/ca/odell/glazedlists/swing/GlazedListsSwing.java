@@ -45,6 +45,19 @@ public final class GlazedListsSwing {
         return new SwingThreadProxyEventList<>(source);
     }
 
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from the Swing event dispatch thread. When
+     * <code>precomputeCache</code> is <code>true</code>, the proxy's copy of
+     * the source is brought up to date on the thread that changes the source,
+     * so the event dispatch thread only swaps in the new copy before firing
+     * the combined event. Use this when large bursts of changes would
+     * otherwise stall the event dispatch thread.
+     */
+    public static <E> TransformedList<E, E> swingThreadProxyList(EventList<E> source, boolean precomputeCache) {
+        return new SwingThreadProxyEventList<>(source, precomputeCache);
+    }
+
     /**
      * Returns true iff <code>list</code> is an {@link EventList} that fires
      * all of its update events from the Swing event dispatch thread.
@@ -29,4 +29,29 @@ public interface ReadWriteLock {
      * Return the lock used for writing.
      */
     public Lock writeLock();
+
+    /**
+     * Begin an optimistic read, which reads without acquiring the
+     * {@link #readLock() read lock}. The returned stamp must be checked with
+     * {@link #validate(long)} once reading is complete; if validation fails the
+     * values read may be inconsistent and must be discarded.
+     *
+     * <p>Implementations that don't support optimistic reads return zero,
+     * which never validates.
+     *
+     * @return a stamp for use with {@link #validate(long)}, or zero if an
+     *      optimistic read is not possible right now
+     * @see ca.odell.glazedlists.Guard#applyWithOptimisticRead
+     */
+    public default long tryOptimisticRead() {
+        return 0L;
+    }
+
+    /**
+     * Returns <code>true</code> if the write lock has not been acquired since
+     * the specified stamp was issued by {@link #tryOptimisticRead()}.
+     */
+    public default boolean validate(long stamp) {
+        return false;
+    }
 }
\ No newline at end of file
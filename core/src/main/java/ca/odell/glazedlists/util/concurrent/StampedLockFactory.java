@@ -0,0 +1,185 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An implementation of {@link LockFactory} whose {@link ReadWriteLock}s are
+ * backed by a {@link StampedLock}, and so support
+ * {@link ReadWriteLock#tryOptimisticRead() optimistic reads}. An optimistic
+ * read doesn't write to shared memory, which makes it considerably cheaper
+ * than acquiring the read lock when reads greatly outnumber writes.
+ *
+ * <p>Unlike a raw {@link StampedLock}, the locks created by this factory are
+ * reentrant, and a thread holding the write lock may also acquire the read
+ * lock. This is required by lists whose listeners read the list while the
+ * write lock is held. As with {@link J2SE50LockFactory}, a thread holding
+ * only the read lock must not attempt to acquire the write lock.
+ *
+ * @see ca.odell.glazedlists.Guard#applyWithOptimisticRead
+ */
+public class StampedLockFactory implements LockFactory {
+    @Override
+    public ReadWriteLock createReadWriteLock() {
+        return new StampedReadWriteLock();
+    }
+
+    @Override
+    public Lock createLock() {
+        return new StampedReadWriteLock().writeLock();
+    }
+}
+
+/**
+ * A reentrant ReadWriteLock implemented over a {@link StampedLock}.
+ */
+final class StampedReadWriteLock implements ReadWriteLock, Serializable {
+
+    /** For versioning as a {@link Serializable} */
+    private static final long serialVersionUID = -2411346537180593235L;
+
+    /** the lock that provides mutual exclusion and optimistic reads */
+    private transient final StampedLock delegate = new StampedLock();
+
+    /** the number of read locks held by each thread */
+    private transient final ThreadLocal<ReadHolds> readHolds = ThreadLocal.withInitial(ReadHolds::new);
+
+    /** the thread holding the write lock, or <code>null</code> */
+    private transient volatile Thread writer;
+
+    /** the number of times the writer has acquired the write lock, only accessed by the writer */
+    private transient int writeHolds;
+
+    /** the stamp for the write lock, only accessed by the writer */
+    private transient long writeStamp;
+
+    private transient final Lock readLock = new ReadLock();
+    private transient final Lock writeLock = new WriteLock();
+
+    /** Use a {@link SerializedReadWriteLock} as a placeholder in the serialization stream. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedReadWriteLock();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long tryOptimisticRead() {
+        return delegate.tryOptimisticRead();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validate(long stamp) {
+        return stamp != 0L && delegate.validate(stamp);
+    }
+
+    /**
+     * The read locks held by a single thread.
+     */
+    private static final class ReadHolds {
+        /** the number of times this thread has acquired the read lock */
+        private int count;
+        /** the stamp of the underlying read lock, or zero if the thread is the writer */
+        private long stamp;
+    }
+
+    /**
+     * The shared lock. The underlying read lock is only acquired for a
+     * thread's outermost hold, and not at all by the writer.
+     */
+    private final class ReadLock implements Lock {
+        @Override
+        public void lock() {
+            final ReadHolds holds = readHolds.get();
+            if(holds.count == 0 && writer != Thread.currentThread()) {
+                holds.stamp = delegate.readLock();
+            }
+            holds.count++;
+        }
+
+        @Override
+        public boolean tryLock() {
+            final ReadHolds holds = readHolds.get();
+            if(holds.count == 0 && writer != Thread.currentThread()) {
+                final long stamp = delegate.tryReadLock();
+                if(stamp == 0L) return false;
+                holds.stamp = stamp;
+            }
+            holds.count++;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            final ReadHolds holds = readHolds.get();
+            if(holds.count == 0) throw new IllegalMonitorStateException();
+            if(--holds.count == 0) {
+                readHolds.remove();
+                if(holds.stamp != 0L) delegate.unlockRead(holds.stamp);
+            }
+        }
+    }
+
+    /**
+     * The exclusive lock. When the writer releases its last write hold
+     * while still holding read locks, it is atomically downgraded to a reader.
+     */
+    private final class WriteLock implements Lock {
+        @Override
+        public void lock() {
+            if(writer == Thread.currentThread()) {
+                writeHolds++;
+                return;
+            }
+            writeStamp = delegate.writeLock();
+            writer = Thread.currentThread();
+            writeHolds = 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            if(writer == Thread.currentThread()) {
+                writeHolds++;
+                return true;
+            }
+            final long stamp = delegate.tryWriteLock();
+            if(stamp == 0L) return false;
+            writeStamp = stamp;
+            writer = Thread.currentThread();
+            writeHolds = 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if(writer != Thread.currentThread()) throw new IllegalMonitorStateException();
+            if(--writeHolds > 0) return;
+
+            writer = null;
+            final ReadHolds holds = readHolds.get();
+            if(holds.count > 0) {
+                holds.stamp = delegate.tryConvertToReadLock(writeStamp);
+            } else {
+                readHolds.remove();
+                delegate.unlockWrite(writeStamp);
+            }
+            writeStamp = 0L;
+        }
+    }
+}
@@ -3,11 +3,14 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
+import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.event.ListEventPublisher;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests.SerializableListener;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests.UnserializableListener;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 import ca.odell.glazedlists.util.concurrent.LockFactory;
 import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
 
@@ -246,4 +249,87 @@ public class BasicEventListTest {
 
         assertEquals( Arrays.asList( "Two", "Three" ), list );
     }
+
+    /**
+     * Bulk changes are published as a single block, with the old value of
+     * each removed and replaced element.
+     */
+    @Test
+    public void testBulkChangesAreSingleBlocks() {
+        BasicEventList<String> list = new BasicEventList<>();
+        ListConsistencyListener<String> consistencyListener = ListConsistencyListener.install(list);
+        BlockCounter<String> blockCounter = new BlockCounter<>();
+        list.addListEventListener(blockCounter);
+
+        list.addAll(new String[] { "A", "B", "C", "D", "E", "F" });
+        assertEquals(1, blockCounter.blocks);
+        list.addAll(2, GlazedListsTests.stringToList("XYZ"));
+        assertEquals(GlazedListsTests.stringToList("ABXYZCDEF"), list);
+        assertEquals(2, blockCounter.blocks);
+
+        list.removeRange(1, 4);
+        assertEquals(GlazedListsTests.stringToList("AZCDEF"), list);
+        assertEquals(3, blockCounter.blocks);
+        list.removeRange(2, 2);
+        assertEquals(3, blockCounter.blocks);
+
+        list.setAll(2, GlazedListsTests.stringToList("PQR"));
+        assertEquals(GlazedListsTests.stringToList("AZPQRF"), list);
+        assertEquals(4, blockCounter.blocks);
+
+        list.removeIf(s -> "ZPR".contains(s));
+        assertEquals(GlazedListsTests.stringToList("AQF"), list);
+        assertEquals(6, blockCounter.blocks);
+
+        list.clear();
+        assertEquals(7, blockCounter.blocks);
+        assertEquals(6, consistencyListener.getEventCount());
+
+        try {
+            list.setAll(0, GlazedListsTests.stringToList("A"));
+            fail("setAll() beyond the end of the list");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            list.removeRange(0, 1);
+            fail("removeRange() beyond the end of the list");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Bulk changes that can't be recorded as linear blocks still report the
+     * old value of each element.
+     */
+    @Test
+    public void testBulkChangesInNestedEvents() {
+        BasicEventList<String> list = new BasicEventList<>();
+        list.addAll(GlazedListsTests.stringToList("ABCDEFGH"));
+        NestableEventsList<String> nested = new NestableEventsList<>(list);
+        ListConsistencyListener.install(nested);
+
+        nested.beginEvent(true);
+        list.remove(6);
+        list.setAll(3, GlazedListsTests.stringToList("XY"));
+        list.removeRange(0, 2);
+        list.removeIf(s -> s.equals("X") || s.equals("H"));
+        nested.commitEvent();
+        assertEquals(GlazedListsTests.stringToList("CYF"), nested);
+    }
+
+    /**
+     * Counts the blocks of the events from a list.
+     */
+    private static class BlockCounter<E> implements ListEventListener<E> {
+        private int blocks = 0;
+
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            while(listChanges.nextBlock()) {
+                blocks++;
+            }
+        }
+    }
 }
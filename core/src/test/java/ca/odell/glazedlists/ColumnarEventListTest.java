@@ -0,0 +1,214 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.TableFormat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link ColumnarEventList}.
+ */
+public class ColumnarEventListTest {
+
+    private static final String[] PROPERTIES = { "name", "quantity", "serial", "price" };
+
+    private final ColumnarEventList<Item> list = new ColumnarEventList<>(Item.class, PROPERTIES, PROPERTIES);
+
+    @Test
+    public void testColumns() {
+        list.add(new Item("apple", 3, 1000L, 0.5));
+        list.add(0, new Item("pear", 7, 1001L, 0.75));
+        list.addAll(1, Arrays.asList(new Item("plum", 1, 1002L, 0.25), new Item(null, 0, 0L, 0.0)));
+
+        assertEquals(4, list.size());
+        assertEquals(4, list.getColumnCount());
+        assertEquals("pear", list.getColumnValue(0, 0));
+        assertEquals("plum", list.getColumnValue(1, 0));
+        assertNull(list.getColumnValue(2, 0));
+        assertEquals(3, list.getInt(3, 1));
+        assertEquals(1002L, list.getLong(1, 2));
+        assertEquals(0.75, list.getDouble(0, 3), 0.0);
+        assertEquals(Integer.valueOf(7), list.getColumnValue(0, 1));
+
+        list.remove(2);
+        assertEquals(Arrays.asList(new Item("pear", 7, 1001L, 0.75), new Item("plum", 1, 1002L, 0.25), new Item("apple", 3, 1000L, 0.5)), list);
+
+        list.set(1, new Item("fig", 2, 1003L, 1.5));
+        list.setColumnValue(2, 1, Integer.valueOf(9));
+        assertEquals(new Item("fig", 2, 1003L, 1.5), list.get(1));
+        assertEquals(9, list.get(2).getQuantity());
+
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * A rejected null element leaves the list unchanged and usable.
+     */
+    @Test
+    public void testNullElementsRejected() {
+        list.add(new Item("apple", 3, 1000L, 0.5));
+        try {
+            list.add(null);
+            fail("failed to reject a null element");
+        } catch(NullPointerException e) {
+            // expected
+        }
+        assertEquals(1, list.size());
+
+        try {
+            list.set(0, null);
+            fail("failed to reject a null element");
+        } catch(NullPointerException e) {
+            // expected
+        }
+        assertEquals(new Item("apple", 3, 1000L, 0.5), list.get(0));
+
+        // no event was left open by the rejected changes
+        list.add(new Item("pear", 7, 1001L, 0.75));
+        list.set(0, new Item("fig", 2, 1003L, 1.5));
+        assertEquals(Arrays.asList(new Item("fig", 2, 1003L, 1.5), new Item("pear", 7, 1001L, 0.75)), list);
+    }
+
+    /**
+     * Rejected column values and failing getters leave the list unchanged
+     * and usable.
+     */
+    @Test
+    public void testBadValuesRejected() {
+        list.add(new Item("apple", 3, 1000L, 0.5));
+        Object[][] badValues = { { 4, "fig" }, { 1, null }, { 1, "seven" }, { 2, Integer.valueOf(7) }, { 0, Integer.valueOf(7) } };
+        for(int i = 0; i < badValues.length; i++) {
+            try {
+                list.setColumnValue(0, ((Integer)badValues[i][0]).intValue(), badValues[i][1]);
+                fail("failed to reject column value " + Arrays.toString(badValues[i]));
+            } catch(IndexOutOfBoundsException | NullPointerException | ClassCastException e) {
+                // expected
+            }
+        }
+        assertEquals(new Item("apple", 3, 1000L, 0.5), list.get(0));
+
+        try {
+            list.add(new BrokenItem());
+            fail("failed to propagate the getter's exception");
+        } catch(RuntimeException e) {
+            // expected
+        }
+        try {
+            list.set(0, new BrokenItem());
+            fail("failed to propagate the getter's exception");
+        } catch(RuntimeException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(new Item("apple", 3, 1000L, 0.5)), list);
+
+        // no event was left open by the rejected changes
+        list.setColumnValue(0, 1, Integer.valueOf(9));
+        list.add(new Item("pear", 7, 1001L, 0.75));
+        assertEquals(Arrays.asList(new Item("apple", 9, 1000L, 0.5), new Item("pear", 7, 1001L, 0.75)), list);
+    }
+
+    /**
+     * The list's TableFormat reads the same values as the column accessors.
+     */
+    @Test
+    public void testTableFormat() {
+        list.add(new Item("apple", 3, 1000L, 0.5));
+        TableFormat<Item> tableFormat = list.getTableFormat();
+        assertEquals(4, tableFormat.getColumnCount());
+        for(int c = 0; c < tableFormat.getColumnCount(); c++) {
+            assertEquals(list.getColumnValue(0, c), tableFormat.getColumnValue(list.get(0), c));
+        }
+    }
+
+    /**
+     * Events report materialized old values, and growth preserves every column.
+     */
+    @Test
+    public void testEvents() {
+        List<Item> deleted = new ArrayList<>();
+        list.addListEventListener(listChanges -> {
+            while(listChanges.next()) {
+                if(listChanges.getType() == ListEvent.DELETE) deleted.add(listChanges.getOldValue());
+            }
+        });
+
+        List<Item> control = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            Item item = new Item("item" + i, i, 2000L + i, i / 2.0);
+            list.add(i / 2, item);
+            control.add(i / 2, item);
+        }
+        assertEquals(control, list);
+
+        list.remove(10);
+        assertEquals(Arrays.asList(control.remove(10)), deleted);
+        assertEquals(control, list);
+
+        SortedList<Item> sorted = new SortedList<>(list, (a, b) -> Double.compare(b.getPrice(), a.getPrice()));
+        assertEquals(99, sorted.get(0).getQuantity());
+    }
+
+    public static class Item {
+        private String name;
+        private int quantity;
+        private long serial;
+        private double price;
+
+        public Item() { }
+
+        public Item(String name, int quantity, long serial, double price) {
+            this.name = name;
+            this.quantity = quantity;
+            this.serial = serial;
+            this.price = price;
+        }
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public int getQuantity() { return quantity; }
+        public void setQuantity(int quantity) { this.quantity = quantity; }
+        public long getSerial() { return serial; }
+        public void setSerial(long serial) { this.serial = serial; }
+        public double getPrice() { return price; }
+        public void setPrice(double price) { this.price = price; }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof Item)) return false;
+            Item item = (Item)other;
+            return (name == null ? item.name == null : name.equals(item.name))
+                && quantity == item.quantity && serial == item.serial && price == item.price;
+        }
+
+        @Override
+        public int hashCode() {
+            return quantity;
+        }
+
+        @Override
+        public String toString() {
+            return name + "/" + quantity + "/" + serial + "/" + price;
+        }
+    }
+
+    /**
+     * An item whose price can't be read.
+     */
+    public static class BrokenItem extends Item {
+        public BrokenItem() { super("broken", 1, 1L, 1.0); }
+        @Override
+        public double getPrice() { throw new IllegalStateException("no price"); }
+    }
+}
@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.impl.testing.AtLeastMatcherEditor;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
@@ -12,7 +14,10 @@ import ca.odell.glazedlists.matchers.MatcherEditor;
 import ca.odell.glazedlists.matchers.Matchers;
 import ca.odell.glazedlists.matchers.TextMatcherEditor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 
@@ -249,6 +254,55 @@ public class FilterListTest {
         editor.setFilterText(new String[] {"C"});
         assertEquals(0, counter.getCountAndReset());
     }
+
+    /**
+     * Tests that a parallel refilter produces exactly the same events as
+     * a serial refilter.
+     */
+    @Test
+    public void testParallelRefilter() {
+        final Random dice = new Random(8);
+        final EventList<Integer> original = new BasicEventList<>();
+        for (int i = 0; i < 20000; i++) {
+            original.add(Integer.valueOf(dice.nextInt(100)));
+        }
+
+        final AtLeastMatcherEditor editor = new AtLeastMatcherEditor();
+        final FilterList<Integer> serial = new FilterList<>(original, editor);
+        final FilterList<Integer> parallel = new FilterList<>(original, editor);
+        parallel.setParallelRefilter(ForkJoinPool.commonPool(), 0);
+
+        final ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(parallel);
+        listConsistencyListener.setPreviousElementTracked(true);
+        final EventStringRecorder<Integer> serialEvents = new EventStringRecorder<>();
+        serial.addListEventListener(serialEvents);
+        final EventStringRecorder<Integer> parallelEvents = new EventStringRecorder<>();
+        parallel.addListEventListener(parallelEvents);
+
+        // constrain, relax and change the filter
+        editor.setMinimum(50);
+        editor.setMinimum(75);
+        editor.setMinimum(20);
+        parallel.setMatcher(GlazedListsTests.matchAtLeast(60));
+        serial.setMatcher(GlazedListsTests.matchAtLeast(60));
+        original.add(0, Integer.valueOf(99));
+        original.remove(500);
+
+        assertEquals(Matchers.select(original, GlazedListsTests.matchAtLeast(60)), parallel);
+        assertEquals(serial, parallel);
+        assertEquals(serialEvents.events, parallelEvents.events);
+    }
+
+    /**
+     * Records the String form of each event received.
+     */
+    private static class EventStringRecorder<E> implements ListEventListener<E> {
+        private final List<String> events = new ArrayList<>();
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            events.add(listChanges.toString());
+        }
+    }
 }
 
 /**
@@ -5,6 +5,7 @@ package ca.odell.glazedlists;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import ca.odell.glazedlists.FunctionList.Function;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
@@ -13,9 +14,12 @@ import ca.odell.glazedlists.matchers.Matcher;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 public class GroupingListTest {
 
@@ -1159,6 +1163,148 @@ public class GroupingListTest {
         trigger.commitEvent();
     }
 
+    @Test
+    public void testAggregates() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.delimitedStringToList("b2 a10 b5 a1 c7"));
+        GroupingList<String> grouped = new GroupingList<>(source, (a, b) -> Character.compare(a.charAt(0), b.charAt(0)));
+        GroupAggregate<String, Object, Integer> count = GroupAggregate.count();
+        GroupAggregate<String, Number, Long> sum = GroupAggregate.sumLongs(value -> Long.valueOf(value.substring(1)));
+        GroupAggregate<String, Number, Double> mean = GroupAggregate.meanDoubles(value -> Double.valueOf(value.substring(1)));
+        GroupAggregate<String, Integer, Integer> max = GroupAggregate.max(value -> Integer.valueOf(value.substring(1)));
+        grouped.addAggregate(count);
+        grouped.addAggregate(sum);
+        grouped.addAggregate(mean);
+        grouped.addAggregate(max);
+
+        assertEquals(Integer.valueOf(2), grouped.getAggregate(0, count));
+        assertEquals(Long.valueOf(11), grouped.getAggregate(0, sum));
+        assertEquals(Double.valueOf(5.5), grouped.getAggregate(0, mean));
+        assertEquals(Integer.valueOf(10), grouped.getAggregate(0, max));
+        assertEquals(Long.valueOf(7), grouped.getAggregate(1, sum));
+
+        // removing the largest value finds the next largest
+        source.remove("a10");
+        assertEquals(Integer.valueOf(1), grouped.getAggregate(0, max));
+        assertEquals(Integer.valueOf(1), grouped.getAggregate(0, count));
+
+        // an update that moves an element to another group
+        source.set(source.indexOf("b5"), "c3");
+        assertEquals(Long.valueOf(2), grouped.getAggregate(1, sum));
+        assertEquals(Long.valueOf(10), grouped.getAggregate(2, sum));
+        assertEquals(Integer.valueOf(7), grouped.getAggregate(2, max));
+
+        grouped.removeAggregate(sum);
+        assertEquals(Integer.valueOf(2), grouped.getAggregate(2, count));
+        try {
+            grouped.getAggregate(2, sum);
+            fail();
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Compare the aggregates to those computed from scratch after many random
+     * changes, including events that merge and split groups.
+     */
+    @Test
+    public void testAggregatesRandomChanges() {
+        final Random dice = new Random(13);
+        TransactionList<String> source = new TransactionList<>(new BasicEventList<String>());
+        GroupingList<String> grouped = new GroupingList<>(source, (a, b) -> Character.compare(a.charAt(0), b.charAt(0)));
+        GroupAggregate<String, Object, Integer> count = GroupAggregate.count();
+        GroupAggregate<String, Number, Long> sum = GroupAggregate.sumLongs(value -> Long.valueOf(value.substring(1)));
+        GroupAggregate<String, Integer, Integer> min = GroupAggregate.min(value -> Integer.valueOf(value.substring(1)));
+        grouped.addAggregate(count);
+        grouped.addAggregate(sum);
+        grouped.addAggregate(min);
+
+        for(int i = 0; i < 400; i++) {
+            source.beginEvent();
+            for(int j = dice.nextInt(4); j >= 0; j--) {
+                final String value = "" + (char)('a' + dice.nextInt(5)) + dice.nextInt(20);
+                final int operation = dice.nextInt(3);
+                if(operation == 0 || source.isEmpty()) source.add(dice.nextInt(source.size() + 1), value);
+                else if(operation == 1) source.remove(dice.nextInt(source.size()));
+                else source.set(dice.nextInt(source.size()), value);
+            }
+            source.commitEvent();
+
+            // a different grouping rebuilds the aggregates
+            if(i == 200) grouped.setComparator((a, b) -> Character.compare(a.charAt(0), b.charAt(0)));
+
+            for(int g = 0; g < grouped.size(); g++) {
+                long expectedSum = 0;
+                int expectedMin = Integer.MAX_VALUE;
+                for(String value : grouped.get(g)) {
+                    expectedSum += Long.parseLong(value.substring(1));
+                    expectedMin = Math.min(expectedMin, Integer.parseInt(value.substring(1)));
+                }
+                assertEquals(Integer.valueOf(grouped.get(g).size()), grouped.getAggregate(g, count));
+                assertEquals(Long.valueOf(expectedSum), grouped.getAggregate(g, sum));
+                assertEquals(Integer.valueOf(expectedMin), grouped.getAggregate(g, min));
+            }
+        }
+    }
+
+    /**
+     * An update followed by deletes of the updated element's duplicates, as
+     * fired in a single event by {@link GlazedLists#replaceAll}.
+     */
+    @Test
+    public void testUpdateThenDeleteDuplicatesInOneEvent() {
+        EventList<Integer> source = GlazedLists.eventList(Arrays.asList(13, 15, 16, 10, 3, 6));
+        GroupingList<Integer> groupList = new GroupingList<>(source, (a, b) -> Integer.compare(a.intValue() % 5, b.intValue() % 5));
+        ListConsistencyListener<List<Integer>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        GlazedLists.replaceAll(source, Arrays.asList(15, 13, 10), false);
+        assertEquals(Arrays.asList(Arrays.asList(15, 10), Arrays.asList(13)), groupList);
+        source.set(1, 10);
+        assertEquals(Arrays.asList(Arrays.asList(15, 10, 10)), groupList);
+
+        // U0 X1 X1 on the only group
+        GlazedLists.replaceAll(source, Arrays.asList(15), true);
+        assertEquals(Arrays.asList(Arrays.asList(15)), groupList);
+    }
+
+    /**
+     * Random snapshots applied with {@link GlazedLists#replaceAll}, each as a
+     * single event.
+     */
+    @Test
+    public void testReplaceAllInOneEvent() {
+        Random dice = new Random(24);
+        Comparator<Integer> byRemainder = (a, b) -> Integer.compare(a.intValue() % 5, b.intValue() % 5);
+        for(int i = 0; i < 500; i++) {
+            EventList<Integer> source = GlazedLists.eventList(randomIntegers(dice));
+            GroupingList<Integer> groupList = new GroupingList<>(source, byRemainder);
+            ListConsistencyListener<List<Integer>> listConsistencyListener = ListConsistencyListener.install(groupList);
+            listConsistencyListener.setPreviousElementTracked(false);
+
+            for(int j = 0; j < 5; j++) {
+                List<Integer> snapshot = randomIntegers(dice);
+                GlazedLists.replaceAll(source, snapshot, dice.nextBoolean());
+
+                // each group holds the elements with one remainder, in sorted order
+                List<Integer> expected = new ArrayList<>(snapshot);
+                Collections.sort(expected, byRemainder);
+                List<Integer> actual = new ArrayList<>();
+                for(List<Integer> group : groupList) {
+                    for(Integer element : group) assertEquals(group.get(0).intValue() % 5, element.intValue() % 5);
+                    actual.addAll(group);
+                }
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static List<Integer> randomIntegers(Random dice) {
+        List<Integer> result = new ArrayList<>();
+        for(int i = dice.nextInt(8); i > 0; i--) result.add(new Integer(dice.nextInt(20)));
+        return result;
+    }
+
     class Element {
         private final State state;
 
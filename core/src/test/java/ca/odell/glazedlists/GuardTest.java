@@ -1,6 +1,7 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.util.concurrent.StampedLockFactory;
 
 import org.junit.Test;
 
@@ -70,4 +71,32 @@ public class GuardTest {
         assertEquals(2, sum);
     }
 
+    @Test
+    public void testApplyWithOptimisticRead() {
+        // the default locks don't support optimistic reads, so this falls back to the read lock
+        EventList<String> source = new BasicEventList<>();
+        source.addAll(GlazedListsTests.stringToList("ABC"));
+        assertEquals("B", source.applyWithOptimisticRead(list -> list.get(1)));
+
+        EventList<String> stamped = new BasicEventList<>(new StampedLockFactory().createReadWriteLock());
+        stamped.addAll(GlazedListsTests.stringToList("ABC"));
+        assertEquals(Integer.valueOf(3), Guard.applyWithOptimisticRead(stamped, list -> list.size()));
+
+        // a write during the optimistic read forces a retry under the read lock
+        int[] calls = new int[1];
+        String value = Guard.applyWithOptimisticRead(stamped, list -> {
+            if (calls[0]++ == 0) {
+                Thread writer = new Thread(() -> stamped.acceptWithWriteLock(l -> l.set(0, "Z")));
+                writer.start();
+                try {
+                    writer.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return list.get(0);
+        });
+        assertEquals("Z", value);
+        assertEquals(2, calls[0]);
+    }
 }
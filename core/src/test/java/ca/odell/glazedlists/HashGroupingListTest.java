@@ -0,0 +1,146 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class HashGroupingListTest {
+
+    @Test
+    public void testConstruct() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("CABACBA"));
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedListsTests.stringToList("CC"), groupList.get(0));
+        assertEquals(GlazedListsTests.stringToList("AAA"), groupList.get(1));
+        assertEquals(GlazedListsTests.stringToList("BB"), groupList.get(2));
+        assertEquals(1, groupList.indexOfGroup("A"));
+        assertEquals(-1, groupList.indexOfGroup("D"));
+    }
+
+    @Test
+    public void testChanges() {
+        EventList<String> source = new BasicEventList<>();
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+        ListConsistencyListener<List<String>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        source.addAll(GlazedListsTests.stringToList("BAB"));
+        assertEquals(GlazedListsTests.stringToList("BB"), groupList.get(0));
+        assertEquals(GlazedListsTests.stringToList("A"), groupList.get(1));
+
+        // a new group is created after the existing groups
+        source.add(0, "C");
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedListsTests.stringToList("C"), groupList.get(2));
+
+        // moving the only A to another group deletes its group
+        source.set(2, "C");
+        assertEquals(2, groupList.size());
+        assertEquals(GlazedListsTests.stringToList("BB"), groupList.get(0));
+        assertEquals(GlazedListsTests.stringToList("CC"), groupList.get(1));
+
+        source.clear();
+        assertEquals(0, groupList.size());
+    }
+
+    @Test
+    public void testKeyFunction() {
+        EventList<String> source = GlazedLists.eventListOf("apple", "Banana", "avocado", "blueberry", "cherry");
+        HashGroupingList<String> groupList = new HashGroupingList<>(source, value -> Character.toLowerCase(value.charAt(0)));
+
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedLists.eventListOf("apple", "avocado"), groupList.get(0));
+        assertEquals(GlazedLists.eventListOf("Banana", "blueberry"), groupList.get(1));
+        assertEquals(Character.valueOf('b'), groupList.getKey(1));
+        assertEquals(1, groupList.indexOfKey(Character.valueOf('b')));
+        assertEquals(1, groupList.indexOfGroup("berry"));
+    }
+
+    @Test
+    public void testWriteThroughGroups() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("ABACB"));
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+        ListConsistencyListener<List<String>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        List<String> groupB = groupList.get(1);
+        groupB.add("B");
+        assertEquals(GlazedListsTests.stringToList("ABACBB"), source);
+        groupB.add(0, "B");
+        assertEquals(GlazedListsTests.stringToList("ABBACBB"), source);
+
+        groupList.get(0).clear();
+        assertEquals(GlazedListsTests.stringToList("BBCBB"), source);
+        assertEquals(2, groupList.size());
+        assertEquals(1, listConsistencyListener.getChangeCount(listConsistencyListener.getEventCount() - 1));
+
+        // the group is empty once deleted
+        groupList.remove(0);
+        assertEquals(GlazedListsTests.stringToList("C"), source);
+        assertEquals(0, groupB.size());
+
+        groupList.add(GlazedListsTests.stringToList("DC"));
+        assertEquals(GlazedListsTests.stringToList("CDC"), source);
+        assertEquals(GlazedListsTests.stringToList("CC"), groupList.get(0));
+    }
+
+    /**
+     * Compare the groups to those computed from scratch after each of many
+     * random changes, including multi-change events.
+     */
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(7);
+        EventList<Integer> source = new BasicEventList<>();
+        HashGroupingList<Integer> groupList = new HashGroupingList<>(source, value -> value % 10);
+        ListConsistencyListener<List<Integer>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for(int i = 0; i < 500; i++) {
+            final int operation = dice.nextInt(5);
+            if(operation == 0 || source.isEmpty()) {
+                source.add(dice.nextInt(source.size() + 1), dice.nextInt(100));
+            } else if(operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else if(operation == 2) {
+                source.set(dice.nextInt(source.size()), dice.nextInt(100));
+            } else if(operation == 3) {
+                final List<Integer> values = new ArrayList<>();
+                for(int j = dice.nextInt(5); j >= 0; j--) values.add(dice.nextInt(100));
+                source.addAll(dice.nextInt(source.size() + 1), values);
+            } else {
+                final int start = dice.nextInt(source.size());
+                source.subList(start, Math.min(source.size(), start + dice.nextInt(4))).clear();
+            }
+            assertGroups(source, groupList);
+        }
+    }
+
+    private static void assertGroups(List<Integer> source, HashGroupingList<Integer> groupList) {
+        final Map<Integer, List<Integer>> expected = new LinkedHashMap<>();
+        for(Integer value : source) {
+            expected.computeIfAbsent(value % 10, key -> new ArrayList<>()).add(value);
+        }
+        assertEquals(expected.size(), groupList.size());
+        for(List<Integer> group : expected.values()) {
+            final int index = groupList.indexOfGroup(group.get(0));
+            assertTrue(index != -1);
+            assertEquals(group, groupList.get(index));
+        }
+    }
+}
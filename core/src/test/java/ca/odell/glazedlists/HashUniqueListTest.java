@@ -0,0 +1,100 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import static org.junit.Assert.assertEquals;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+public class HashUniqueListTest {
+
+    @Test
+    public void testConstruct() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("ACABCDC"));
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+
+        assertEquals(GlazedListsTests.stringToList("ACBD"), unique);
+        assertEquals(3, unique.getCount("C"));
+        assertEquals(0, unique.getCount("E"));
+        assertEquals(GlazedListsTests.stringToList("AA"), unique.getAll(0));
+        assertEquals(Collections.emptyList(), unique.getAll("E"));
+        assertEquals(2, unique.indexOf("B"));
+    }
+
+    @Test
+    public void testChanges() {
+        EventList<String> source = new BasicEventList<>();
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        source.addAll(GlazedListsTests.stringToList("BAB"));
+        assertEquals(GlazedListsTests.stringToList("BA"), unique);
+
+        // removing the first duplicate changes the representative element
+        source.remove(0);
+        assertEquals(GlazedListsTests.stringToList("BA"), unique);
+        assertEquals(1, unique.getCount("B"));
+
+        source.set(1, "C");
+        assertEquals(GlazedListsTests.stringToList("AC"), unique);
+    }
+
+    @Test
+    public void testWrites() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("ABACBA"));
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        assertEquals("A", unique.remove(0));
+        assertEquals(GlazedListsTests.stringToList("BCB"), source);
+
+        assertEquals("B", unique.set(0, "D"));
+        assertEquals(GlazedListsTests.stringToList("DC"), source);
+        // groups are in the order they were created, not source order
+        assertEquals(GlazedListsTests.stringToList("CD"), unique);
+
+        unique.add("E");
+        assertEquals(GlazedListsTests.stringToList("DCE"), source);
+    }
+
+    @Test
+    public void testKeyFunction() {
+        EventList<String> source = GlazedLists.eventListOf("apple", "Banana", "avocado", "blueberry");
+        HashUniqueList<String> unique = new HashUniqueList<>(source, value -> Character.toLowerCase(value.charAt(0)));
+
+        assertEquals(GlazedLists.eventListOf("apple", "Banana"), unique);
+        assertEquals(1, unique.indexOf("berry"));
+        assertEquals(0, unique.indexOfKey(Character.valueOf('a')));
+    }
+
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(11);
+        EventList<Integer> source = new BasicEventList<>();
+        HashUniqueList<Integer> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        for(int i = 0; i < 500; i++) {
+            final int operation = dice.nextInt(3);
+            if(operation == 0 || source.isEmpty()) {
+                source.add(dice.nextInt(source.size() + 1), dice.nextInt(20));
+            } else if(operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), dice.nextInt(20));
+            }
+            assertEquals(new LinkedHashSet<>(source).size(), unique.size());
+            for(int j = 0; j < unique.size(); j++) {
+                assertEquals(Collections.frequency(source, unique.get(j)), unique.getCount(j));
+            }
+        }
+    }
+}
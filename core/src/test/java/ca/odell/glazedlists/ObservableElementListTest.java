@@ -3,6 +3,7 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.beans.BeanConnector;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 import ca.odell.glazedlists.matchers.Matcher;
@@ -17,6 +18,7 @@ import java.util.EventListener;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import javax.swing.JLabel;
@@ -331,6 +333,112 @@ public class ObservableElementListTest {
         assertEquals(false, connector.isExitDueToException());
     }
 
+    /**
+     * Changing an element updates every index where it is found, while
+     * the list is changed around it.
+     */
+    @Test
+    public void testElementChangedAtEveryIndex() {
+        final Random dice = new Random(21);
+        final JLabel[] pool = new JLabel[5];
+        final EventList<JLabel> source = new BasicEventList<>();
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new JLabel();
+            source.add(pool[i]);
+            source.add(pool[i]);
+        }
+
+        final ObservableElementList<JLabel> list = new ObservableElementList<>(source, GlazedLists.beanConnector(JLabel.class));
+        ListConsistencyListener.install(list);
+        final List<Integer> updatedIndices = new ArrayList<>();
+        list.addListEventListener(listChanges -> {
+            while (listChanges.next()) {
+                if (listChanges.getType() == ListEvent.UPDATE) updatedIndices.add(listChanges.getIndex());
+            }
+        });
+
+        for (int i = 0; i < 200; i++) {
+            final int operation = dice.nextInt(3);
+            final JLabel label = pool[dice.nextInt(pool.length)];
+            if (operation == 0 || source.isEmpty()) source.add(dice.nextInt(source.size() + 1), label);
+            else if (operation == 1) source.remove(dice.nextInt(source.size()));
+            else source.set(dice.nextInt(source.size()), label);
+
+            final JLabel changed = pool[dice.nextInt(pool.length)];
+            final List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < list.size(); j++) {
+                if (list.get(j) == changed) expected.add(j);
+            }
+            updatedIndices.clear();
+            list.elementChanged(changed);
+            assertEquals(expected, updatedIndices);
+        }
+    }
+
+    /**
+     * Batched changes are published together by each flush, with a single
+     * update for an element that changed many times.
+     */
+    @Test
+    public void testBatching() {
+        final JLabel first = new JLabel();
+        final JLabel second = new JLabel();
+        labels.add(first);
+        labels.add(second);
+        labels.add(first);
+        final List<Runnable> scheduled = new ArrayList<>();
+        labels.enableBatching(scheduled::add, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 20; i++)
+            first.setText("Text " + i);
+        second.setText("Changed");
+        assertEquals(3, counter.getEventCount());
+        assertEquals(1, scheduled.size());
+
+        scheduled.remove(0).run();
+        assertEquals(4, counter.getEventCount());
+        assertEquals(3, counter.getChangeCount(3));
+
+        // nothing is pending, so the flush fires nothing
+        labels.flush();
+        assertEquals(4, counter.getEventCount());
+
+        // an explicit flush
+        second.setText("Explicit");
+        assertEquals(1, scheduled.size());
+        labels.flush();
+        assertEquals(5, counter.getEventCount());
+        assertEquals(1, counter.getChangeCount(4));
+        scheduled.remove(0).run();
+        assertEquals(5, counter.getEventCount());
+
+        // removed elements aren't updated
+        first.setText("Removed");
+        labels.remove(second);
+        second.setText("Removed");
+        scheduled.remove(0).run();
+        assertEquals(7, counter.getEventCount());
+        assertEquals(2, counter.getChangeCount(6));
+
+        // a flush as soon as two elements have changed
+        labels.enableBatching(null, 2);
+        first.setText("Counted");
+        first.setText("Counted again");
+        assertEquals(7, counter.getEventCount());
+        labels.add(second);
+        second.setText("Counted");
+        assertEquals(9, counter.getEventCount());
+        assertEquals(3, counter.getChangeCount(8));
+        assertEquals(0, scheduled.size());
+
+        // disabling flushes the pending changes
+        first.setText("Pending");
+        labels.disableBatching();
+        assertEquals(10, counter.getEventCount());
+        second.setText("Immediate");
+        assertEquals(11, counter.getEventCount());
+    }
+
     @Test
     public void testGenerics() {
         // should be able to use an EventList<JLabel> and a Connector<Component>, for example
@@ -0,0 +1,169 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link EventList}s that store primitive values, {@link IntEventList},
+ * {@link LongEventList} and {@link DoubleEventList}.
+ */
+public class PrimitiveEventListTest {
+
+    private final Random random = new Random(11);
+
+    /**
+     * Random edits through the {@link List} interface and the primitive
+     * accessors must match an {@link ArrayList} and fire consistent events.
+     */
+    @Test
+    public void testRandomEdits() {
+        DoubleEventList list = new DoubleEventList(0);
+        List<Double> replayed = replay(list);
+        List<Double> control = new ArrayList<>();
+
+        for(int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(6);
+            double value = random.nextInt(100) / 4.0;
+            if(operation == 0 || control.isEmpty()) {
+                int index = random.nextInt(control.size() + 1);
+                list.addDouble(index, value);
+                control.add(index, value);
+            } else if(operation == 1) {
+                list.add(Double.valueOf(value));
+                control.add(value);
+            } else if(operation == 2) {
+                int index = random.nextInt(control.size());
+                assertEquals(control.remove(index), list.remove(index));
+            } else if(operation == 3) {
+                int index = random.nextInt(control.size());
+                assertEquals(control.set(index, value).doubleValue(), list.setDouble(index, value), 0.0);
+            } else if(operation == 4) {
+                int from = random.nextInt(control.size());
+                int to = from + random.nextInt(Math.min(5, control.size() - from) + 1);
+                list.removeRange(from, to);
+                control.subList(from, to).clear();
+            } else {
+                int index = random.nextInt(control.size() + 1);
+                double[] values = { value, value + 1, value + 2 };
+                list.addDoubles(index, values, 1, 2);
+                control.addAll(index, Arrays.asList(value + 1, value + 2));
+            }
+            assertEquals(control, list);
+            assertEquals(control, replayed);
+        }
+
+        double[] expected = new double[control.size()];
+        for(int i = 0; i < expected.length; i++) {
+            expected[i] = control.get(i);
+            assertEquals(expected[i], list.getDouble(i), 0.0);
+        }
+        assertArrayEquals(expected, list.toDoubleArray(), 0.0);
+    }
+
+    /**
+     * Bulk inserts produce a single block, and deletes report their old values.
+     */
+    @Test
+    public void testEvents() {
+        LongEventList list = new LongEventList();
+        List<String> events = new ArrayList<>();
+        list.addListEventListener(listChanges -> {
+            StringBuilder result = new StringBuilder();
+            while(listChanges.nextBlock()) {
+                result.append(listChanges.getType()).append(':')
+                    .append(listChanges.getBlockStartIndex()).append('-')
+                    .append(listChanges.getBlockEndIndex()).append(' ');
+            }
+            events.add(result.toString().trim());
+        });
+
+        list.addLongs(new long[] { 1, 2, 3, 4, 5 });
+        assertEquals("2:0-4", events.get(0));
+
+        List<Long> deleted = new ArrayList<>();
+        list.addListEventListener(listChanges -> {
+            while(listChanges.next()) {
+                if(listChanges.getType() == ListEvent.DELETE) deleted.add(listChanges.getOldValue());
+            }
+        });
+        list.removeRange(1, 3);
+        assertEquals(2, events.size());
+        assertEquals(Arrays.asList(2L, 3L), deleted);
+        assertEquals(Arrays.asList(1L, 4L, 5L), list);
+    }
+
+    /**
+     * Primitive lists feed the rest of the pipeline like any other list.
+     */
+    @Test
+    public void testPipeline() {
+        IntEventList list = new IntEventList();
+        SortedList<Integer> sorted = SortedList.create(list);
+        FilterList<Integer> filtered = new FilterList<>(sorted, value -> value.intValue() % 2 == 0);
+        List<Integer> replayed = replay(filtered);
+
+        list.addInts(new int[] { 5, 8, 2, 7, 4 });
+        assertEquals(Arrays.asList(2, 4, 8), filtered);
+        list.setInt(0, 6);
+        list.remove(1);
+        assertEquals(Arrays.asList(2, 4, 6), filtered);
+        assertEquals(filtered, replayed);
+        list.clear();
+        assertTrue(filtered.isEmpty());
+        assertTrue(replayed.isEmpty());
+    }
+
+    @Test
+    public void testNullsRejected() {
+        DoubleEventList list = new DoubleEventList();
+        list.addDouble(1.0);
+        try {
+            list.add(null);
+            fail();
+        } catch(NullPointerException e) {
+            // expected
+        }
+        try {
+            list.addAll(Arrays.asList(2.0, null));
+            fail();
+        } catch(NullPointerException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(1.0), list);
+        assertFalse(list.contains(null));
+        assertEquals(0, list.indexOf(Double.valueOf(1.0)));
+    }
+
+    /**
+     * Get a copy of the specified list that is kept up to date by applying the
+     * list's events. This compares elements with {@link Object#equals}, since
+     * primitive lists box their values each time they're read.
+     */
+    private static <E> List<E> replay(final EventList<E> source) {
+        final List<E> result = new ArrayList<>(source);
+        source.addListEventListener(listChanges -> {
+            while(listChanges.next()) {
+                int index = listChanges.getIndex();
+                if(listChanges.getType() == ListEvent.INSERT) result.add(index, source.get(index));
+                else if(listChanges.getType() == ListEvent.UPDATE) result.set(index, source.get(index));
+                else assertEquals(result.remove(index), listChanges.getOldValue());
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link SnapshotListener}.
+ */
+public class SnapshotListenerTest {
+
+    /** for randomly choosing list indices */
+    private Random random = new Random(7);
+
+    @Test
+    public void testSnapshotsAreImmutable() {
+        EventList<String> source = GlazedLists.eventListOf("A", "B", "C");
+        SnapshotListener<String> snapshots = GlazedLists.syncEventListToSnapshot(source);
+
+        List<String> first = snapshots.getSnapshot();
+        assertEquals(GlazedListsTests.stringToList("ABC"), first);
+
+        source.add(1, "D");
+        source.remove("C");
+        source.set(0, "E");
+
+        assertEquals(GlazedListsTests.stringToList("ABC"), first);
+        assertEquals(GlazedListsTests.stringToList("EDB"), snapshots.getSnapshot());
+        assertEquals(source, snapshots.getSnapshot());
+    }
+
+    @Test
+    public void testSnapshotsFollowChanges() {
+        EventList<Integer> source = new BasicEventList<>();
+        SortedList<Integer> sorted = SortedList.create(source);
+        SnapshotListener<Integer> snapshots = GlazedLists.syncEventListToSnapshot(sorted);
+
+        for(int i = 0; i < 2000; i++) {
+            int operation = random.nextInt(4);
+            int index = source.isEmpty() ? 0 : random.nextInt(source.size());
+
+            if(operation <= 1 || source.isEmpty()) {
+                source.add(index, Integer.valueOf(random.nextInt(100)));
+            } else if(operation == 2) {
+                source.remove(index);
+            } else {
+                source.set(index, Integer.valueOf(random.nextInt(100)));
+            }
+            assertEquals(sorted, snapshots.getSnapshot());
+        }
+
+        // big changes and reorderings
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 500; i++) values.add(Integer.valueOf(random.nextInt(100)));
+        source.addAll(values);
+        assertEquals(sorted, snapshots.getSnapshot());
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(sorted, snapshots.getSnapshot());
+        source.clear();
+        assertEquals(0, snapshots.getSnapshot().size());
+    }
+
+    @Test
+    public void testDispose() {
+        EventList<String> source = GlazedLists.eventListOf("A", "B", "C");
+        SnapshotListener<String> snapshots = GlazedLists.syncEventListToSnapshot(source);
+
+        snapshots.dispose();
+        source.add("D");
+        assertEquals(GlazedListsTests.stringToList("ABC"), snapshots.getSnapshot());
+    }
+}
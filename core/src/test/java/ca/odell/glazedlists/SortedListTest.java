@@ -266,6 +266,98 @@ public class SortedListTest {
         assertEquals(controlList, sortedList);
     }
 
+    /**
+     * Test that changing the comparator gives the same order and the same
+     * reorder event when the sort is performed in parallel.
+     */
+    @Test
+    public void testParallelSetComparator() {
+        for(int i = 0; i < 20000; i++) {
+            unsortedList.add(new Integer(random.nextInt(1000)));
+        }
+        SortedList<Comparable> parallelSortedList = SortedList.create(unsortedList);
+        parallelSortedList.setParallelSortThreshold(0);
+
+        ListConsistencyListener<Comparable> listConsistencyListener = ListConsistencyListener.install(parallelSortedList);
+        final List<int[]> serialReorders = new ArrayList<>();
+        final List<int[]> parallelReorders = new ArrayList<>();
+        sortedList.addListEventListener(listChanges -> serialReorders.add(listChanges.getReorderMap()));
+        parallelSortedList.addListEventListener(listChanges -> parallelReorders.add(listChanges.getReorderMap()));
+
+        Comparator<Comparable> reverse = GlazedLists.reverseComparator();
+        sortedList.setComparator(reverse);
+        parallelSortedList.setComparator(reverse);
+        sortedList.setComparator(null);
+        parallelSortedList.setComparator(null);
+
+        assertEquals(unsortedList, parallelSortedList);
+        assertEquals(2, parallelReorders.size());
+        assertEquals(serialReorders.size(), parallelReorders.size());
+        for(int i = 0; i < serialReorders.size(); i++) {
+            assertTrue(Arrays.equals(serialReorders.get(i), parallelReorders.get(i)));
+        }
+        assertEquals(2, listConsistencyListener.getEventCount());
+    }
+
+    /**
+     * Test that large blocks of inserts, which are merged into the sorted
+     * tree in a batch, are sorted and fired correctly.
+     */
+    @Test
+    public void testBatchInserts() {
+        ListConsistencyListener<Comparable> listConsistencyListener = ListConsistencyListener.install(sortedList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for(int round = 0; round < 5; round++) {
+            List<Comparable> inserted = new ArrayList<>();
+            for(int i = 0; i < 500; i++) {
+                inserted.add(new Integer(random.nextInt(300)));
+            }
+            unsortedList.addAll(random.nextInt(unsortedList.size() + 1), inserted);
+            assertEquals(inserted.size(), listConsistencyListener.getChangeCount(listConsistencyListener.getEventCount() - 1));
+
+            List<Comparable> controlList = new ArrayList<>(unsortedList);
+            Collections.sort(controlList);
+            assertEquals(controlList, sortedList);
+        }
+
+        // in a list without a comparator, inserts keep their source order
+        sortedList.setComparator(null);
+        unsortedList.addAll(10, GlazedListsTests.intArrayToIntegerCollection(new int[100]));
+        assertEquals(unsortedList, sortedList);
+    }
+
+    /**
+     * Test that batch inserts don't move elements that are out of sort
+     * order when sort order is not enforced.
+     */
+    @Test
+    public void testBatchInsertsSortNotEnforced() {
+        sortedList.setMode(SortedList.AVOID_MOVING_ELEMENTS);
+        ListConsistencyListener<Comparable> listConsistencyListener = ListConsistencyListener.install(sortedList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        unsortedList.addAll(GlazedListsTests.stringToList("ACEGIKMOQSUWY"));
+        unsortedList.set(3, "Z");
+        unsortedList.set(9, "B");
+        assertEquals(GlazedListsTests.stringToList("ACEZIKMOQBUWY"), sortedList);
+
+        List<Comparable> inserted = new ArrayList<>();
+        for(int i = 0; i < 64; i++) {
+            inserted.add(i % 2 == 0 ? "D" : "T");
+        }
+        unsortedList.addAll(inserted);
+
+        // the unsorted elements Z and B haven't moved, and the inserted elements
+        // are placed relative to the sorted elements that follow them
+        List<Comparable> expected = new ArrayList<>(GlazedListsTests.stringToList("AC"));
+        expected.addAll(Collections.nCopies(32, "D"));
+        expected.addAll(GlazedListsTests.stringToList("EZIKMOQ"));
+        expected.addAll(Collections.nCopies(32, "T"));
+        expected.addAll(GlazedListsTests.stringToList("BUWY"));
+        assertEquals(expected, sortedList);
+    }
+
     /**
      * Test to verify that the SortedList is working correctly when the
      * list is changing by adds, removes and deletes.
@@ -0,0 +1,121 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link InMemoryListEventMetrics} and the hooks that report to
+ * {@link ListEventMetrics}.
+ */
+public class InMemoryListEventMetricsTest {
+
+    private final EventList<Integer> source = new BasicEventList<>();
+    private final FilterList<Integer> filtered = new FilterList<>(source, value -> value.intValue() >= 0);
+    private final SortedList<Integer> sorted = new SortedList<>(filtered, GlazedLists.comparableComparator());
+    private final InMemoryListEventMetrics metrics = new InMemoryListEventMetrics();
+
+    @Test
+    public void testDefaultIsNone() {
+        assertSame(ListEventMetrics.NONE, new BasicEventList<String>().getPublisher().getListEventMetrics());
+    }
+
+    /**
+     * Each list reports the shape of its events, and each listener its depth
+     * in the pipeline.
+     */
+    @Test
+    public void testPipeline() {
+        source.getPublisher().setListEventMetrics(metrics);
+        source.addAll(Arrays.asList(5, -1, 3, 8));
+        source.add(-2);
+        source.set(0, 6);
+
+        final InMemoryListEventMetrics.ListStatistics sourceStatistics = find(metrics.getLists(), source);
+        assertEquals(3, sourceStatistics.getEvents());
+        assertEquals(6, sourceStatistics.getChanges());
+        assertTrue(sourceStatistics.getBlocks() >= 3 && sourceStatistics.getBlocks() <= 6);
+        assertEquals(4, sourceStatistics.getMaxChanges());
+        assertEquals(0, sourceStatistics.getReorderings());
+
+        // the filter drops the negative value, so fires only two events
+        assertEquals(2, find(metrics.getLists(), filtered).getEvents());
+
+        final List<InMemoryListEventMetrics.ListenerStatistics> listeners = metrics.getListeners();
+        final InMemoryListEventMetrics.ListenerStatistics filterListener = find(listeners, source, filtered);
+        assertEquals(3, filterListener.getNotifications());
+        assertEquals(0, filterListener.getMaxDepth());
+        assertTrue(filterListener.getTotalNanos() >= filterListener.getMaxNanos());
+        assertEquals(1, find(listeners, filtered, sorted).getMaxDepth());
+        for(int i = 1; i < listeners.size(); i++) {
+            assertTrue(listeners.get(i - 1).getTotalNanos() >= listeners.get(i).getTotalNanos());
+        }
+
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(1, find(metrics.getLists(), sorted).getReorderings());
+
+        metrics.reset();
+        assertTrue(metrics.getLists().isEmpty());
+        assertTrue(metrics.getListeners().isEmpty());
+
+        source.getPublisher().setListEventMetrics(ListEventMetrics.NONE);
+        source.add(7);
+        assertTrue(metrics.getLists().isEmpty());
+    }
+
+    /**
+     * The metrics can be read over JMX.
+     */
+    @Test
+    public void testMXBean() throws Exception {
+        source.getPublisher().setListEventMetrics(metrics);
+        source.add(1);
+
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("ca.odell.glazedlists:type=ListEventMetrics");
+        server.registerMBean(metrics, name);
+        final CompositeData[] lists = (CompositeData[])server.getAttribute(name, "Lists");
+        assertEquals(3, lists.length);
+        final CompositeData[] listeners = (CompositeData[])server.getAttribute(name, "Listeners");
+        assertEquals(Long.valueOf(1), listeners[0].get("notifications"));
+        assertNotNull(listeners[0].get("listener"));
+
+        server.invoke(name, "reset", null, null);
+        assertEquals(0, ((CompositeData[])server.getAttribute(name, "Lists")).length);
+    }
+
+    private static InMemoryListEventMetrics.ListStatistics find(List<InMemoryListEventMetrics.ListStatistics> lists, Object list) {
+        for(InMemoryListEventMetrics.ListStatistics statistics : lists) {
+            if(statistics.getName().endsWith("@" + Integer.toHexString(System.identityHashCode(list)))) return statistics;
+        }
+        throw new AssertionError("No statistics for " + list.getClass());
+    }
+
+    private static InMemoryListEventMetrics.ListenerStatistics find(List<InMemoryListEventMetrics.ListenerStatistics> listeners, Object subject, Object listener) {
+        for(InMemoryListEventMetrics.ListenerStatistics statistics : listeners) {
+            if(statistics.getSubject().endsWith("@" + Integer.toHexString(System.identityHashCode(subject)))
+                    && statistics.getListener().endsWith("@" + Integer.toHexString(System.identityHashCode(listener)))) return statistics;
+        }
+        throw new AssertionError("No statistics for " + listener.getClass());
+    }
+}
@@ -165,6 +165,47 @@ public class ListBlocksLinearTest {
         assertEquals(false, iterator.hasNextBlock());
     }
 
+    /**
+     * Test the sequence and its iterator can be reused after they are reset,
+     * including after an event too large for its storage to be retained.
+     */
+    @Test
+    public void testReuseAfterReset() {
+        BlockSequence listBlocks = new BlockSequence();
+        listBlocks.insert(0, 2);
+        listBlocks.update(4, 6);
+
+        BlockSequence.Iterator iterator = listBlocks.iterator();
+        assertNextBlock(0, 2, ListEvent.INSERT, iterator);
+        assertNextBlock(4, 6, ListEvent.UPDATE, iterator);
+        assertEquals(false, iterator.hasNextBlock());
+
+        listBlocks.reset();
+        assertEquals(true, listBlocks.isEmpty());
+        listBlocks.reserve(3);
+        listBlocks.delete(1, 3);
+        iterator.reset();
+        assertNext(1, ListEvent.DELETE, iterator);
+        assertNext(1, ListEvent.DELETE, iterator);
+        assertEquals(false, iterator.hasNext());
+
+        listBlocks.reset();
+        for(int i = 0; i < 5000; i++) {
+            listBlocks.update(i * 2, i * 2 + 1);
+        }
+        iterator.reset();
+        for(int i = 0; i < 5000; i++) {
+            assertNextBlock(i * 2, i * 2 + 1, ListEvent.UPDATE, iterator);
+        }
+        assertEquals(false, iterator.hasNextBlock());
+
+        listBlocks.reset();
+        listBlocks.insert(3, 4);
+        iterator.reset();
+        assertNextBlock(3, 4, ListEvent.INSERT, iterator);
+        assertEquals(false, iterator.hasNextBlock());
+    }
+
     public static final void assertNext(int index, int type, BlockSequence.Iterator iterator) {
         assertEquals(true, iterator.hasNext());
         assertEquals(true, iterator.next());
@@ -0,0 +1,99 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that events with many changes are marked as structural resets.
+ */
+public class StructuralResetTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final ResetRecorder recorder = new ResetRecorder();
+        source.addListEventListener(recorder);
+
+        assertEquals(Integer.MAX_VALUE, source.getPublisher().getStructuralResetThreshold());
+        source.addAll(Collections.nCopies(1000, 1));
+        assertEquals(Collections.singletonList(Boolean.FALSE), recorder.resets);
+    }
+
+    @Test
+    public void testPublisherThreshold() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final FilterList<Integer> filtered = new FilterList<>(source);
+        final ResetRecorder recorder = new ResetRecorder();
+        filtered.addListEventListener(recorder);
+        source.getPublisher().setStructuralResetThreshold(10);
+
+        source.addAll(Collections.nCopies(9, 1));
+        source.addAll(Collections.nCopies(10, 2));
+        source.add(3);
+        assertEquals(3, recorder.resets.size());
+        assertFalse(recorder.resets.get(0).booleanValue());
+        assertTrue(recorder.resets.get(1).booleanValue());
+        assertFalse(recorder.resets.get(2).booleanValue());
+
+        // the blocks are still detailed
+        assertEquals(10, recorder.changes.get(1).intValue());
+
+        // refiltering marks the downstream event too
+        filtered.setMatcher(value -> value.intValue() != 2);
+        assertTrue(recorder.resets.get(3).booleanValue());
+    }
+
+    @Test
+    public void testAssemblerThreshold() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.getPublisher().setStructuralResetThreshold(100);
+        final ListEventAssembler<Integer> updates = new ListEventAssembler<>(source, source.getPublisher());
+        final ResetRecorder recorder = new ResetRecorder();
+        updates.addListEventListener(recorder);
+
+        updates.setStructuralResetThreshold(3);
+        assertEquals(3, updates.getStructuralResetThreshold());
+        updates.beginEvent();
+        updates.addInsert(0, 2);
+        updates.commitEvent();
+        assertTrue(recorder.resets.get(0).booleanValue());
+
+        // fall back to the publisher's threshold
+        updates.setStructuralResetThreshold(-1);
+        assertEquals(100, updates.getStructuralResetThreshold());
+        updates.beginEvent();
+        updates.addInsert(0, 2);
+        updates.commitEvent();
+        assertFalse(recorder.resets.get(1).booleanValue());
+    }
+
+    /**
+     * Records whether each event is a structural reset, and its number of changes.
+     */
+    private static class ResetRecorder implements ListEventListener<Integer> {
+        private final List<Boolean> resets = new ArrayList<>();
+        private final List<Integer> changes = new ArrayList<>();
+
+        @Override
+        public void listChanged(ListEvent<Integer> listChanges) {
+            resets.add(Boolean.valueOf(listChanges.isStructuralReset()));
+            int count = 0;
+            while(listChanges.next()) count++;
+            changes.add(Integer.valueOf(count));
+        }
+    }
+}
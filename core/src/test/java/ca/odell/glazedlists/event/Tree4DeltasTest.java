@@ -71,6 +71,33 @@ public class Tree4DeltasTest {
         assertEquals("__+++++_______", deltas.toString());
     }
 
+    /**
+     * Resetting deltas without changes resizes them, and resetting deltas
+     * with changes discards the changes.
+     */
+    @Test
+    public void testReset() {
+        Tree4Deltas<Object> deltas = new Tree4Deltas<>();
+        deltas.reset(10);
+        deltas.reset(4);
+        assertEquals("____", deltas.toString());
+        deltas.reset(7);
+        assertEquals("_______", deltas.toString());
+        deltas.reset(0);
+        assertEquals("", deltas.toString());
+        deltas.reset(3);
+        assertEquals("___", deltas.toString());
+
+        deltas.targetInsert(1, 3, null);
+        deltas.targetDelete(0, 1, null);
+        assertEquals("X++__", deltas.toString());
+        deltas.reset(4);
+        assertEquals("____", deltas.toString());
+        assertEquals(true, deltas.isEmpty());
+        assertEquals(4, deltas.sourceSize());
+        assertEquals(4, deltas.targetSize());
+    }
+
     @Test
     public void testTargetValues() {
         Tree4Deltas<String> deltas = new Tree4Deltas<>();
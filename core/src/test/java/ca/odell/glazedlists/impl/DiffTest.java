@@ -6,12 +6,15 @@ package ca.odell.glazedlists.impl;
 // for being a JUnit test case
 import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
 import ca.odell.glazedlists.GlazedLists;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventListener;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -58,7 +61,160 @@ public class DiffTest {
     }
 
     /**
-     * Counts the number of changes to change target to source.
+     * Tests that random edits are found and applied correctly, as blocks of
+     * a single event.
+     */
+    @Test
+    public void testRandomEdits() {
+        Random dice = new Random(24);
+        for(int i = 0; i < 200; i++) {
+            List<Integer> target = new ArrayList<>();
+            for(int j = dice.nextInt(60); j > 0; j--) target.add(new Integer(dice.nextInt(5)));
+            List<Integer> source = new ArrayList<>(target);
+            for(int j = dice.nextInt(10); j > 0; j--) {
+                int edit = dice.nextInt(3);
+                if(edit == 0 || source.isEmpty()) source.add(dice.nextInt(source.size() + 1), new Integer(dice.nextInt(5)));
+                else if(edit == 1) source.remove(dice.nextInt(source.size()));
+                else source.set(dice.nextInt(source.size()), new Integer(dice.nextInt(5)));
+            }
+
+            EventList<Integer> targetList = GlazedLists.eventList(target);
+            ListEventCounter<Integer> counter = new ListEventCounter<>();
+            targetList.addListEventListener(counter);
+
+            // with updates, every element is changed in a single event
+            GlazedLists.replaceAll(targetList, source, true);
+            assertEquals(source, targetList);
+            assertEquals(target.isEmpty() && source.isEmpty() ? 0 : 1, counter.getEventCount());
+
+            // the number of inserts and deletes is minimal
+            targetList.removeListEventListener(counter);
+            counter = new ListEventCounter<>();
+            targetList.addListEventListener(counter);
+            GlazedLists.replaceAll(targetList, target, false);
+            assertEquals(target, targetList);
+            assertEquals(target.size() + source.size() - 2 * lcsLength(target, source), counter.getTotalChangeCount());
+        }
+    }
+
+    /**
+     * Tests that a few changes between long lists are applied as a single
+     * block each.
+     */
+    @Test
+    public void testBlocks() {
+        List<Integer> target = new ArrayList<>();
+        for(int i = 0; i < 10000; i++) target.add(new Integer(i));
+        List<Integer> source = new ArrayList<>(target);
+        source.subList(100, 200).clear();
+        source.addAll(5000, target.subList(0, 50));
+
+        EventList<Integer> targetList = GlazedLists.eventList(target);
+        List<Integer> blocks = new ArrayList<>();
+        targetList.addListEventListener(listChanges -> {
+            while(listChanges.nextBlock()) {
+                blocks.add(new Integer(listChanges.getType()));
+                blocks.add(new Integer(listChanges.getBlockStartIndex()));
+                blocks.add(new Integer(listChanges.getBlockEndIndex()));
+            }
+        });
+        GlazedLists.replaceAll(targetList, source, false);
+
+        assertEquals(source, targetList);
+        assertEquals(Arrays.asList(new Integer[] {
+                new Integer(ListEvent.DELETE), new Integer(100), new Integer(199),
+                new Integer(ListEvent.INSERT), new Integer(5000), new Integer(5049) }), blocks);
+    }
+
+    /**
+     * Tests that elements are matched by key, and only updated where they
+     * have changed.
+     */
+    @Test
+    public void testReplaceAllByKey() {
+        // elements are "key:version"
+        FunctionList.Function<String, String> key = element -> element.substring(0, element.indexOf(':'));
+        EventList<String> target = GlazedLists.eventListOf("a:1", "b:1", "c:1", "d:1", "e:1");
+        List<String> changes = new ArrayList<>();
+        target.addListEventListener(listChanges -> {
+            while(listChanges.nextBlock()) {
+                changes.add(listChanges.getType() + "@" + listChanges.getBlockStartIndex() + "-" + listChanges.getBlockEndIndex());
+            }
+        });
+
+        List<String> source = Arrays.asList("a:1", "c:2", "d:2", "e:1", "f:1");
+        GlazedLists.replaceAllByKey(target, source, key);
+        assertEquals(source, target);
+        assertEquals(Arrays.asList(ListEvent.DELETE + "@1-1", ListEvent.UPDATE + "@1-2", ListEvent.INSERT + "@4-4"), changes);
+
+        // a changed predicate that only looks at the key never updates
+        changes.clear();
+        GlazedLists.replaceAllByKey(target, Arrays.asList("a:2", "c:3", "d:3", "e:2", "f:2"), key, (oldElement, newElement) -> false);
+        assertEquals(source, target);
+        assertEquals(Collections.emptyList(), changes);
+
+        // reordered elements are moved
+        changes.clear();
+        source = Arrays.asList("f:1", "a:1", "c:2", "d:2", "e:1");
+        GlazedLists.replaceAllByKey(target, source, key);
+        assertEquals(source, target);
+        assertEquals(Arrays.asList(ListEvent.INSERT + "@0-0", ListEvent.DELETE + "@5-5"), changes);
+
+        try {
+            GlazedLists.replaceAllByKey(target, Arrays.asList("a:1", "a:2"), key);
+            fail("failed to reject duplicate keys");
+        } catch(IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests that random snapshots are applied correctly by key.
+     */
+    @Test
+    public void testReplaceAllByKeyRandom() {
+        Random dice = new Random(25);
+        for(int i = 0; i < 200; i++) {
+            List<Integer> keys = new ArrayList<>();
+            for(int k = 0; k < 30; k++) keys.add(new Integer(k));
+            Collections.shuffle(keys, dice);
+            List<int[]> target = new ArrayList<>();
+            for(Integer k : keys.subList(0, dice.nextInt(30))) target.add(new int[] { k.intValue(), 0 });
+            Collections.shuffle(keys, dice);
+            List<int[]> source = new ArrayList<>();
+            for(Integer k : keys.subList(0, dice.nextInt(30))) source.add(new int[] { k.intValue(), dice.nextInt(2) });
+
+            EventList<int[]> targetList = GlazedLists.eventList(target);
+            ListEventCounter<int[]> counter = new ListEventCounter<>();
+            targetList.addListEventListener(counter);
+            GlazedLists.replaceAllByKey(targetList, source, element -> new Integer(element[0]), (oldElement, newElement) -> oldElement[1] != newElement[1]);
+
+            assertEquals(source.size(), targetList.size());
+            for(int e = 0; e < source.size(); e++) {
+                assertEquals(source.get(e)[0], targetList.get(e)[0]);
+                assertEquals(source.get(e)[1], targetList.get(e)[1]);
+            }
+            assertTrue(counter.getEventCount() <= 1);
+        }
+    }
+
+    /**
+     * Length of the longest common subsequence, by dynamic programming.
+     */
+    private static int lcsLength(List a, List b) {
+        int[][] lengths = new int[a.size() + 1][b.size() + 1];
+        for(int i = a.size() - 1; i >= 0; i--) {
+            for(int j = b.size() - 1; j >= 0; j--) {
+                if(a.get(i).equals(b.get(j))) lengths[i][j] = lengths[i + 1][j + 1] + 1;
+                else lengths[i][j] = Math.max(lengths[i + 1][j], lengths[i][j + 1]);
+            }
+        }
+        return lengths[0][0];
+    }
+
+    /**
+     * Counts the number of changes to change target to source, which must
+     * be fired as a single event.
      */
     private int getChangeCount(EventList targetList, List sourceList, boolean updates, Comparator comparator) {
         ListEventCounter counter = new ListEventCounter();
@@ -67,7 +223,8 @@ public class DiffTest {
         if(comparator != null) GlazedLists.replaceAll(targetList, sourceList, false, comparator);
         else GlazedLists.replaceAll(targetList, sourceList, false);
 
-        return counter.getEventCount();
+        assertTrue(counter.getEventCount() <= 1);
+        return counter.getTotalChangeCount();
     }
 
     /**
@@ -289,6 +446,15 @@ public class DiffTest {
             return changeCounts.size();
         }
 
+        /**
+         * Gets the number of changes in all events thus far.
+         */
+        public int getTotalChangeCount() {
+            int result = 0;
+            for(Integer changeCount : changeCounts) result += changeCount.intValue();
+            return result;
+        }
+
         /**
          * Gets the number of changes for the specified event.
          */
@@ -0,0 +1,92 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.adt;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link PersistentList}.
+ */
+public class PersistentListTest {
+
+    /** for randomly choosing list indices */
+    private Random random = new Random(4);
+
+    /**
+     * Tests that a long series of changes gives the same results as an
+     * {@link ArrayList}, and that each change leaves the original list intact.
+     */
+    @Test
+    public void testListOperations() {
+        PersistentList<Integer> list = PersistentList.empty();
+        List<Integer> controlList = new ArrayList<>();
+
+        for(int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(3);
+            Integer value = Integer.valueOf(random.nextInt(100));
+            PersistentList<Integer> previous = list;
+            List<Integer> previousControlList = new ArrayList<>(controlList);
+
+            if(operation == 0 || controlList.isEmpty()) {
+                int index = random.nextInt(controlList.size() + 1);
+                list = list.insert(index, value);
+                controlList.add(index, value);
+            } else if(operation == 1) {
+                int index = random.nextInt(controlList.size());
+                list = list.delete(index);
+                controlList.remove(index);
+            } else {
+                int index = random.nextInt(controlList.size());
+                list = list.replace(index, value);
+                controlList.set(index, value);
+            }
+
+            assertEquals(previousControlList, previous);
+            assertEquals(controlList.size(), list.size());
+        }
+
+        assertEquals(controlList, list);
+        assertEquals(controlList, new ArrayList<>(list));
+    }
+
+    @Test
+    public void testOf() {
+        for(int size = 0; size < 40; size++) {
+            List<Integer> controlList = new ArrayList<>();
+            for(int i = 0; i < size; i++) controlList.add(Integer.valueOf(i));
+
+            PersistentList<Integer> list = PersistentList.of(controlList.toArray());
+            assertEquals(controlList, list);
+            for(int i = 0; i < size; i++) {
+                assertEquals(controlList.get(i), list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testImmutable() {
+        PersistentList<String> list = PersistentList.of(GlazedListsTests.stringToList("ABC").toArray());
+        try {
+            list.add("D");
+            fail();
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+        try {
+            list.iterator().remove();
+            fail();
+        } catch(UnsupportedOperationException e) {
+            // expected
+        }
+        assertEquals(GlazedListsTests.stringToList("ABC"), list);
+    }
+}
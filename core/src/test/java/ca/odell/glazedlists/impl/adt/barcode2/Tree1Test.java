@@ -7,6 +7,7 @@ import ca.odell.glazedlists.GlazedLists;
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -241,4 +242,27 @@ public class Tree1Test {
         assertEquals(-1, tree.indexOfValue("F", false, false, (byte)1));
         assertEquals(6, tree.indexOfValue("F", true, true, (byte)1));
     }
+
+    /**
+     * Tests that a tree built in bulk is balanced and holds its values in order.
+     */
+    @Test
+    public void testAddAllInOrder() {
+        for(int size = 0; size < 70; size++) {
+            String[] values = new String[size];
+            for(int i = 0; i < size; i++) {
+                values[i] = "value" + i;
+            }
+
+            SimpleTree<String> tree = new SimpleTree<>();
+            tree.addAllInOrder(allColors, values);
+            assertEquals(Arrays.asList(values), new SimpleTreeAsList<>(tree));
+
+            // the tree must still support inserts and removes
+            tree.add(size / 2, "inserted", 1);
+            assertEquals("inserted", tree.get(size / 2).get());
+            tree.remove(size / 2, 1);
+            assertEquals(size, tree.size());
+        }
+    }
 }
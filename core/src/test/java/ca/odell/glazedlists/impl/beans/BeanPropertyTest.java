@@ -4,12 +4,15 @@
 package ca.odell.glazedlists.impl.beans;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
 import java.awt.Color;
+import java.lang.reflect.Field;
+import java.lang.reflect.UndeclaredThrowableException;
 
 /**
  * This test verifies that the BeanProperty works as expected.
@@ -170,6 +173,101 @@ public class BeanPropertyTest {
 
         assertSame(passenger, automobilePassengers.get(cattleCar));
     }
+
+    /**
+     * Tests that properties with the same methods share their accessors, so
+     * that classes are generated once per method rather than per property.
+     */
+    @Test
+    public void testAccessorsAreReused() throws Exception {
+        final BeanProperty<Truck> first = new BeanProperty<>(Truck.class, "towedVehicle.color", true, true);
+        final BeanProperty<Truck> second = new BeanProperty<>(Truck.class, "towedVehicle.color", true, true);
+        final BeanProperty<Truck> towedVehicle = new BeanProperty<>(Truck.class, "towedVehicle", true, true);
+
+        final Object[] firstGetters = invokers(first, "getterInvokers");
+        final Object[] secondGetters = invokers(second, "getterInvokers");
+        assertEquals(2, firstGetters.length);
+        assertSame(firstGetters[0], secondGetters[0]);
+        assertSame(firstGetters[1], secondGetters[1]);
+        assertSame(firstGetters[0], invokers(towedVehicle, "getterInvokers")[0]);
+        assertSame(invokers(first, "setterInvokers")[1], invokers(second, "setterInvokers")[1]);
+    }
+
+    private static Object[] invokers(BeanProperty<?> property, String field) throws Exception {
+        final Field invokers = BeanProperty.class.getDeclaredField(field);
+        invokers.setAccessible(true);
+        return (Object[]) invokers.get(property);
+    }
+
+    /**
+     * Tests that accessors report failures as reflection does, whether they
+     * are called through a generated class or not.
+     */
+    @Test
+    public void testAccessorExceptions() {
+        final BeanProperty<Thermostat> temperature = new BeanProperty<>(Thermostat.class, "temperature", true, true);
+        final Thermostat thermostat = new Thermostat();
+        assertEquals(new Integer(0), temperature.set(thermostat, new Integer(20)));
+        assertEquals(new Integer(20), temperature.get(thermostat));
+
+        try {
+            temperature.set(thermostat, "warm");
+            fail("failed to reject an argument of the wrong type");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Thermostat.setTemperature(int) cannot be called with an instance of String", e.getMessage());
+        }
+        try {
+            temperature.set(thermostat, null);
+            fail("failed to reject null for a primitive argument");
+        } catch (RuntimeException e) {
+            // expected
+        }
+
+        thermostat.setBroken(true);
+        try {
+            temperature.get(thermostat);
+            fail("failed to report an exception thrown by the getter");
+        } catch (UndeclaredThrowableException e) {
+            assertEquals("broken", e.getCause().getMessage());
+        }
+        try {
+            temperature.set(thermostat, new Integer(30));
+            fail("failed to report an exception thrown by the setter");
+        } catch (UndeclaredThrowableException e) {
+            assertEquals("broken", e.getCause().getMessage());
+        }
+
+        // a navigated property through a void setter and a null intermediate
+        final BeanProperty<Truck> towedColor = new BeanProperty<>(Truck.class, "towedVehicle.color", true, true);
+        final Truck truck = new Truck(2);
+        assertNull(towedColor.get(truck));
+        assertNull(towedColor.set(truck, Color.RED));
+        truck.setTowedVehicle(new Automobile(true));
+        assertNull(towedColor.set(truck, Color.RED));
+        assertEquals(Color.RED, towedColor.get(truck));
+    }
+}
+
+/**
+ * A bean whose setter returns the previous value, and whose accessors throw
+ * once it is broken.
+ */
+class Thermostat {
+    private int temperature;
+    private boolean broken;
+    public int getTemperature() {
+        if(broken) throw new IllegalStateException("broken");
+        return temperature;
+    }
+    public int setTemperature(int temperature) {
+        if(broken) throw new IllegalStateException("broken");
+        final int previous = this.temperature;
+        this.temperature = temperature;
+        return previous;
+    }
+    public void setBroken(boolean broken) {
+        this.broken = broken;
+    }
 }
 
 /**
@@ -0,0 +1,88 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.gui;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ThreadProxyEventListTest {
+
+    @Test
+    public void testPrecomputedCache() {
+        runRandomChanges(true);
+    }
+
+    @Test
+    public void testAppliedCache() {
+        runRandomChanges(false);
+    }
+
+    /**
+     * Make bursts of random changes, and verify that the proxy is unchanged
+     * until the proxy thread runs, and then matches the source.
+     */
+    private void runRandomChanges(boolean precomputeCache) {
+        final Random dice = new Random(7);
+        final EventList<Integer> source = new BasicEventList<>();
+        final SortedList<Integer> sorted = SortedList.create(source);
+        final ManualThreadProxyEventList<Integer> proxy = new ManualThreadProxyEventList<>(sorted, precomputeCache);
+        final ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(proxy);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for(int burst = 0; burst < 100; burst++) {
+            final List<Integer> before = new ArrayList<>(proxy);
+            for(int i = dice.nextInt(20); i >= 0; i--) {
+                final int operation = dice.nextInt(5);
+                if(operation == 0 || source.isEmpty()) source.add(dice.nextInt(source.size() + 1), new Integer(dice.nextInt(100)));
+                else if(operation == 1) source.remove(dice.nextInt(source.size()));
+                else if(operation == 2) source.set(dice.nextInt(source.size()), new Integer(dice.nextInt(100)));
+                else if(operation == 3) source.addAll(randomNumbers(dice, dice.nextInt(40)));
+                else sorted.setMode(sorted.getMode() == SortedList.STRICT_SORT_ORDER ? SortedList.AVOID_MOVING_ELEMENTS : SortedList.STRICT_SORT_ORDER);
+            }
+            if(dice.nextInt(10) == 0) sorted.setComparator(dice.nextBoolean() ? null : GlazedLists.reverseComparator());
+
+            assertEquals(before, proxy);
+            proxy.runScheduled();
+            assertEquals(sorted, proxy);
+        }
+    }
+
+    private static List<Integer> randomNumbers(Random dice, int count) {
+        final List<Integer> result = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) result.add(new Integer(dice.nextInt(100)));
+        return result;
+    }
+
+    /**
+     * A proxy whose proxy thread runs only when told to.
+     */
+    private static class ManualThreadProxyEventList<E> extends ThreadProxyEventList<E> {
+        private final List<Runnable> scheduled = new ArrayList<>();
+
+        ManualThreadProxyEventList(EventList<E> source, boolean precomputeCache) {
+            super(source, precomputeCache);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            scheduled.add(runnable);
+        }
+
+        void runScheduled() {
+            for(Runnable runnable : scheduled) runnable.run();
+            scheduled.clear();
+        }
+    }
+}
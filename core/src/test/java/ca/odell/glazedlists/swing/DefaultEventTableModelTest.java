@@ -9,6 +9,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
 import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.ColumnarEventList;
+import ca.odell.glazedlists.ColumnarEventListTest.Item;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.ExecuteOnNonUiThread;
 import ca.odell.glazedlists.FilterList;
@@ -430,6 +432,28 @@ public class DefaultEventTableModelTest extends SwingTestCase {
     }
 
 
+    /**
+     * Verifies that cells of a {@link ColumnarEventList} are read from its columns.
+     */
+    @Test
+    public void testColumnarEventList() {
+        final String[] properties = {"name", "quantity"};
+        final ColumnarEventList<Item> list = new ColumnarEventList<>(Item.class, properties, properties);
+        list.add(new Item("apple", 3, 1000L, 0.5));
+        list.add(new Item("pear", 7, 1001L, 0.75));
+
+        final DefaultEventTableModel<Item> model = new DefaultEventTableModel<>(list, list.getTableFormat());
+        assertEquals(2, model.getRowCount());
+        assertEquals("pear", model.getValueAt(1, 0));
+        assertEquals(Integer.valueOf(3), model.getValueAt(0, 1));
+
+        // other formats still read from the materialized row
+        model.setTableFormat(GlazedLists.tableFormat(new String[] {"price"}, new String[] {"Price"}));
+        assertEquals(Double.valueOf(0.0), model.getValueAt(0, 0));
+        list.setColumnValue(0, 1, Integer.valueOf(4));
+        assertEquals(4, model.getElementAt(0).getQuantity());
+    }
+
     /**
      * Tests that a table selection is correctly reflected when the user presses UP- and DOWN-arrow
      * keys while the table is in sorted state.
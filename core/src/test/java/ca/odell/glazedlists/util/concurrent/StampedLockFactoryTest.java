@@ -0,0 +1,118 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the locks created by {@link StampedLockFactory}.
+ */
+public class StampedLockFactoryTest {
+
+    private final ReadWriteLock lock = new StampedLockFactory().createReadWriteLock();
+
+    /**
+     * Both locks are reentrant, and the writer may also read.
+     */
+    @Test
+    public void testReentrance() {
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        lock.writeLock().unlock();
+
+        lock.readLock().lock();
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+
+        assertTrue(lock.writeLock().tryLock());
+        lock.writeLock().unlock();
+    }
+
+    /**
+     * Releasing the write lock while still reading leaves only the read lock held.
+     */
+    @Test
+    public void testDowngrade() throws InterruptedException {
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+
+        assertFalse(tryLockOnOtherThread(lock.writeLock()));
+        assertTrue(tryLockOnOtherThread(lock.readLock()));
+
+        lock.readLock().unlock();
+        assertTrue(tryLockOnOtherThread(lock.writeLock()));
+    }
+
+    /**
+     * Optimistic reads are invalidated by writes, but not by reads.
+     */
+    @Test
+    public void testOptimisticRead() {
+        long stamp = lock.tryOptimisticRead();
+        assertTrue(lock.validate(stamp));
+
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        assertTrue(lock.validate(stamp));
+
+        lock.writeLock().lock();
+        assertEquals(0L, lock.tryOptimisticRead());
+        lock.writeLock().unlock();
+        assertFalse(lock.validate(stamp));
+        assertFalse(lock.validate(0L));
+    }
+
+    /**
+     * The default locks never validate optimistic reads.
+     */
+    @Test
+    public void testDefaultLockHasNoOptimisticReads() {
+        ReadWriteLock defaultLock = LockFactory.DEFAULT.createReadWriteLock();
+        assertFalse(defaultLock.validate(defaultLock.tryOptimisticRead()));
+    }
+
+    /**
+     * Lists read themselves while the write lock is held, which requires the
+     * writer to be able to acquire the read lock.
+     */
+    @Test
+    public void testPipeline() {
+        EventList<String> source = new BasicEventList<>(lock);
+        SortedList<String> sorted = SortedList.create(source);
+        source.addAll(GlazedListsTests.stringToList("DCBA"));
+        assertEquals(GlazedListsTests.stringToList("ABCD"), sorted);
+        assertEquals("A", sorted.applyWithOptimisticRead(list -> list.get(0)));
+    }
+
+    private static boolean tryLockOnOtherThread(final Lock lock) throws InterruptedException {
+        final AtomicBoolean acquired = new AtomicBoolean();
+        Thread thread = new Thread(() -> {
+            if(lock.tryLock()) {
+                acquired.set(true);
+                lock.unlock();
+            }
+        });
+        thread.start();
+        thread.join();
+        return acquired.get();
+    }
+}
@@ -23,6 +23,16 @@ import java.util.List;
  *   <li>{@link #updated} updates the value of this Calculation to include the replacement element and exclude the prior element</li>
  * </ul>
  *
+ * <p>By default a copy of the backing EventList is kept to retrieve the
+ * deleted and replaced elements. Calculations constructed with
+ * <code>snapshotFree</code> set to <tt>true</tt> take those elements from
+ * {@link ListEvent#getOldValue()} instead, and ignore reorderings since they
+ * don't change which elements are in the list. If the backing EventList
+ * reports {@link ListEvent#UNKNOWN_VALUE} for a deleted or replaced element,
+ * the Calculation is recalculated from scratch and falls back to keeping a
+ * copy from then on. Subclasses that keep state besides their value must
+ * override {@link #clear()} to support this.
+ *
  * @author James Lemieux
  */
 public abstract class AbstractEventListCalculation<N, E> extends AbstractCalculation<N> implements ListEventListener<E> {
@@ -30,8 +40,14 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
     /** the List of elements from which this calculation is derived */
     private final EventList<E> source;
 
-    /** a snapshot of the {@link #source} after the last ListEvent; used to retrieve deleted elements */
-    private final List<E> snapshot;
+    /** the value of this Calculation when there are no elements */
+    private final N initialValue;
+
+    /**
+     * a snapshot of the {@link #source} after the last ListEvent; used to retrieve
+     * deleted elements, or <tt>null</tt> if they are retrieved from the ListEvents
+     */
+    private List<E> snapshot;
 
     /**
      * @param initialValue the value that should immediately be reported as the
@@ -39,14 +55,26 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
      * @param source the List of elements from which this calculation is derived
      */
     protected AbstractEventListCalculation(N initialValue, EventList<E> source) {
+        this(initialValue, source, false);
+    }
+
+    /**
+     * @param initialValue the value that should immediately be reported as the
+     *      value of this Calculation
+     * @param source the List of elements from which this calculation is derived
+     * @param snapshotFree <tt>true</tt> to retrieve deleted elements from the
+     *      ListEvents rather than from a copy of the <code>source</code>
+     */
+    protected AbstractEventListCalculation(N initialValue, EventList<E> source, boolean snapshotFree) {
         super(initialValue);
 
+        this.initialValue = initialValue;
         this.source = source;
-        this.snapshot = new ArrayList<>(source);
+        this.snapshot = snapshotFree ? null : new ArrayList<>(source);
 
         // compute the first value of this Calculation by simulating the entry
         // of all existing elements
-        for (E element : this.snapshot)
+        for (E element : source)
             inserted(element);
 
         // begin listening to the source for changes
@@ -70,6 +98,15 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
         this.source.removeListEventListener(this);
     }
 
+    /**
+     * Resets this Calculation to its value when there are no elements, before
+     * it is recalculated from all elements. Subclasses that keep state besides
+     * their value must override this method to discard that state too.
+     */
+    protected void clear() {
+        setValue(initialValue);
+    }
+
     /**
      * Updates the value of this Calculation to include the information from
      * the <code>newElement</code>.
@@ -109,7 +146,18 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
 
         final List<E> source = listChanges.getSourceList();
 
-        if (listChanges.isReordering()) {
+        if (snapshot == null) {
+            // a reordering doesn't change which elements are in the list
+            if (!listChanges.isReordering() && !applyOldValues(listChanges)) {
+                // the source didn't report a deleted element, so recalculate
+                // from scratch and keep a snapshot from now on
+                snapshot = new ArrayList<>(source);
+                clear();
+                for (E element : snapshot)
+                    inserted(element);
+            }
+
+        } else if (listChanges.isReordering()) {
             final int[] reorderMap = listChanges.getReorderMap();
             for (int i = 0; i < reorderMap.length; i++) {
                 final int oldIndex = reorderMap[i];
@@ -155,4 +203,42 @@ public abstract class AbstractEventListCalculation<N, E> extends AbstractCalcula
         final N newValue = getValue();
         fireValueChange(oldValue, newValue);
     }
+
+    /**
+     * Updates the value of this Calculation in response to the
+     * <code>listChanges</code>, using the deleted and replaced elements that
+     * they report.
+     *
+     * @return <tt>false</tt> if an element wasn't reported, in which case the
+     *      value of this Calculation is no longer consistent with the source
+     */
+    private boolean applyOldValues(ListEvent<E> listChanges) {
+        final List<E> source = listChanges.getSourceList();
+
+        while (listChanges.next()) {
+            final int index = listChanges.getIndex();
+
+            switch (listChanges.getType()) {
+                case ListEvent.INSERT: {
+                    inserted(source.get(index));
+                    break;
+                }
+
+                case ListEvent.DELETE: {
+                    final E oldElement = listChanges.getOldValue();
+                    if (oldElement == ListEvent.UNKNOWN_VALUE) return false;
+                    deleted(oldElement);
+                    break;
+                }
+
+                case ListEvent.UPDATE: {
+                    final E oldElement = listChanges.getOldValue();
+                    if (oldElement == ListEvent.UNKNOWN_VALUE) return false;
+                    updated(oldElement, source.get(index));
+                    break;
+                }
+            }
+        }
+        return true;
+    }
 }
\ No newline at end of file
@@ -4,8 +4,12 @@
 package ca.odell.glazedlists.calculation;
 
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.GlazedLists;
 import ca.odell.glazedlists.matchers.Matcher;
 
+import java.util.Comparator;
+
 public final class Calculations {
 
     private Calculations() {}
@@ -84,6 +88,56 @@ public final class Calculations {
     /** A Calculation that reports the mean average of all the <code>numbers</code> as a Double. */
     public static Calculation<Double> meanDoubles(EventList<? extends Number> numbers) { return divideDoubles(sumDoubles(numbers), count(numbers)); }
 
+    //
+    // Order Statistics
+    //
+
+    /** A Calculation that reports the smallest of the <code>elements</code>, or <tt>null</tt> if there are none. */
+    public static <E extends Comparable<? super E>> Calculation<E> min(EventList<E> elements) { return min(elements, GlazedLists.<E>comparableComparator()); }
+
+    /** A Calculation that reports the smallest of the <code>elements</code> according to the given <code>comparator</code>, or <tt>null</tt> if there are none. */
+    public static <E> Calculation<E> min(EventList<E> elements, Comparator<? super E> comparator) { return new OrderStatistic.Extreme<>(elements, comparator, false); }
+
+    /** A Calculation that reports the largest of the <code>elements</code>, or <tt>null</tt> if there are none. */
+    public static <E extends Comparable<? super E>> Calculation<E> max(EventList<E> elements) { return max(elements, GlazedLists.<E>comparableComparator()); }
+
+    /** A Calculation that reports the largest of the <code>elements</code> according to the given <code>comparator</code>, or <tt>null</tt> if there are none. */
+    public static <E> Calculation<E> max(EventList<E> elements, Comparator<? super E> comparator) { return new OrderStatistic.Extreme<>(elements, comparator, true); }
+
+    /** A Calculation that reports the median of the <code>numbers</code> as a Double, or <tt>null</tt> if there are none. */
+    public static Calculation<Double> median(EventList<? extends Number> numbers) { return percentile(numbers, 50); }
+
+    /** A Calculation that reports the given <code>percentile</code>, from 0 to 100, of the <code>numbers</code> as a Double, interpolating between the closest ranks, or <tt>null</tt> if there are none. */
+    public static Calculation<Double> percentile(EventList<? extends Number> numbers, double percentile) { return OrderStatistic.Percentile.create(numbers, percentile); }
+
+    /** A Calculation that reports the number of distinct <code>elements</code> as an Integer. */
+    public static <E extends Comparable<? super E>> Calculation<Integer> distinctCount(EventList<E> elements) { return distinctCount(elements, GlazedLists.<E>comparableComparator()); }
+
+    /** A Calculation that reports the number of <code>elements</code> that are distinct according to the given <code>comparator</code> as an Integer. */
+    public static <E> Calculation<Integer> distinctCount(EventList<E> elements, Comparator<? super E> comparator) { return new OrderStatistic.DistinctCount<>(elements, comparator); }
+
+    //
+    // Windows
+    //
+
+    /** A Calculation that reports the sum of the last <code>count</code> <code>numbers</code> as a Double. */
+    public static Calculation<Double> rollingSum(EventList<? extends Number> numbers, int count) { return Window.sum(numbers, count); }
+
+    /** A Calculation that reports the sum of the <code>value</code>s of the <code>elements</code> whose <code>timestamp</code>s are within <code>duration</code> of the last element's as a Double. Elements must be appended in timestamp order. */
+    public static <E> Calculation<Double> rollingSum(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) { return Window.sum(elements, value, timestamp, duration); }
+
+    /** A Calculation that reports the mean average of the last <code>count</code> <code>numbers</code> as a Double, or <tt>null</tt> if there are none. */
+    public static Calculation<Double> movingAverage(EventList<? extends Number> numbers, int count) { return Window.mean(numbers, count); }
+
+    /** A Calculation that reports the mean average of the <code>value</code>s of the <code>elements</code> whose <code>timestamp</code>s are within <code>duration</code> of the last element's as a Double, or <tt>null</tt> if there are none. Elements must be appended in timestamp order. */
+    public static <E> Calculation<Double> movingAverage(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) { return Window.mean(elements, value, timestamp, duration); }
+
+    /** A Calculation that reports the exponentially weighted moving average of the last <code>count</code> <code>numbers</code> as a Double, with each older number weighted by a further factor of <code>1 - alpha</code>, or <tt>null</tt> if there are none. */
+    public static Calculation<Double> ewma(EventList<? extends Number> numbers, int count, double alpha) { return Window.ewma(numbers, count, alpha); }
+
+    /** A Calculation that reports the number of <code>elements</code> per second whose millisecond <code>timestamp</code>s are within <code>duration</code> milliseconds of the last element's as a Double. Elements must be appended in timestamp order. */
+    public static <E> Calculation<Double> ratePerSecond(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) { return Window.rate(elements, timestamp, duration); }
+
     //
     // Miscellaneous
     //
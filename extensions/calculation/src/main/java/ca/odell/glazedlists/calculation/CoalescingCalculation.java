@@ -0,0 +1,160 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+/**
+ * A {@link Calculation} that wraps another calculation and reports its value
+ * at most once per interval. Changes to the wrapped calculation are coalesced
+ * until the {@link Scheduler} runs the next delivery, which fires a single
+ * change from the last delivered value to the latest value. So a burst of
+ * thousands of changes costs its listeners a single notification.
+ *
+ * <p>The value of this Calculation is the last delivered value, so it is
+ * always consistent with the changes its listeners have seen. Changes are
+ * delivered on the thread of the {@link Scheduler}, regardless of the thread
+ * of their origin.
+ *
+ * <p>Note, that the wrapped source calculation will not be disposed by this
+ * calculation.
+ */
+public class CoalescingCalculation<E> extends AbstractCalculation<E> {
+
+    /** the wrapped source calculation */
+    private final Calculation<? extends E> source;
+
+    /** the minimum time between deliveries, in milliseconds */
+    private final long interval;
+
+    /** runs the deliveries */
+    private final Scheduler scheduler;
+
+    /** the listener for the source calculation */
+    private final PropertyChangeListener pcl = new PCL();
+
+    /** delivers the latest value of the source */
+    private final Runnable delivery = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    /** guards the fields below, which are written by the source's thread and the scheduler's */
+    private final Object lock = new Object();
+
+    /** <tt>true</tt> while a delivery is scheduled */
+    private boolean scheduled;
+
+    /** when the last delivery ran, according to the scheduler */
+    private long lastDelivery = Long.MIN_VALUE;
+
+    /** <tt>true</tt> once {@link #dispose()} has been called */
+    private boolean disposed;
+
+    /**
+     * Create a {@link CoalescingCalculation} that reports the value of the
+     * <code>source</code> at most once every <code>interval</code>
+     * milliseconds.
+     *
+     * @param source the Calculation whose changes are coalesced
+     * @param interval the minimum time between deliveries, in milliseconds;
+     *      <code>0</code> coalesces the changes made before the scheduler gets
+     *      to run the delivery
+     * @param scheduler runs the deliveries, typically on a GUI thread
+     */
+    public CoalescingCalculation(Calculation<? extends E> source, long interval, Scheduler scheduler) {
+        super(source.getValue());
+        if (interval < 0) throw new IllegalArgumentException("interval may not be negative: " + interval);
+        if (scheduler == null) throw new IllegalArgumentException("scheduler may not be null");
+
+        this.source = source;
+        this.interval = interval;
+        this.scheduler = scheduler;
+        source.addPropertyChangeListener(pcl);
+    }
+
+    /**
+     * Releases the resources consumed by this {@link Calculation} so that it
+     * may eventually be garbage collected. A scheduled delivery is dropped.
+     *
+     * <p>Note, that the source calculation will not be disposed by this method.
+     */
+    @Override
+    public void dispose() {
+        source.removePropertyChangeListener(pcl);
+        synchronized (lock) {
+            disposed = true;
+        }
+    }
+
+    /**
+     * Schedules a delivery unless one is already pending, waiting for the rest
+     * of the interval since the last delivery.
+     */
+    private void sourceChanged() {
+        final long delay;
+        synchronized (lock) {
+            if (scheduled || disposed) return;
+            scheduled = true;
+            delay = lastDelivery == Long.MIN_VALUE ? 0 : Math.max(0, lastDelivery + interval - scheduler.currentTimeMillis());
+        }
+        scheduler.schedule(delivery, delay);
+    }
+
+    /**
+     * Fires a change from the last delivered value to the latest value of the
+     * source.
+     */
+    private void deliver() {
+        synchronized (lock) {
+            scheduled = false;
+            if (disposed) return;
+            lastDelivery = scheduler.currentTimeMillis();
+        }
+
+        // read the value after clearing the flag, so later changes schedule
+        // another delivery rather than being lost
+        final E oldValue = getValue();
+        final E newValue = source.getValue();
+        setValue(newValue);
+        fireValueChange(oldValue, newValue);
+    }
+
+    /**
+     * Runs the deliveries of a {@link CoalescingCalculation}, and tells it the
+     * time. Implementations for GUI toolkits run the deliveries on the GUI
+     * thread; tests can use a manual clock and run deliveries on demand.
+     */
+    public interface Scheduler {
+
+        /**
+         * Returns the current time in milliseconds, such as
+         * {@link System#currentTimeMillis()}.
+         */
+        long currentTimeMillis();
+
+        /**
+         * Run the <code>runnable</code> once after the specified delay.
+         *
+         * @param runnable the delivery to run
+         * @param delay the minimum time to wait in milliseconds, which may be
+         *      <code>0</code>
+         */
+        void schedule(Runnable runnable, long delay);
+    }
+
+    /**
+     * PropertyChangeListener for the wrapped calculation, which schedules a
+     * delivery of its value.
+     */
+    private class PCL implements PropertyChangeListener {
+        @Override
+        public void propertyChange(PropertyChangeEvent evt) {
+            sourceChanged();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reports order statistics of the elements within the backing EventList, such
+ * as the smallest element or a percentile, as the value of these Calculations.
+ *
+ * <p>The elements are kept in sorted order in a balanced tree that counts the
+ * nodes of each subtree. So inserting or deleting an element and finding the
+ * element of any rank each cost O(log N), and no change requires the elements
+ * to be scanned. The tree node of each element is kept by its index in the
+ * backing EventList, so deleted and updated elements are removed by node
+ * rather than by comparing them, which works for elements that were changed
+ * in place before the update was fired.
+ */
+final class OrderStatistic {
+
+    private static final byte ALL_COLORS = 1;
+
+    /** compares numbers of any type by their double values */
+    static final Comparator<Number> NUMBER_COMPARATOR = (a, b) -> Double.compare(a.doubleValue(), b.doubleValue());
+
+    private OrderStatistic() {}
+
+    /**
+     * Maintains the sorted elements, and recomputes the value of this
+     * Calculation from them after each change.
+     */
+    abstract static class AbstractOrderStatistic<N, E> extends AbstractCalculation<N> implements ListEventListener<E> {
+
+        /** the List of elements from which this calculation is derived */
+        private final EventList<E> source;
+
+        /** compares the elements to sort them */
+        private final Comparator<? super E> comparator;
+
+        /** the elements in sorted order. This is the only copy of the elements. */
+        private final SimpleTree<Member<E>> sorted;
+
+        /** the node in {@link #sorted} of each element, in source order */
+        private final SimpleTree<Element<Member<E>>> members = new SimpleTree<>();
+
+        /** the number of elements that aren't equal to their predecessor */
+        private int distinctCount;
+
+        protected AbstractOrderStatistic(EventList<E> source, Comparator<? super E> comparator) {
+            super(null);
+            this.source = source;
+            this.comparator = comparator;
+            this.sorted = new SimpleTree<>((a, b) -> comparator.compare(a.element, b.element));
+
+            for (int i = 0, n = source.size(); i < n; i++)
+                members.add(i, add(source.get(i)), 1);
+            source.addListEventListener(this);
+        }
+
+        /**
+         * Computes the value of this Calculation from the sorted elements.
+         * Subclasses must set the initial value once they are constructed.
+         */
+        protected abstract N compute();
+
+        /** @inheritDoc */
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        /** Returns the number of elements. */
+        protected final int size() {
+            return sorted.size();
+        }
+
+        /** Returns the element with the specified rank, starting at 0 for the smallest. */
+        protected final E get(int rank) {
+            return sorted.get(rank).get().element;
+        }
+
+        /** Returns the number of elements that are not equal to each other. */
+        protected final int distinctCount() {
+            return distinctCount;
+        }
+
+        /**
+         * Updates the sorted elements by the index of each change, and then
+         * the value of this Calculation.
+         */
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            final N oldValue = getValue();
+
+            if (listChanges.isReordering()) {
+                // the elements are the same, but their nodes have new indices
+                final int[] reorderMap = listChanges.getReorderMap();
+                final List<Element<Member<E>>> nodes = new ArrayList<>(members.size());
+                for (int i = 0, n = members.size(); i < n; i++)
+                    nodes.add(members.get(i).get());
+                members.clear();
+                for (int i = 0; i < reorderMap.length; i++)
+                    members.add(i, nodes.get(reorderMap[i]), 1);
+
+            } else {
+                while (listChanges.next()) {
+                    final int index = listChanges.getIndex();
+                    switch (listChanges.getType()) {
+                        case ListEvent.INSERT:
+                            members.add(index, add(source.get(index)), 1);
+                            break;
+                        case ListEvent.DELETE: {
+                            final Element<Element<Member<E>>> member = members.get(index);
+                            remove(member.get());
+                            members.remove(member);
+                            break;
+                        }
+                        case ListEvent.UPDATE: {
+                            final Element<Element<Member<E>>> member = members.get(index);
+                            remove(member.get());
+                            member.set(add(source.get(index)));
+                            break;
+                        }
+                    }
+                }
+                setValue(compute());
+            }
+
+            fireValueChange(oldValue, getValue());
+        }
+
+        /**
+         * Adds the element in sorted order, and returns its node.
+         */
+        private Element<Member<E>> add(E element) {
+            final Member<E> member = new Member<>(element);
+            final Element<Member<E>> node = sorted.addInSortedOrder(ALL_COLORS, member, 1);
+
+            final Element<Member<E>> previous = node.previous();
+            member.duplicate = previous != null && comparator.compare(previous.get().element, element) == 0;
+            if (!member.duplicate) distinctCount++;
+
+            // the successor now follows this element rather than its predecessor
+            final Element<Member<E>> next = node.next();
+            if (next != null) setDuplicate(next.get(), comparator.compare(element, next.get().element) == 0);
+            return node;
+        }
+
+        /**
+         * Removes the element of the specified node. Its element isn't
+         * compared, since it may have changed since it was added.
+         */
+        private void remove(Element<Member<E>> node) {
+            final Element<Member<E>> previous = node.previous();
+            final Element<Member<E>> next = node.next();
+            if (!node.get().duplicate) distinctCount--;
+            sorted.remove(node);
+
+            // the successor now follows this element's predecessor
+            if (next != null) setDuplicate(next.get(), previous != null && comparator.compare(previous.get().element, next.get().element) == 0);
+        }
+
+        private void setDuplicate(Member<E> member, boolean duplicate) {
+            if (member.duplicate == duplicate) return;
+            member.duplicate = duplicate;
+            distinctCount += duplicate ? -1 : 1;
+        }
+    }
+
+    /**
+     * An element in sorted order, and whether it is equal to its predecessor.
+     */
+    private static final class Member<E> {
+        private final E element;
+        private boolean duplicate;
+
+        Member(E element) {
+            this.element = element;
+        }
+    }
+
+    /**
+     * Reports the smallest or largest element, or <code>null</code> when there
+     * are no elements.
+     */
+    static final class Extreme<E> extends AbstractOrderStatistic<E, E> {
+        private final boolean max;
+
+        public Extreme(EventList<E> source, Comparator<? super E> comparator, boolean max) {
+            super(source, comparator);
+            this.max = max;
+            setValue(compute());
+        }
+
+        @Override
+        protected E compute() {
+            if (size() == 0) return null;
+            return max ? get(size() - 1) : get(0);
+        }
+    }
+
+    /**
+     * Reports a percentile of the numbers as a Double, interpolating linearly
+     * between the two closest ranks, or <code>null</code> when there are no
+     * numbers.
+     */
+    static final class Percentile<N extends Number> extends AbstractOrderStatistic<Double, N> {
+        private final double percentile;
+
+        /**
+         * Create a Calculation of the specified percentile, which must be from
+         * 0 to 100.
+         */
+        static <N extends Number> Percentile<N> create(EventList<N> source, double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+            return new Percentile<>(source, percentile);
+        }
+
+        private Percentile(EventList<N> source, double percentile) {
+            super(source, NUMBER_COMPARATOR);
+            this.percentile = percentile;
+            setValue(compute());
+        }
+
+        @Override
+        protected Double compute() {
+            final int size = size();
+            if (size == 0) return null;
+
+            final double rank = percentile / 100 * (size - 1);
+            final int lower = (int) Math.floor(rank);
+            final double lowerValue = get(lower).doubleValue();
+            if (lower == rank) return new Double(lowerValue);
+            final double upperValue = get(lower + 1).doubleValue();
+            return new Double(lowerValue + (rank - lower) * (upperValue - lowerValue));
+        }
+    }
+
+    /**
+     * Reports the number of distinct elements as an Integer.
+     */
+    static final class DistinctCount<E> extends AbstractOrderStatistic<Integer, E> {
+        public DistinctCount(EventList<E> source, Comparator<? super E> comparator) {
+            super(source, comparator);
+            setValue(compute());
+        }
+
+        @Override
+        protected Integer compute() {
+            return new Integer(distinctCount());
+        }
+    }
+}
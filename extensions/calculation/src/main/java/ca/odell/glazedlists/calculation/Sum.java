@@ -15,7 +15,7 @@ final class Sum {
 
     static final class SumFloat<N extends Number> extends AbstractEventListCalculation<Float, N> {
         public SumFloat(EventList<N> source) {
-            super(new Float(0), source);
+            super(new Float(0), source, true);
         }
 
         @Override
@@ -28,7 +28,7 @@ final class Sum {
 
     static final class SumDouble<N extends Number> extends AbstractEventListCalculation<Double, N> {
         public SumDouble(EventList<N> source) {
-            super(new Double(0), source);
+            super(new Double(0), source, true);
         }
 
         @Override
@@ -41,7 +41,7 @@ final class Sum {
 
     static final class SumInteger<N extends Number> extends AbstractEventListCalculation<Integer, N> {
         public SumInteger(EventList<N> source) {
-            super(new Integer(0), source);
+            super(new Integer(0), source, true);
         }
 
         @Override
@@ -54,7 +54,7 @@ final class Sum {
 
     static final class SumLong<N extends Number> extends AbstractEventListCalculation<Long, N> {
         public SumLong(EventList<N> source) {
-            super(new Long(0), source);
+            super(new Long(0), source, true);
         }
 
         @Override
@@ -0,0 +1,407 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+
+/**
+ * Reports rolling aggregates of the elements at the end of the backing
+ * EventList, such as a moving average, as the value of these Calculations.
+ *
+ * <p>The window is either the last <code>count</code> elements, or the
+ * elements whose timestamps are within a <code>duration</code> of the
+ * timestamp of the last element. Time windows expect elements to be appended
+ * in timestamp order, and only advance as elements arrive.
+ *
+ * <p>The values in the window are kept in a ring buffer. Elements appended to
+ * the list are pushed onto it and the elements that leave the window are
+ * evicted from its other end, so appending costs O(1) per element no matter
+ * how large the window is. Deleting elements that precede the window is also
+ * O(1). Any other change within the window, an update that precedes a time
+ * window, or a reordering, rebuilds the window from the end of the list.
+ */
+final class Window {
+
+    private Window() {}
+
+    /** reports each element of a list of numbers as its own value */
+    private static final FunctionList.Function<Number, Number> IDENTITY = number -> number;
+
+    /**
+     * A Calculation that reports the sum of the last <code>count</code>
+     * numbers as a Double.
+     */
+    static <N extends Number> Calculation<Double> sum(EventList<N> numbers, int count) {
+        checkCount(count);
+        return new Sum<>(numbers, IDENTITY, null, count, 0);
+    }
+
+    /**
+     * A Calculation that reports the sum of the values of the elements within
+     * the last <code>duration</code> milliseconds as a Double.
+     */
+    static <E> Calculation<Double> sum(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) {
+        checkDuration(timestamp, duration);
+        return new Sum<>(elements, value, timestamp, 0, duration);
+    }
+
+    /**
+     * A Calculation that reports the mean of the last <code>count</code>
+     * numbers as a Double, or <tt>null</tt> if there are none.
+     */
+    static <N extends Number> Calculation<Double> mean(EventList<N> numbers, int count) {
+        checkCount(count);
+        return new Mean<>(numbers, IDENTITY, null, count, 0);
+    }
+
+    /**
+     * A Calculation that reports the mean of the values of the elements within
+     * the last <code>duration</code> milliseconds as a Double, or <tt>null</tt>
+     * if there are none.
+     */
+    static <E> Calculation<Double> mean(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) {
+        checkDuration(timestamp, duration);
+        return new Mean<>(elements, value, timestamp, 0, duration);
+    }
+
+    /**
+     * A Calculation that reports the exponentially weighted mean of the last
+     * <code>count</code> numbers as a Double, or <tt>null</tt> if there are none.
+     */
+    static <N extends Number> Calculation<Double> ewma(EventList<N> numbers, int count, double alpha) {
+        checkCount(count);
+        if (!(alpha > 0 && alpha <= 1)) throw new IllegalArgumentException("alpha must be greater than 0 and at most 1: " + alpha);
+        return new Ewma<>(numbers, count, alpha);
+    }
+
+    /**
+     * A Calculation that reports the number of elements per second within
+     * the last <code>duration</code> milliseconds as a Double.
+     */
+    static <E> Calculation<Double> rate(EventList<E> elements, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) {
+        checkDuration(timestamp, duration);
+        return new Rate<>(elements, timestamp, duration);
+    }
+
+    private static void checkCount(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count must be positive: " + count);
+    }
+
+    private static void checkDuration(FunctionList.Function<?, ?> timestamp, long duration) {
+        if (timestamp == null) throw new IllegalArgumentException("timestamp may not be null");
+        if (duration <= 0) throw new IllegalArgumentException("duration must be positive: " + duration);
+    }
+
+    /**
+     * Maintains the values of the elements in the window, and recomputes the
+     * value of this Calculation from the aggregates that subclasses keep as
+     * values are added to and removed from the window.
+     */
+    abstract static class AbstractWindow<E> extends AbstractCalculation<Double> implements ListEventListener<E> {
+
+        /** the List of elements from which this calculation is derived */
+        private final EventList<E> source;
+
+        /** extracts the value of each element */
+        private final FunctionList.Function<? super E, ? extends Number> value;
+
+        /** extracts the timestamp of each element, or <tt>null</tt> for a window of the last {@link #capacity} elements */
+        private final FunctionList.Function<? super E, ? extends Number> timestamp;
+
+        /** the number of elements in a count window */
+        private final int capacity;
+
+        /** the length of a time window, in the units of the timestamps */
+        private final long duration;
+
+        /** the values in the window, in source order starting at {@link #head} */
+        private double[] values = new double[16];
+
+        /** the timestamps of the values, or <tt>null</tt> for a count window */
+        private long[] times;
+
+        /** the position of the oldest value in the ring */
+        private int head;
+
+        /** the number of values in the window */
+        private int size;
+
+        /** the index of the first element of the window in the source */
+        private int start;
+
+        /** the size of the source after the last change */
+        private int sourceSize;
+
+        protected AbstractWindow(EventList<E> source, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, int capacity, long duration) {
+            super(null);
+            this.source = source;
+            this.value = value;
+            this.timestamp = timestamp;
+            this.capacity = capacity;
+            this.duration = duration;
+            if (timestamp != null) times = new long[values.length];
+        }
+
+        /**
+         * Fills the window and starts listening to the source. Subclasses
+         * must call this once they are constructed.
+         */
+        protected final void initialize() {
+            rebuild();
+            source.addListEventListener(this);
+        }
+
+        /** @inheritDoc */
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        /** Returns the number of values in the window. */
+        protected final int size() {
+            return size;
+        }
+
+        /** Returns the length of a time window. */
+        protected final long duration() {
+            return duration;
+        }
+
+        /** A value has entered the window. */
+        protected abstract void added(double value);
+
+        /**
+         * The oldest value is leaving the window. {@link #size()} still
+         * includes it.
+         */
+        protected abstract void removed(double value);
+
+        /** Forget all values, before the window is rebuilt. */
+        protected abstract void reset();
+
+        /** Computes the value of this Calculation from the values in the window. */
+        protected abstract Double compute();
+
+        /** @inheritDoc */
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            final Double oldValue = getValue();
+
+            boolean rebuild = listChanges.isReordering();
+            while (!rebuild && listChanges.next()) {
+                final int index = listChanges.getIndex();
+                final int type = listChanges.getType();
+
+                // appended elements enter the window
+                if (type == ListEvent.INSERT && index == sourceSize) {
+                    push(source.get(index));
+                    sourceSize++;
+
+                // inserts and deletes before the window just move it
+                } else if (index < start && type != ListEvent.UPDATE) {
+                    final int delta = type == ListEvent.INSERT ? 1 : -1;
+                    start += delta;
+                    sourceSize += delta;
+
+                // an earlier element can't enter a count window when it is updated,
+                // but its new timestamp may bring it into a time window
+                } else if (index >= start || timestamp != null) {
+                    rebuild = true;
+                }
+            }
+
+            if (rebuild) rebuild();
+            else evict();
+
+            setValue(compute());
+            fireValueChange(oldValue, getValue());
+        }
+
+        /**
+         * Refills the window from the end of the source.
+         */
+        private void rebuild() {
+            reset();
+            head = 0;
+            size = 0;
+            sourceSize = source.size();
+
+            if (timestamp == null) {
+                start = Math.max(0, sourceSize - capacity);
+            } else {
+                start = sourceSize;
+                if (sourceSize > 0) {
+                    final long cutoff = timeOf(source.get(sourceSize - 1)) - duration;
+                    while (start > 0 && timeOf(source.get(start - 1)) > cutoff) start--;
+                }
+            }
+            for (int i = start; i < sourceSize; i++)
+                push(source.get(i));
+
+            setValue(compute());
+        }
+
+        /**
+         * Adds the specified element as the newest value of the window.
+         */
+        private void push(E element) {
+            if (size == values.length) grow();
+            final int position = (head + size) % values.length;
+            final double elementValue = value.evaluate(element).doubleValue();
+            values[position] = elementValue;
+            if (times != null) times[position] = timeOf(element);
+            size++;
+            added(elementValue);
+        }
+
+        /**
+         * Removes the oldest values once they leave the window.
+         */
+        private void evict() {
+            if (times == null) {
+                while (size > capacity) pop();
+            } else if (size > 0) {
+                final long cutoff = times[(head + size - 1) % values.length] - duration;
+                while (times[head] <= cutoff) pop();
+            }
+        }
+
+        private void pop() {
+            removed(values[head]);
+            head = (head + 1) % values.length;
+            size--;
+            start++;
+        }
+
+        /**
+         * Doubles the size of the ring, moving the values to its beginning.
+         */
+        private void grow() {
+            final double[] grownValues = new double[values.length * 2];
+            final int firstPart = values.length - head;
+            System.arraycopy(values, head, grownValues, 0, firstPart);
+            System.arraycopy(values, 0, grownValues, firstPart, head);
+            if (times != null) {
+                final long[] grownTimes = new long[grownValues.length];
+                System.arraycopy(times, head, grownTimes, 0, firstPart);
+                System.arraycopy(times, 0, grownTimes, firstPart, head);
+                times = grownTimes;
+            }
+            values = grownValues;
+            head = 0;
+        }
+
+        private long timeOf(E element) {
+            return timestamp.evaluate(element).longValue();
+        }
+    }
+
+    /**
+     * Reports the sum of the values in the window.
+     */
+    static final class Sum<E> extends AbstractWindow<E> {
+        private double sum;
+
+        Sum(EventList<E> source, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, int capacity, long duration) {
+            super(source, value, timestamp, capacity, duration);
+            initialize();
+        }
+
+        @Override
+        protected void added(double value) { sum += value; }
+        @Override
+        protected void removed(double value) { sum = size() == 1 ? 0 : sum - value; }
+        @Override
+        protected void reset() { sum = 0; }
+        @Override
+        protected Double compute() { return new Double(sum); }
+    }
+
+    /**
+     * Reports the mean of the values in the window, or <tt>null</tt> if it is
+     * empty.
+     */
+    static final class Mean<E> extends AbstractWindow<E> {
+        private double sum;
+
+        Mean(EventList<E> source, FunctionList.Function<? super E, ? extends Number> value, FunctionList.Function<? super E, ? extends Number> timestamp, int capacity, long duration) {
+            super(source, value, timestamp, capacity, duration);
+            initialize();
+        }
+
+        @Override
+        protected void added(double value) { sum += value; }
+        @Override
+        protected void removed(double value) { sum = size() == 1 ? 0 : sum - value; }
+        @Override
+        protected void reset() { sum = 0; }
+        @Override
+        protected Double compute() { return size() == 0 ? null : new Double(sum / size()); }
+    }
+
+    /**
+     * Reports the exponentially weighted mean of the values in the window, or
+     * <tt>null</tt> if it is empty. The weight of each value is multiplied by
+     * <code>1 - alpha</code> as each newer value arrives, and the weighted sum
+     * is divided by the sum of the weights in the window. So the oldest values
+     * can be removed exactly, and a window with a single value reports it.
+     */
+    static final class Ewma<N extends Number> extends AbstractWindow<N> {
+        private final double decay;
+        private double weightedSum;
+        private double totalWeight;
+
+        Ewma(EventList<N> source, int capacity, double alpha) {
+            super(source, IDENTITY, null, capacity, 0);
+            this.decay = 1 - alpha;
+            initialize();
+        }
+
+        @Override
+        protected void added(double value) {
+            weightedSum = weightedSum * decay + value;
+            totalWeight = totalWeight * decay + 1;
+        }
+        @Override
+        protected void removed(double value) {
+            if (size() == 1) {
+                reset();
+                return;
+            }
+            final double weight = Math.pow(decay, size() - 1);
+            weightedSum -= weight * value;
+            totalWeight -= weight;
+        }
+        @Override
+        protected void reset() {
+            weightedSum = 0;
+            totalWeight = 0;
+        }
+        @Override
+        protected Double compute() { return size() == 0 ? null : new Double(weightedSum / totalWeight); }
+    }
+
+    /**
+     * Reports the number of elements in the window per second, assuming
+     * timestamps in milliseconds.
+     */
+    static final class Rate<E> extends AbstractWindow<E> {
+        Rate(EventList<E> source, FunctionList.Function<? super E, ? extends Number> timestamp, long duration) {
+            super(source, timestamp, timestamp, 0, duration);
+            initialize();
+        }
+
+        @Override
+        protected void added(double value) { }
+        @Override
+        protected void removed(double value) { }
+        @Override
+        protected void reset() { }
+        @Override
+        protected Double compute() { return new Double(size() * 1000.0 / duration()); }
+    }
+}
@@ -0,0 +1,33 @@
+/* Glazed Lists                                                 (c) 2003-2010 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.swing;
+
+import ca.odell.glazedlists.calculation.CoalescingCalculation;
+
+import javax.swing.Timer;
+
+/**
+ * A {@link CoalescingCalculation.Scheduler} that runs the deliveries on the
+ * Swing event dispatch thread, using a single-shot {@link Timer} for each.
+ */
+public final class SwingTimerScheduler implements CoalescingCalculation.Scheduler {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(Runnable runnable, long delay) {
+        final Timer timer = new Timer((int) Math.min(delay, Integer.MAX_VALUE), e -> runnable.run());
+        timer.setRepeats(false);
+        timer.start();
+    }
+}
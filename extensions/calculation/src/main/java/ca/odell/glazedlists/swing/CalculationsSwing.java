@@ -4,7 +4,9 @@
 package ca.odell.glazedlists.swing;
 
 import ca.odell.glazedlists.calculation.Calculation;
+import ca.odell.glazedlists.calculation.CoalescingCalculation;
 import ca.odell.glazedlists.impl.swing.SwingThreadProxyCalculation;
+import ca.odell.glazedlists.impl.swing.SwingTimerScheduler;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
@@ -34,6 +36,16 @@ public final class CalculationsSwing {
         return calc instanceof SwingThreadProxyCalculation;
     }
 
+    /**
+     * Wraps the source in a {@link Calculation} that fires its latest value
+     * from the Swing event dispatch thread at most once every
+     * <code>interval</code> milliseconds, coalescing the changes in between.
+     * An interval of about 16 milliseconds limits updates to one per frame.
+     */
+    public static <E> Calculation<E> coalescingCalculation(Calculation<? extends E> source, long interval) {
+        return new CoalescingCalculation<>(source, interval, new SwingTimerScheduler());
+    }
+
     /**
      * Updates the given label with the latest value of a Calculation each time
      * it reports a change.
@@ -0,0 +1,115 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.event.ListEvent;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class AbstractEventListCalculationTest {
+
+    @Test
+    public void testSnapshotFree() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.addAll(Arrays.asList(1, 2, 3));
+        final SortedList<Integer> sorted = new SortedList<>(source, null);
+        final CountingSum sum = new CountingSum(sorted);
+        assertEquals(new Integer(6), sum.getValue());
+
+        source.remove(0);
+        source.set(0, 5);
+        assertEquals(new Integer(8), sum.getValue());
+
+        // reordering doesn't change the elements
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(new Integer(8), sum.getValue());
+        assertEquals(0, sum.clears);
+    }
+
+    @Test
+    public void testFallbackToSnapshot() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.addAll(Arrays.asList(1, 2, 3));
+        final ForgetfulList<Integer> forgetful = new ForgetfulList<>(source);
+        final CountingSum sum = new CountingSum(forgetful);
+
+        // inserts don't need old values
+        source.add(4);
+        assertEquals(new Integer(10), sum.getValue());
+        assertEquals(0, sum.clears);
+
+        // the first delete without its value forces a recalculation
+        source.remove(0);
+        assertEquals(new Integer(9), sum.getValue());
+        assertEquals(1, sum.clears);
+
+        // later changes use the snapshot
+        source.remove(0);
+        source.set(0, 10);
+        assertEquals(new Integer(14), sum.getValue());
+        assertEquals(1, sum.clears);
+    }
+
+    /**
+     * A snapshot-free sum that counts how often it is cleared.
+     */
+    private static final class CountingSum extends AbstractEventListCalculation<Integer, Integer> {
+        private int clears;
+
+        CountingSum(EventList<Integer> source) {
+            super(new Integer(0), source, true);
+        }
+
+        @Override
+        protected void clear() {
+            super.clear();
+            clears++;
+        }
+
+        @Override
+        protected void inserted(Integer element) { setValue(new Integer(getValue().intValue() + element.intValue())); }
+        @Override
+        protected void deleted(Integer element) { setValue(new Integer(getValue().intValue() - element.intValue())); }
+        @Override
+        protected void updated(Integer oldElement, Integer newElement) { setValue(new Integer(getValue().intValue() - oldElement.intValue() + newElement.intValue())); }
+    }
+
+    /**
+     * A list that doesn't report the deleted and replaced elements of its source.
+     */
+    private static final class ForgetfulList<E> extends TransformedList<E, E> {
+        ForgetfulList(EventList<E> source) {
+            super(source);
+            source.addListEventListener(this);
+        }
+
+        @Override
+        protected boolean isWritable() {
+            return false;
+        }
+
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            updates.beginEvent();
+            while (listChanges.next()) {
+                final int index = listChanges.getIndex();
+                switch (listChanges.getType()) {
+                    case ListEvent.INSERT: updates.addInsert(index); break;
+                    case ListEvent.DELETE: updates.addDelete(index); break;
+                    case ListEvent.UPDATE: updates.addUpdate(index); break;
+                }
+            }
+            updates.commitEvent();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+
+import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class CoalescingCalculationTest {
+
+    @Test
+    public void testCoalescing() {
+        final EventList<String> source = new BasicEventList<>();
+        final ManualScheduler scheduler = new ManualScheduler();
+        final Calculation<Integer> count = new CoalescingCalculation<>(Calculations.count(source), 100, scheduler);
+        final List<PropertyChangeEvent> events = new ArrayList<>();
+        count.addPropertyChangeListener(events::add);
+
+        // the first change is delivered as soon as the scheduler runs
+        for (int i = 0; i < 1000; i++)
+            source.add("x");
+        assertEquals(1, scheduler.tasks.size());
+        assertEquals(0, scheduler.delays.get(0).longValue());
+        assertEquals(new Integer(0), count.getValue());
+        scheduler.runAll();
+        assertEquals(1, events.size());
+        assertEquals(new Integer(0), events.get(0).getOldValue());
+        assertEquals(new Integer(1000), events.get(0).getNewValue());
+        assertEquals(new Integer(1000), count.getValue());
+
+        // the next change waits for the rest of the interval
+        scheduler.time += 30;
+        source.add("y");
+        source.remove(0);
+        source.remove(0);
+        assertEquals(70, scheduler.delays.get(0).longValue());
+        scheduler.time += 70;
+        scheduler.runAll();
+        assertEquals(2, events.size());
+        assertEquals(new Integer(1000), events.get(1).getOldValue());
+        assertEquals(new Integer(999), events.get(1).getNewValue());
+
+        // long after the last delivery there is no delay
+        scheduler.time += 500;
+        source.add("z");
+        assertEquals(0, scheduler.delays.get(0).longValue());
+
+        // disposing drops the scheduled delivery
+        count.dispose();
+        scheduler.runAll();
+        assertEquals(2, events.size());
+        source.add("z");
+        assertTrue(scheduler.tasks.isEmpty());
+    }
+
+    @Test
+    public void testUnchangedValue() {
+        final EventList<String> source = new BasicEventList<>();
+        final ManualScheduler scheduler = new ManualScheduler();
+        final Calculation<Integer> count = new CoalescingCalculation<>(Calculations.count(source), 0, scheduler);
+        final List<PropertyChangeEvent> events = new ArrayList<>();
+        count.addPropertyChangeListener(events::add);
+
+        // changes that cancel out aren't reported
+        source.add("a");
+        source.remove(0);
+        scheduler.runAll();
+        assertTrue(events.isEmpty());
+    }
+
+    /**
+     * A scheduler with a manual clock, which runs tasks only when told to.
+     */
+    private static final class ManualScheduler implements CoalescingCalculation.Scheduler {
+        private long time = 1000;
+        private final List<Runnable> tasks = new ArrayList<>();
+        private final List<Long> delays = new ArrayList<>();
+
+        @Override
+        public long currentTimeMillis() {
+            return time;
+        }
+
+        @Override
+        public void schedule(Runnable runnable, long delay) {
+            tasks.add(runnable);
+            delays.add(new Long(delay));
+        }
+
+        void runAll() {
+            final List<Runnable> toRun = new ArrayList<>(tasks);
+            tasks.clear();
+            delays.clear();
+            for (Runnable task : toRun)
+                task.run();
+        }
+    }
+}
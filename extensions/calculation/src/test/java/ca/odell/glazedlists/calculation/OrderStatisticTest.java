@@ -0,0 +1,217 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.ObservableElementList;
+import ca.odell.glazedlists.SortedList;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class OrderStatisticTest {
+
+    @Test
+    public void testMinMax() {
+        final EventList<Integer> source = GlazedLists.eventListOf(5, 3, 8);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Integer> min = Calculations.min(source);
+        final Calculation<Integer> max = Calculations.max(source);
+        min.addPropertyChangeListener(counter);
+
+        assertEquals(new Integer(3), min.getValue());
+        assertEquals(new Integer(8), max.getValue());
+
+        // deleting the extremes finds the next ones
+        source.remove(new Integer(3));
+        assertEquals(new Integer(5), min.getValue());
+        assertEquals(1, counter.getCountAndReset());
+        source.remove(new Integer(8));
+        assertEquals(new Integer(5), max.getValue());
+
+        // test update without min change
+        source.add(7);
+        assertEquals(0, counter.getCountAndReset());
+        source.set(1, 1);
+        assertEquals(new Integer(1), min.getValue());
+        assertEquals(new Integer(5), max.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        source.clear();
+        assertNull(min.getValue());
+        assertNull(max.getValue());
+    }
+
+    @Test
+    public void testComparator() {
+        final EventList<String> source = GlazedLists.eventListOf("b", "A", "c");
+        assertEquals("A", Calculations.min(source).getValue());
+        assertEquals("c", Calculations.min(source, GlazedLists.reverseComparator(String.CASE_INSENSITIVE_ORDER)).getValue());
+        assertEquals("A", Calculations.max(source, GlazedLists.reverseComparator(String.CASE_INSENSITIVE_ORDER)).getValue());
+    }
+
+    @Test
+    public void testPercentile() {
+        final EventList<Number> source = new BasicEventList<>();
+        final Calculation<Double> median = Calculations.median(source);
+        final Calculation<Double> p90 = Calculations.percentile(source, 90);
+        assertNull(median.getValue());
+
+        source.addAll(Arrays.asList(4, 1L, 3.0));
+        assertEquals(new Double(3), median.getValue());
+
+        // an even number of values reports the mean of the middle two
+        source.add(10f);
+        assertEquals(new Double(3.5), median.getValue());
+        assertEquals(8.2, p90.getValue().doubleValue(), 1e-9);
+
+        source.remove(0);
+        assertEquals(new Double(3), median.getValue());
+        assertEquals(new Double(10), Calculations.percentile(source, 100).getValue());
+        assertEquals(new Double(1), Calculations.percentile(source, 0).getValue());
+
+        try {
+            Calculations.percentile(source, 101);
+            fail("failed to reject a percentile above 100");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDistinctCount() {
+        final EventList<String> source = GlazedLists.eventListOf("a", "b", "a");
+        final Calculation<Integer> distinct = Calculations.distinctCount(source);
+        assertEquals(new Integer(2), distinct.getValue());
+
+        source.add("c");
+        assertEquals(new Integer(3), distinct.getValue());
+        source.remove(0);
+        assertEquals(new Integer(3), distinct.getValue());
+        source.set(1, "b");
+        assertEquals(new Integer(2), distinct.getValue());
+
+        assertEquals(new Integer(1), Calculations.distinctCount(GlazedLists.eventListOf("a", "A"), String.CASE_INSENSITIVE_ORDER).getValue());
+    }
+
+    /**
+     * Compare the statistics to those computed from scratch after many random
+     * changes.
+     */
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(3);
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Integer> min = Calculations.min(source);
+        final Calculation<Integer> max = Calculations.max(source);
+        final Calculation<Double> p75 = Calculations.percentile(source, 75);
+        final Calculation<Integer> distinct = Calculations.distinctCount(source);
+
+        for (int i = 0; i < 500; i++) {
+            final int operation = dice.nextInt(3);
+            if (operation == 0 || source.isEmpty()) source.add(dice.nextInt(source.size() + 1), new Integer(dice.nextInt(50)));
+            else if (operation == 1) source.remove(dice.nextInt(source.size()));
+            else source.set(dice.nextInt(source.size()), new Integer(dice.nextInt(50)));
+
+            final List<Integer> sorted = new ArrayList<>(source);
+            Collections.sort(sorted);
+            if (sorted.isEmpty()) {
+                assertNull(min.getValue());
+                continue;
+            }
+            assertEquals(sorted.get(0), min.getValue());
+            assertEquals(sorted.get(sorted.size() - 1), max.getValue());
+            assertEquals(new HashSet<>(sorted).size(), distinct.getValue().intValue());
+
+            final double rank = 0.75 * (sorted.size() - 1);
+            final int lower = (int) rank;
+            final int upper = Math.min(lower + 1, sorted.size() - 1);
+            final double expected = sorted.get(lower) + (rank - lower) * (sorted.get(upper) - sorted.get(lower));
+            assertEquals(expected, p75.getValue().doubleValue(), 1e-9);
+        }
+    }
+
+    /**
+     * Elements changed in place report themselves as their old value, so they
+     * must be removed without comparing them.
+     */
+    @Test
+    public void testElementsChangedInPlace() {
+        final Random dice = new Random(13);
+        final EventList<Bean> beans = new BasicEventList<>();
+        for (int i = 0; i < 20; i++) beans.add(new Bean(dice.nextInt(10)));
+        final ObservableElementList<Bean> source = new ObservableElementList<>(beans, GlazedLists.beanConnector(Bean.class));
+        final Comparator<Bean> byX = Comparator.comparingInt(Bean::getX);
+        final Calculation<Bean> max = Calculations.max(source, byX);
+        final Calculation<Integer> distinct = Calculations.distinctCount(source, byX);
+
+        for (int i = 0; i < 200; i++) {
+            source.get(dice.nextInt(source.size())).setX(dice.nextInt(20) - 5);
+
+            final Set<Integer> values = new HashSet<>();
+            for (Bean bean : source) values.add(new Integer(bean.getX()));
+            assertEquals(Collections.max(values).intValue(), max.getValue().getX());
+            assertEquals(values.size(), distinct.getValue().intValue());
+        }
+    }
+
+    /**
+     * Reordering the source keeps every element's node.
+     */
+    @Test
+    public void testReordering() {
+        final SortedList<Integer> source = new SortedList<>(GlazedLists.eventListOf(5, 1, 4, 1, 3), null);
+        final Calculation<Integer> min = Calculations.min(source);
+        final Calculation<Integer> distinct = Calculations.distinctCount(source);
+
+        source.setComparator(GlazedLists.comparableComparator());
+        source.remove(0);
+        assertEquals(new Integer(1), min.getValue());
+        assertEquals(new Integer(4), distinct.getValue());
+        source.remove(0);
+        assertEquals(new Integer(3), min.getValue());
+        assertEquals(new Integer(3), distinct.getValue());
+    }
+
+    /**
+     * A bean that fires a PropertyChangeEvent when it is changed.
+     */
+    public static class Bean {
+        private final PropertyChangeSupport support = new PropertyChangeSupport(this);
+        private int x;
+
+        public Bean(int x) {
+            this.x = x;
+        }
+        public int getX() {
+            return x;
+        }
+        public void setX(int x) {
+            final int old = this.x;
+            this.x = x;
+            support.firePropertyChange("x", old, x);
+        }
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            support.addPropertyChangeListener(listener);
+        }
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class WindowTest {
+
+    @Test
+    public void testCountWindow() {
+        final EventList<Integer> source = GlazedLists.eventListOf(1, 2, 3);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Double> sum = Calculations.rollingSum(source, 3);
+        final Calculation<Double> average = Calculations.movingAverage(source, 2);
+        sum.addPropertyChangeListener(counter);
+        assertEquals(new Double(6), sum.getValue());
+        assertEquals(new Double(2.5), average.getValue());
+
+        // appending evicts the oldest number
+        source.add(10);
+        assertEquals(new Double(15), sum.getValue());
+        assertEquals(new Double(6.5), average.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // numbers before the window don't matter
+        source.remove(0);
+        source.add(0, 7);
+        assertEquals(new Double(15), sum.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // changes within the window are reflected
+        source.set(3, 4);
+        assertEquals(new Double(9), sum.getValue());
+        source.remove(3);
+        assertEquals(new Double(12), sum.getValue());
+
+        source.clear();
+        assertEquals(new Double(0), sum.getValue());
+        assertNull(average.getValue());
+
+        try {
+            Calculations.rollingSum(source, 0);
+            fail("failed to reject an empty window");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEwma() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Double> ewma = Calculations.ewma(source, 2, 0.5);
+        assertNull(ewma.getValue());
+
+        source.add(4);
+        assertEquals(new Double(4), ewma.getValue());
+
+        // weights 0.5 and 1
+        source.add(10);
+        assertEquals(8.0, ewma.getValue().doubleValue(), 1e-9);
+
+        // the oldest number leaves the window
+        source.add(1);
+        assertEquals(4.0, ewma.getValue().doubleValue(), 1e-9);
+    }
+
+    @Test
+    public void testTimeWindow() {
+        final EventList<long[]> source = new BasicEventList<>();
+        final Calculation<Double> sum = Calculations.rollingSum(source, event -> event[1], event -> event[0], 1000);
+        final Calculation<Double> average = Calculations.movingAverage(source, event -> event[1], event -> event[0], 1000);
+        final Calculation<Double> rate = Calculations.ratePerSecond(source, event -> event[0], 2000);
+        assertEquals(new Double(0), sum.getValue());
+        assertNull(average.getValue());
+
+        source.addAll(Arrays.asList(new long[] { 0, 1 }, new long[] { 500, 2 }, new long[] { 900, 3 }));
+        assertEquals(new Double(6), sum.getValue());
+        assertEquals(new Double(1.5), rate.getValue());
+
+        // the first element is now a second old
+        source.add(new long[] { 1000, 4 });
+        assertEquals(new Double(9), sum.getValue());
+        assertEquals(new Double(3), average.getValue());
+        assertEquals(new Double(2), rate.getValue());
+
+        source.add(new long[] { 5000, 5 });
+        assertEquals(new Double(5), sum.getValue());
+        assertEquals(new Double(0.5), rate.getValue());
+    }
+
+    /**
+     * An update before a time window may move the element into it.
+     */
+    @Test
+    public void testUpdateEntersTimeWindow() {
+        final EventList<Long> source = new BasicEventList<>();
+        source.addAll(Arrays.asList(new Long(100), new Long(110), new Long(130)));
+        final Calculation<Double> sum = Calculations.rollingSum(source, time -> time, time -> time, 25);
+        final Calculation<Double> rate = Calculations.ratePerSecond(source, time -> time, 25);
+        assertEquals(new Double(240), sum.getValue());
+        assertEquals(new Double(80), rate.getValue());
+
+        source.set(0, new Long(108));
+        assertEquals(new Double(348), sum.getValue());
+        assertEquals(new Double(120), rate.getValue());
+
+        // and back out again
+        source.set(0, new Long(100));
+        assertEquals(new Double(240), sum.getValue());
+    }
+
+    /**
+     * Compare the windows to those computed from scratch after many random
+     * changes, mostly appends.
+     */
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(5);
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Double> sum = Calculations.rollingSum(source, 10);
+        final Calculation<Double> average = Calculations.movingAverage(source, 7);
+        final Calculation<Double> ewma = Calculations.ewma(source, 5, 0.3);
+
+        for (int i = 0; i < 1000; i++) {
+            final int operation = dice.nextInt(10);
+            if (operation < 6 || source.isEmpty()) source.add(new Integer(dice.nextInt(100)));
+            else if (operation < 8) source.remove(0);
+            else if (operation == 8) source.add(dice.nextInt(source.size() + 1), new Integer(dice.nextInt(100)));
+            else source.set(dice.nextInt(source.size()), new Integer(dice.nextInt(100)));
+
+            assertEquals(sumOfLast(source, 10), sum.getValue().doubleValue(), 1e-6);
+            if (source.isEmpty()) {
+                assertNull(average.getValue());
+                assertNull(ewma.getValue());
+                continue;
+            }
+            final int averageCount = Math.min(7, source.size());
+            assertEquals(sumOfLast(source, 7) / averageCount, average.getValue().doubleValue(), 1e-6);
+
+            double weightedSum = 0;
+            double totalWeight = 0;
+            for (int j = Math.max(0, source.size() - 5); j < source.size(); j++) {
+                weightedSum = weightedSum * 0.7 + source.get(j).intValue();
+                totalWeight = totalWeight * 0.7 + 1;
+            }
+            assertEquals(weightedSum / totalWeight, ewma.getValue().doubleValue(), 1e-6);
+        }
+    }
+
+    private static double sumOfLast(EventList<Integer> numbers, int count) {
+        double sum = 0;
+        for (int i = Math.max(0, numbers.size() - count); i < numbers.size(); i++)
+            sum += numbers.get(i).intValue();
+        return sum;
+    }
+}
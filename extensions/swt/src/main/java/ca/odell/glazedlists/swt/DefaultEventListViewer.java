@@ -202,6 +202,17 @@ public class DefaultEventListViewer<E> implements ListEventListener<E> {
      */
     @Override
     public void listChanged(ListEvent<E> listChanges) {
+        // a change to most of the list is cheaper to apply by replacing all items
+        if (listChanges.isStructuralReset()) {
+            final String[] items = new String[source.size()];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = itemFormat.format(source.get(i));
+            }
+            list.setItems(items);
+            selection.fireSelectionChanged(0, source.size() - 1);
+            return;
+        }
+
         int firstModified = source.size();
         // Apply the list changes
         while (listChanges.next()) {
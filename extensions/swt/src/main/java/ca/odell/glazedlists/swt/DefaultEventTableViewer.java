@@ -386,6 +386,15 @@ public class DefaultEventTableViewer<E> implements ListEventListener<E> {
             return;
         }
 
+        // a change to most of the list is cheaper to apply by refreshing all rows
+        if (listChanges.isStructuralReset()) {
+            table.setRedraw(false);
+            tableHandler.reset();
+            selection.fireSelectionChanged(0, source.size() - 1);
+            table.setRedraw(true);
+            return;
+        }
+
         Barcode deletes = new Barcode();
         deletes.addWhite(0, source.size());
         int firstChange = source.size();
@@ -560,6 +569,11 @@ public class DefaultEventTableViewer<E> implements ListEventListener<E> {
          * redraws the table
          */
         public void redraw();
+
+        /**
+         * Resizes the table to the source and renders all rows again
+         */
+        public void reset();
     }
 
     /**
@@ -623,6 +637,13 @@ public class DefaultEventTableViewer<E> implements ListEventListener<E> {
 				renderTableItem(table.getItem(i), source.get(i), i);
 			}
 		}
+
+        /** {@inheritedDoc} */
+        @Override
+        public void reset() {
+            table.setItemCount(source.size());
+            redraw();
+        }
     }
 
     /**
@@ -751,5 +772,11 @@ public class DefaultEventTableViewer<E> implements ListEventListener<E> {
 			requested.addWhite(0, source.size());
 			table.setItemCount(source.size());
 		}
+
+        /** {@inheritedDoc} */
+        @Override
+        public void reset() {
+            redraw();
+        }
     }
 }
\ No newline at end of file
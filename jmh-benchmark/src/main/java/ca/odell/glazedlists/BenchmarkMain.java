@@ -1,17 +1,63 @@
 package ca.odell.glazedlists;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+/**
+ * Runs the benchmarks with the JMH command line. Alternatively, runs the
+ * {@link PipelineBenchmark} for a named scenario, profiling allocations:
+ *
+ * <pre>
+ * BenchmarkMain scenario &lt;blotter|feed|search&gt; [JMH options]
+ * BenchmarkMain scenario &lt;name&gt; --recording &lt;file&gt; [JMH options]
+ * </pre>
+ *
+ * where a recording replays a {@link ChangeStream} file, labelled with the name.
+ */
 public class BenchmarkMain {
 
     public static void main(String[] args) {
         try {
-            Main.main(args);
-        } catch (RunnerException | IOException e) {
+            if(args.length > 0 && "scenario".equals(args[0])) {
+                runScenario(args);
+            } else {
+                Main.main(args);
+            }
+        } catch (RunnerException | IOException | CommandLineOptionException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private static void runScenario(String[] args) throws RunnerException, CommandLineOptionException {
+        if(args.length < 2) {
+            throw new IllegalArgumentException("Usage: scenario <" + String.join("|", ChangeStream.SCENARIOS) + "> [--recording <file>] [JMH options]");
+        }
+        final String scenario = args[1];
+        String recording = "";
+        int jmhArgs = 2;
+        if(args.length > 3 && "--recording".equals(args[2])) {
+            recording = args[3];
+            jmhArgs = 4;
+        } else if(!Arrays.asList(ChangeStream.SCENARIOS).contains(scenario)) {
+            throw new IllegalArgumentException("Unknown scenario \"" + scenario + "\", expected one of " + Arrays.toString(ChangeStream.SCENARIOS) + " or a --recording");
+        }
+
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(Arrays.copyOfRange(args, jmhArgs, args.length)))
+                .include(PipelineBenchmark.class.getSimpleName())
+                .param("scenario", scenario)
+                .param("recording", recording)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
 }
@@ -0,0 +1,287 @@
+package ca.odell.glazedlists;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A recorded sequence of changes to the rows at the root of a pipeline,
+ * replayed by {@link PipelineBenchmark}. Each change is delivered as its own
+ * {@link ca.odell.glazedlists.event.ListEvent}.
+ *
+ * <p>Streams are either generated for one of the named {@link #SCENARIOS},
+ * or read from a text file with one record per line. Blank lines and lines
+ * starting with <code>#</code> are ignored:
+ *
+ * <pre>
+ * row SYMBOL PRICE QUANTITY            an initial row, before any change
+ * insert INDEX SYMBOL PRICE QUANTITY   insert a new row
+ * delete INDEX                         remove a row
+ * set INDEX SYMBOL PRICE QUANTITY      replace a row
+ * price INDEX PRICE                    change the bound price property of a row
+ * filter [TEXT]                        change the filter text, clearing it if absent
+ * </pre>
+ *
+ * <p>A stream is replayed in a loop, so {@link #cyclic()} appends the
+ * changes that undo it, leaving the rows as they were when the loop restarts.
+ */
+final class ChangeStream {
+
+    /** the scenarios that can be generated, each modelled on a workload shape */
+    static final String[] SCENARIOS = { "blotter", "feed", "search" };
+
+    /** the number of changes in a generated stream, before its inverse is appended */
+    private static final int GENERATED_CHANGES = 10000;
+
+    /** the letters of generated symbols, few enough to form large groups */
+    private static final String SYMBOL_LETTERS = "ABCDEFGH";
+
+    /** The kind of each {@link Change}. */
+    enum Kind { ROW, INSERT, DELETE, SET, PRICE, FILTER }
+
+    /**
+     * A single change, or an initial row. Fields that don't apply to the
+     * change's kind are unused.
+     */
+    static final class Change {
+        final Kind kind;
+        final int index;
+        final String symbol;
+        final double price;
+        final int quantity;
+        final String text;
+
+        Change(Kind kind, int index, String symbol, double price, int quantity, String text) {
+            this.kind = kind;
+            this.index = index;
+            this.symbol = symbol;
+            this.price = price;
+            this.quantity = quantity;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            switch(kind) {
+                case ROW: return "row " + symbol + " " + price + " " + quantity;
+                case INSERT: return "insert " + index + " " + symbol + " " + price + " " + quantity;
+                case DELETE: return "delete " + index;
+                case SET: return "set " + index + " " + symbol + " " + price + " " + quantity;
+                case PRICE: return "price " + index + " " + price;
+                default: return text.isEmpty() ? "filter" : "filter " + text;
+            }
+        }
+    }
+
+    /** the rows before the first change, all of kind {@link Kind#ROW} */
+    final List<Change> rows;
+
+    /** the changes, in order */
+    final List<Change> changes;
+
+    private ChangeStream(List<Change> rows, List<Change> changes) {
+        this.rows = rows;
+        this.changes = changes;
+    }
+
+    /**
+     * Get a stream that applies these changes and then undoes them, in
+     * reverse order, so that it can be replayed repeatedly.
+     *
+     * @throws IllegalArgumentException if a change refers to an index that
+     *      doesn't exist when it is applied
+     */
+    ChangeStream cyclic() {
+        final List<Change> state = new ArrayList<>(rows);
+        final List<Change> inverses = new ArrayList<>(changes.size());
+        String filterText = "";
+        for(Change change : changes) {
+            final int limit = change.kind == Kind.INSERT ? state.size() + 1 : state.size();
+            if(change.kind != Kind.FILTER && (change.index < 0 || change.index >= limit)) {
+                throw new IllegalArgumentException("Index out of bounds in change \"" + change + "\", size " + state.size());
+            }
+            switch(change.kind) {
+                case INSERT:
+                    state.add(change.index, row(change.symbol, change.price, change.quantity));
+                    inverses.add(delete(change.index));
+                    break;
+                case DELETE:
+                    final Change deleted = state.remove(change.index);
+                    inverses.add(insert(change.index, deleted.symbol, deleted.price, deleted.quantity));
+                    break;
+                case SET:
+                    final Change replaced = state.set(change.index, row(change.symbol, change.price, change.quantity));
+                    inverses.add(set(change.index, replaced.symbol, replaced.price, replaced.quantity));
+                    break;
+                case PRICE:
+                    final Change repriced = state.get(change.index);
+                    state.set(change.index, row(repriced.symbol, change.price, repriced.quantity));
+                    inverses.add(price(change.index, repriced.price));
+                    break;
+                case FILTER:
+                    inverses.add(filter(filterText));
+                    filterText = change.text;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unexpected change \"" + change + "\"");
+            }
+        }
+        Collections.reverse(inverses);
+        final List<Change> cycle = new ArrayList<>(changes.size() * 2);
+        cycle.addAll(changes);
+        cycle.addAll(inverses);
+        return new ChangeStream(rows, cycle);
+    }
+
+    /**
+     * Generate the stream for the named scenario:
+     * <ul>
+     *   <li><code>blotter</code>: a trading blotter, mostly in-place price
+     *       changes with occasional inserts, deletes and filter changes
+     *   <li><code>feed</code>: a log tail, appending rows at the end and
+     *       trimming the oldest from the start
+     *   <li><code>search</code>: type-ahead filtering, adding and removing
+     *       characters from the filter text while prices change
+     * </ul>
+     *
+     * @param size the number of initial rows
+     */
+    static ChangeStream generate(String scenario, int size, long seed) {
+        final Random dice = new Random(seed);
+        final List<Change> rows = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            rows.add(row(symbol(dice), nextPrice(dice), 1 + dice.nextInt(1000)));
+        }
+        final List<Change> changes = new ArrayList<>(GENERATED_CHANGES);
+        int rowCount = size;
+        final StringBuilder filterText = new StringBuilder();
+
+        for(int c = 0; c < GENERATED_CHANGES; c++) {
+            final int roll = dice.nextInt(100);
+            final Change change;
+            if("blotter".equals(scenario)) {
+                if(roll < 80 && rowCount > 0) change = price(dice.nextInt(rowCount), nextPrice(dice));
+                else if(roll < 84 && rowCount > 0) change = set(dice.nextInt(rowCount), symbol(dice), nextPrice(dice), 1 + dice.nextInt(1000));
+                else if(roll < 99 && (roll & 1) == 0 && rowCount > 0) change = delete(dice.nextInt(rowCount));
+                else if(roll < 99) change = insert(dice.nextInt(rowCount + 1), symbol(dice), nextPrice(dice), 1 + dice.nextInt(1000));
+                else change = filter(filterText.length() == 0 ? SYMBOL_LETTERS.substring(0, 1) : "");
+            } else if("feed".equals(scenario)) {
+                if(roll < 10 && rowCount > 0) change = price(rowCount - 1 - dice.nextInt(Math.min(rowCount, 50)), nextPrice(dice));
+                else if(rowCount > size) change = delete(0);
+                else change = insert(rowCount, symbol(dice), nextPrice(dice), 1 + dice.nextInt(1000));
+            } else if("search".equals(scenario)) {
+                if(roll < 40) {
+                    if(filterText.length() == 3 || (filterText.length() > 0 && (roll & 1) == 0)) filterText.setLength(filterText.length() - 1);
+                    else filterText.append(SYMBOL_LETTERS.charAt(dice.nextInt(SYMBOL_LETTERS.length())));
+                    change = filter(filterText.toString());
+                } else if(rowCount > 0) {
+                    change = price(dice.nextInt(rowCount), nextPrice(dice));
+                } else {
+                    change = insert(0, symbol(dice), nextPrice(dice), 1 + dice.nextInt(1000));
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown scenario \"" + scenario + "\"");
+            }
+
+            if(change.kind == Kind.INSERT) rowCount++;
+            else if(change.kind == Kind.DELETE) rowCount--;
+            else if(change.kind == Kind.FILTER && !"search".equals(scenario)) {
+                filterText.setLength(0);
+                filterText.append(change.text);
+            }
+            changes.add(change);
+        }
+        return new ChangeStream(rows, changes);
+    }
+
+    /**
+     * Read a stream recorded in the format described above.
+     */
+    static ChangeStream read(String path) throws IOException {
+        try(Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * Read a stream recorded in the format described above.
+     */
+    static ChangeStream read(Reader reader) throws IOException {
+        final BufferedReader lines = new BufferedReader(reader);
+        final List<Change> rows = new ArrayList<>();
+        final List<Change> changes = new ArrayList<>();
+        int lineNumber = 0;
+        for(String line; (line = lines.readLine()) != null; ) {
+            lineNumber++;
+            line = line.trim();
+            if(line.isEmpty() || line.startsWith("#")) continue;
+            final String[] fields = line.split("\\s+");
+            try {
+                final String record = fields[0].toLowerCase(Locale.ROOT);
+                if("row".equals(record)) {
+                    if(!changes.isEmpty()) throw new IllegalArgumentException("rows must precede changes");
+                    rows.add(row(fields[1], Double.parseDouble(fields[2]), Integer.parseInt(fields[3])));
+                } else if("insert".equals(record)) {
+                    changes.add(insert(Integer.parseInt(fields[1]), fields[2], Double.parseDouble(fields[3]), Integer.parseInt(fields[4])));
+                } else if("delete".equals(record)) {
+                    changes.add(delete(Integer.parseInt(fields[1])));
+                } else if("set".equals(record)) {
+                    changes.add(set(Integer.parseInt(fields[1]), fields[2], Double.parseDouble(fields[3]), Integer.parseInt(fields[4])));
+                } else if("price".equals(record)) {
+                    changes.add(price(Integer.parseInt(fields[1]), Double.parseDouble(fields[2])));
+                } else if("filter".equals(record)) {
+                    changes.add(filter(fields.length > 1 ? fields[1] : ""));
+                } else {
+                    throw new IllegalArgumentException("unknown record \"" + fields[0] + "\"");
+                }
+            } catch(RuntimeException e) {
+                throw new IOException("Malformed change on line " + lineNumber + ": " + line, e);
+            }
+        }
+        return new ChangeStream(rows, changes);
+    }
+
+    private static String symbol(Random dice) {
+        final char[] result = new char[3];
+        for(int i = 0; i < result.length; i++) {
+            result[i] = SYMBOL_LETTERS.charAt(dice.nextInt(SYMBOL_LETTERS.length()));
+        }
+        return new String(result);
+    }
+
+    private static double nextPrice(Random dice) {
+        return dice.nextInt(100000) / 100.0;
+    }
+
+    private static Change row(String symbol, double price, int quantity) {
+        return new Change(Kind.ROW, -1, symbol, price, quantity, null);
+    }
+
+    private static Change insert(int index, String symbol, double price, int quantity) {
+        return new Change(Kind.INSERT, index, symbol, price, quantity, null);
+    }
+
+    private static Change delete(int index) {
+        return new Change(Kind.DELETE, index, null, 0, 0, null);
+    }
+
+    private static Change set(int index, String symbol, double price, int quantity) {
+        return new Change(Kind.SET, index, symbol, price, quantity, null);
+    }
+
+    private static Change price(int index, double price) {
+        return new Change(Kind.PRICE, index, null, price, 0, null);
+    }
+
+    private static Change filter(String text) {
+        return new Change(Kind.FILTER, -1, null, 0, 0, text);
+    }
+}
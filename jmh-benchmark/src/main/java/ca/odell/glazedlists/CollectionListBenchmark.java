@@ -0,0 +1,45 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+
+/**
+ * Benchmarks {@link CollectionList} for changes to its source, where each
+ * source element has between one and four children.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CollectionListBenchmark extends TransformedListBenchmark<Integer> {
+
+    private CollectionList<Integer, Integer> children;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(1000));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        children = new CollectionList<>(source, parent -> Collections.nCopies(1 + parent.intValue() % 4, parent));
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return children;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return children;
+    }
+}
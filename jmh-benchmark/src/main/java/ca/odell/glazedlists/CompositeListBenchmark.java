@@ -0,0 +1,75 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link CompositeList} for changes to one of its members, and
+ * for adding and removing a member.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompositeListBenchmark extends TransformedListBenchmark<Integer> {
+
+    /** the number of other members, each as large as the source list */
+    @Param({ "1", "10" })
+    private int otherMembers;
+
+    private CompositeList<Integer> composite;
+
+    /** a member that is added and removed */
+    private EventList<Integer> extraMember;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        composite = new CompositeList<>(base.getPublisher(), base.getReadWriteLock());
+        for(int m = 0; m < otherMembers; m++) {
+            composite.addMemberList(createMember());
+        }
+        // the changing member is in the middle
+        composite.addMemberList(source);
+        for(int m = 0; m < otherMembers; m++) {
+            composite.addMemberList(createMember());
+        }
+        extraMember = createMember();
+    }
+
+    private EventList<Integer> createMember() {
+        EventList<Integer> member = composite.createMemberList();
+        for(int i = 0; i < size; i++) {
+            member.add(createElement());
+        }
+        return member;
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return composite;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return composite;
+    }
+
+    @Benchmark
+    public EventList<Integer> testMemberAddRemove() {
+        composite.addMemberList(extraMember);
+        composite.removeMemberList(extraMember);
+        return composite;
+    }
+}
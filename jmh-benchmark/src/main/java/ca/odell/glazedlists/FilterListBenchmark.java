@@ -0,0 +1,85 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.AtLeastMatcherEditor;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link FilterList} for changes to its matcher and to its source.
+ * Each invocation starts with a matcher that accepts half of the elements.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FilterListBenchmark extends TransformedListBenchmark<Integer> {
+
+    private static final int VALUE_RANGE = 1000;
+
+    private AtLeastMatcherEditor matcherEditor;
+    private FilterList<Integer> filtered;
+
+    /** accepts even values, which is neither stricter nor looser than the editor's matcher */
+    private final Matcher<Integer> evenMatcher = value -> (value.intValue() & 1) == 0;
+
+    /** whether the filter has been changed away from its initial matcher */
+    private boolean matcherReplaced;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(VALUE_RANGE));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        matcherEditor = new AtLeastMatcherEditor(VALUE_RANGE / 2);
+        filtered = new FilterList<>(source, matcherEditor);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetMatcher() {
+        if(matcherReplaced) {
+            filtered.setMatcherEditor(matcherEditor);
+            matcherReplaced = false;
+        }
+        matcherEditor.setMinimum(VALUE_RANGE / 2);
+    }
+
+    @Benchmark
+    public EventList<Integer> testMatcherChange() {
+        filtered.setMatcher(evenMatcher);
+        matcherReplaced = true;
+        return filtered;
+    }
+
+    @Benchmark
+    public EventList<Integer> testConstrain() {
+        matcherEditor.setMinimum(VALUE_RANGE * 3 / 4);
+        return filtered;
+    }
+
+    @Benchmark
+    public EventList<Integer> testRelax() {
+        matcherEditor.setMinimum(VALUE_RANGE / 4);
+        return filtered;
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return filtered;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return filtered;
+    }
+}
@@ -0,0 +1,51 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link FunctionList} for changes to its source and for reading
+ * its transformed values.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FunctionListBenchmark extends TransformedListBenchmark<Integer> {
+
+    private FunctionList<Integer, Long> function;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        function = new FunctionList<>(source, value -> Long.valueOf(value.longValue() * 31));
+    }
+
+    @Benchmark
+    public EventList<Long> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return function;
+    }
+
+    @Benchmark
+    public EventList<Long> testUpdate() {
+        updateBatch();
+        return function;
+    }
+
+    @Benchmark
+    public void testReadAll(Blackhole blackhole) {
+        for(int i = 0, n = function.size(); i < n; i++) {
+            blackhole.consume(function.get(i));
+        }
+    }
+}
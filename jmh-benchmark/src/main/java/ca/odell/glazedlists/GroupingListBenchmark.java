@@ -0,0 +1,50 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+
+/**
+ * Benchmarks {@link GroupingList} for changes to its source, with values drawn
+ * from a range that determines the size of each group.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GroupingListBenchmark extends TransformedListBenchmark<Integer> {
+
+    /** the number of distinct values in the source list */
+    @Param({ "100", "10000" })
+    private int distinctValues;
+
+    private GroupingList<Integer> grouped;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(distinctValues));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        grouped = GroupingList.create(source);
+    }
+
+    @Benchmark
+    public EventList<List<Integer>> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return grouped;
+    }
+
+    @Benchmark
+    public EventList<List<Integer>> testUpdate() {
+        updateBatch();
+        return grouped;
+    }
+}
@@ -0,0 +1,64 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link ListSelection} for changes to the selection and to its
+ * source, with every other element selected initially.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ListSelectionBenchmark extends TransformedListBenchmark<Integer> {
+
+    private ListSelection<Integer> selection;
+
+    /** every other index of the source list */
+    private int[] alternateIndices;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        selection = new ListSelection<>(source);
+        alternateIndices = new int[(size + 1) / 2];
+        for(int i = 0; i < alternateIndices.length; i++) {
+            alternateIndices[i] = i * 2;
+        }
+        selection.setSelection(alternateIndices);
+    }
+
+    @Benchmark
+    public EventList<Integer> testSelectDeselect() {
+        selection.select(getUpdateIndices());
+        selection.setSelection(alternateIndices);
+        return selection.getSelected();
+    }
+
+    @Benchmark
+    public EventList<Integer> testInvert() {
+        selection.invertSelection();
+        return selection.getSelected();
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return selection.getSelected();
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return selection.getSelected();
+    }
+}
@@ -0,0 +1,85 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+
+/**
+ * Benchmarks {@link ObservableElementList} for changes to its elements and to
+ * its source. Elements are JavaBeans observed with a bean connector.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ObservableElementListBenchmark extends TransformedListBenchmark<ObservableElementListBenchmark.Bean> {
+
+    private ObservableElementList<Bean> observed;
+
+    @Override
+    protected Bean createElement() {
+        return new Bean(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        observed = new ObservableElementList<>(source, GlazedLists.beanConnector(Bean.class));
+    }
+
+    @Benchmark
+    public EventList<Bean> testElementChanges() {
+        for(int index : getUpdateIndices()) {
+            Bean bean = observed.get(index);
+            bean.setValue(bean.getValue() + 1);
+        }
+        return observed;
+    }
+
+    @Benchmark
+    public EventList<Bean> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return observed;
+    }
+
+    @Benchmark
+    public EventList<Bean> testUpdate() {
+        updateBatch();
+        return observed;
+    }
+
+    /**
+     * A JavaBean with a single bound property.
+     */
+    public static class Bean {
+        private final PropertyChangeSupport support = new PropertyChangeSupport(this);
+        private int value;
+
+        public Bean(int value) {
+            this.value = value;
+        }
+
+        public int getValue() {
+            return value;
+        }
+
+        public void setValue(int value) {
+            int oldValue = this.value;
+            this.value = value;
+            support.firePropertyChange("value", oldValue, value);
+        }
+
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            support.addPropertyChangeListener(listener);
+        }
+
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+}
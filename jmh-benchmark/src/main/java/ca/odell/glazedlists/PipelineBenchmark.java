@@ -0,0 +1,262 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.TableFormat;
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+import ca.odell.glazedlists.swing.AdvancedTableModel;
+import ca.odell.glazedlists.swing.GlazedListsSwing;
+import ca.odell.glazedlists.swing.MutableTableModelEvent;
+import ca.odell.glazedlists.swing.TableModelEventAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Benchmarks a complete pipeline, from the rows at its root to the table
+ * model displaying them:
+ *
+ * <pre>
+ * BasicEventList &rarr; ObservableElementList &rarr; FilterList(TextMatcherEditor)
+ *     &rarr; SortedList &rarr; GroupingList &rarr; DefaultEventTableModel
+ * </pre>
+ *
+ * <p>Each invocation replays the next change of a {@link ChangeStream}, so
+ * throughput is in events and the sampled times give the latency percentiles
+ * of a single event. Run with the GC profiler, as
+ * <code>BenchmarkMain scenario</code> does, for the bytes allocated per event.
+ *
+ * <p>The table model is listened to in place of a <code>JTable</code>. Like a
+ * table, it coalesces the rows to repaint and then reads each column of those
+ * that would be visible, once per change. The model's events are
+ * delivered on the benchmark thread rather than the event dispatch thread, so
+ * the model is created with an adapter that doesn't check the thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PipelineBenchmark {
+
+    /** the number of rows a table repaints for each change, as if in its viewport */
+    private static final int VISIBLE_ROWS = 40;
+
+    /** the workload shape, one of {@link ChangeStream#SCENARIOS} */
+    @Param({ "blotter", "feed", "search" })
+    protected String scenario;
+
+    /** the number of rows in a generated stream before its first change */
+    @Param({ "10000" })
+    protected int size;
+
+    /** the file of a recorded stream, replayed in place of the generated stream if set */
+    @Param({ "" })
+    protected String recording;
+
+    private BasicEventList<Row> base;
+    private TextMatcherEditor<Row> matcherEditor;
+    private AdvancedTableModel<List<Row>> tableModel;
+
+    private ChangeStream.Change[] changes;
+    private int nextChange;
+
+    /** the first row changed since the table was last painted */
+    private int firstDirtyRow = Integer.MAX_VALUE;
+
+    /** a sum of the cells read by the table, so they can't be optimized away */
+    private long cellsRead;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ChangeStream stream = recording.isEmpty()
+                ? ChangeStream.generate(scenario, size, 0)
+                : ChangeStream.read(recording);
+        changes = stream.cyclic().changes.toArray(new ChangeStream.Change[0]);
+        if(changes.length == 0) throw new IllegalArgumentException("No changes to replay");
+
+        base = new BasicEventList<>();
+        for(ChangeStream.Change row : stream.rows) {
+            base.add(new Row(row.symbol, row.price, row.quantity));
+        }
+        final ObservableElementList<Row> observed = new ObservableElementList<>(base, GlazedLists.beanConnector(Row.class));
+        matcherEditor = new TextMatcherEditor<>((baseList, row) -> baseList.add(row.getSymbol()));
+        final FilterList<Row> filtered = new FilterList<>(observed, matcherEditor);
+        final SortedList<Row> sorted = new SortedList<>(filtered, Comparator.comparingDouble(Row::getPrice));
+        final GroupingList<Row> grouped = new GroupingList<>(sorted, Comparator.comparing(Row::getSymbol));
+        tableModel = GlazedListsSwing.eventTableModel(grouped, new GroupTableFormat(), UncheckedEventAdapter::new);
+        tableModel.addTableModelListener(event -> firstDirtyRow = Math.min(firstDirtyRow, Math.max(0, event.getFirstRow())));
+        nextChange = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        tableModel.dispose();
+    }
+
+    @Benchmark
+    public long testReplay() {
+        final ChangeStream.Change change = changes[nextChange];
+        nextChange = nextChange + 1 == changes.length ? 0 : nextChange + 1;
+
+        switch(change.kind) {
+            case PRICE:
+                // the bean notifies the ObservableElementList, which takes its own lock
+                base.get(change.index).setPrice(change.price);
+                break;
+            case FILTER:
+                matcherEditor.setFilterText(change.text.isEmpty() ? new String[0] : new String[] { change.text });
+                break;
+            default:
+                base.getReadWriteLock().writeLock().lock();
+                try {
+                    if(change.kind == ChangeStream.Kind.INSERT) base.add(change.index, new Row(change.symbol, change.price, change.quantity));
+                    else if(change.kind == ChangeStream.Kind.DELETE) base.remove(change.index);
+                    else base.set(change.index, new Row(change.symbol, change.price, change.quantity));
+                } finally {
+                    base.getReadWriteLock().writeLock().unlock();
+                }
+        }
+        paint();
+        return cellsRead;
+    }
+
+    /**
+     * Read every column of the visible rows from the first that has changed.
+     */
+    private void paint() {
+        final int last = Math.min(tableModel.getRowCount(), firstDirtyRow + VISIBLE_ROWS);
+        for(int row = firstDirtyRow; row < last; row++) {
+            for(int column = 0; column < tableModel.getColumnCount(); column++) {
+                cellsRead += tableModel.getValueAt(row, column).hashCode();
+            }
+        }
+        firstDirtyRow = Integer.MAX_VALUE;
+    }
+
+    /**
+     * Shows each group with its symbol, row count and total quantity.
+     */
+    private static class GroupTableFormat implements TableFormat<List<Row>> {
+        @Override
+        public int getColumnCount() {
+            return 3;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "Symbol" : column == 1 ? "Rows" : "Quantity";
+        }
+
+        @Override
+        public Object getColumnValue(List<Row> group, int column) {
+            if(column == 0) return group.get(0).getSymbol();
+            if(column == 1) return Integer.valueOf(group.size());
+            long quantity = 0;
+            for(int i = 0; i < group.size(); i++) {
+                quantity += group.get(i).getQuantity();
+            }
+            return Long.valueOf(quantity);
+        }
+    }
+
+    /**
+     * Converts each block of a list event to a table model event, like the
+     * default adapter, but on whichever thread the event arrives.
+     */
+    private static class UncheckedEventAdapter implements TableModelEventAdapter<List<Row>> {
+        private final AbstractTableModel tableModel;
+        private final MutableTableModelEvent tableModelEvent;
+
+        UncheckedEventAdapter(AbstractTableModel tableModel) {
+            this.tableModel = tableModel;
+            this.tableModelEvent = new MutableTableModelEvent(tableModel);
+        }
+
+        @Override
+        public void listChanged(ListEvent<List<Row>> listChanges) {
+            while(listChanges.nextBlock()) {
+                fireTableChanged(listChanges.getBlockStartIndex(), listChanges.getBlockEndIndex(), listChanges.getType());
+            }
+        }
+
+        @Override
+        public void fireTableStructureChanged() {
+            tableModelEvent.setStructureChanged();
+            tableModel.fireTableChanged(tableModelEvent);
+        }
+
+        @Override
+        public void fireTableDataChanged() {
+            tableModelEvent.setAllDataChanged();
+            tableModel.fireTableChanged(tableModelEvent);
+        }
+
+        @Override
+        public void fireTableChanged(int startIndex, int endIndex, int listChangeType) {
+            tableModelEvent.setValues(startIndex, endIndex, listChangeType);
+            tableModel.fireTableChanged(tableModelEvent);
+        }
+    }
+
+    /**
+     * A row of the pipeline, a JavaBean whose price is a bound property.
+     */
+    public static class Row {
+        private final PropertyChangeSupport support = new PropertyChangeSupport(this);
+        private final String symbol;
+        private final int quantity;
+        private double price;
+
+        public Row(String symbol, double price, int quantity) {
+            this.symbol = symbol;
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            final double oldPrice = this.price;
+            this.price = price;
+            support.firePropertyChange("price", oldPrice, price);
+        }
+
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            support.addPropertyChangeListener(listener);
+        }
+
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            support.removePropertyChangeListener(listener);
+        }
+    }
+}
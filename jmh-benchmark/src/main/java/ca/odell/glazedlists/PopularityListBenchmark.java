@@ -0,0 +1,48 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link PopularityList} for changes to its source, with values drawn
+ * from a range that determines how often each value occurs.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PopularityListBenchmark extends TransformedListBenchmark<Integer> {
+
+    /** the number of distinct values in the source list */
+    @Param({ "100", "10000" })
+    private int distinctValues;
+
+    private PopularityList<Integer> popular;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(distinctValues));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        popular = PopularityList.create(source);
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return popular;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return popular;
+    }
+}
@@ -0,0 +1,56 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link RangeList} for moving its range and for changes to its
+ * source. The range covers the middle half of the source list and moves by
+ * the batch size.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RangeListBenchmark extends TransformedListBenchmark<Integer> {
+
+    private RangeList<Integer> range;
+
+    /** whether the range is currently moved from its initial position */
+    private boolean moved;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        range = new RangeList<>(source);
+        range.setHeadRange(size / 4, size * 3 / 4);
+    }
+
+    @Benchmark
+    public EventList<Integer> testRangeMove() {
+        final int offset = moved ? 0 : Math.min(batchSize, size / 4);
+        range.setHeadRange(size / 4 + offset, size * 3 / 4 + offset);
+        moved = !moved;
+        return range;
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return range;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return range;
+    }
+}
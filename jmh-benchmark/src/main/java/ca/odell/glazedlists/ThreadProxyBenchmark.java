@@ -78,6 +78,61 @@ public class ThreadProxyBenchmark {
         return threadProxied;
     }
 
+    /**
+     * Measures only the work left for the proxy thread after a burst of
+     * changes, which is what a GUI thread has to do.
+     */
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testDeliverBurst(Burst burst) {
+        burst.threadProxied.runScheduled();
+        return burst.threadProxied;
+    }
+
+    /**
+     * A burst of changes waiting to be delivered by a thread proxy that
+     * either applies them on the proxy thread or has precomputed its cache.
+     */
+    @State(Scope.Thread)
+    public static class Burst {
+
+        @Param({ "false", "true" })
+        private boolean precomputeCache;
+
+        private DeferredThreadProxy<Integer> threadProxied;
+
+        @Setup(Level.Invocation)
+        public void setUp(ThreadProxyBenchmark benchmark) {
+            threadProxied = new DeferredThreadProxy<>(benchmark.filtered, precomputeCache);
+            benchmark.matcherEditor.setMinimum(benchmark.dice.nextInt(1000));
+        }
+    }
+
+    /**
+     * A thread proxy that runs the proxy thread's work only when told to.
+     */
+    public static class DeferredThreadProxy<T> extends ThreadProxyEventList<T> {
+        private final List<Runnable> scheduled = new ArrayList<>();
+
+        public DeferredThreadProxy(EventList<T> source, boolean precomputeCache) {
+            super(source, precomputeCache);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            scheduled.add(runnable);
+        }
+
+        public void runScheduled() {
+            for (Runnable runnable : scheduled) {
+                runnable.run();
+            }
+            scheduled.clear();
+        }
+    }
+
     /**
      * A thread proxy that uses clear and add all to update from one list to another.
      */
@@ -0,0 +1,54 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link ThresholdList} for changes to its threshold and to its
+ * source. The threshold alternates between accepting three quarters and
+ * one quarter of the elements.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ThresholdListBenchmark extends TransformedListBenchmark<Integer> {
+
+    private static final int VALUE_RANGE = 1000;
+
+    private ThresholdList<Integer> threshold;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(VALUE_RANGE));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        threshold = new ThresholdList<>(source, Integer::intValue);
+        threshold.setLowerThreshold(VALUE_RANGE / 4);
+    }
+
+    @Benchmark
+    public EventList<Integer> testThresholdChange() {
+        final boolean loose = threshold.getLowerThreshold() == VALUE_RANGE / 4;
+        threshold.setLowerThreshold(loose ? VALUE_RANGE * 3 / 4 : VALUE_RANGE / 4);
+        return threshold;
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return threshold;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return threshold;
+    }
+}
@@ -0,0 +1,51 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link TransactionList} with rollback support, committing and
+ * rolling back batches of changes.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TransactionListBenchmark extends TransformedListBenchmark<Integer> {
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt());
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        // replace the source with one that records changes for rollback
+        source.dispose();
+        source = new TransactionList<>(base);
+    }
+
+    @Benchmark
+    public EventList<Integer> testCommit() {
+        insertBatch();
+        removeBatch();
+        return source;
+    }
+
+    @Benchmark
+    public EventList<Integer> testRollback() {
+        source.beginEvent();
+        applyInserts();
+        source.rollbackEvent();
+        return source;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return source;
+    }
+}
@@ -0,0 +1,169 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Common state for the benchmarks of each {@link TransformedList}. The list
+ * under test is built over {@link #source}, to which changes are applied in
+ * batches. Each batch is delivered as a single {@link ca.odell.glazedlists.event.ListEvent}.
+ *
+ * <p>The benchmarks are parameterised over the size of the source list, the
+ * number of changes in each batch and where in the list those changes are
+ * made. Subclasses create their list in a <code>@Setup</code> method that
+ * calls {@link #setUpSource()} first.
+ */
+@State(Scope.Thread)
+public abstract class TransformedListBenchmark<E> {
+
+    /** Where in the source list a batch of changes is made. */
+    public enum Distribution {
+        /** changes at random indices throughout the list */
+        UNIFORM,
+        /** changes at consecutive indices, starting at a random index */
+        CLUSTERED,
+        /** changes at the end of the list */
+        APPEND
+    }
+
+    /** the number of elements in the source list */
+    @Param({ "1000", "100000" })
+    protected int size;
+
+    /** the number of changes in each batch, limited to the size of the list */
+    @Param({ "1", "100", "10000" })
+    protected int batchSize;
+
+    /** where in the list each batch of changes is made */
+    @Param({ "UNIFORM", "CLUSTERED", "APPEND" })
+    protected Distribution distribution;
+
+    /** the root of the pipeline */
+    protected BasicEventList<E> base;
+
+    /** delivers each batch of changes to {@link #base} as a single event */
+    protected TransactionList<E> source;
+
+    protected final Random dice = new Random(0);
+
+    /** the ascending indices at which a batch is inserted, after insertion */
+    private int[] insertIndices;
+
+    /** the ascending indices at which a batch is updated */
+    private int[] updateIndices;
+
+    /** the values inserted or set by a batch */
+    private Object[] batchValues;
+
+    /**
+     * Create a new element for the source list.
+     */
+    protected abstract E createElement();
+
+    /**
+     * Fill the source list with {@link #size} elements and choose the indices
+     * of the changes in each batch.
+     */
+    protected void setUpSource() {
+        base = new BasicEventList<>(size, null, null);
+        for(int i = 0; i < size; i++) {
+            base.add(createElement());
+        }
+        source = new TransactionList<>(base, false);
+
+        final int batch = Math.min(batchSize, size);
+        batchValues = new Object[batch];
+        for(int i = 0; i < batch; i++) {
+            batchValues[i] = createElement();
+        }
+
+        // insert indices are offset by the number of preceding inserts in the batch
+        final int[] positions = choosePositions(batch, size + 1, true);
+        insertIndices = new int[batch];
+        for(int i = 0; i < batch; i++) {
+            insertIndices[i] = positions[i] + i;
+        }
+        updateIndices = choosePositions(batch, size, false);
+    }
+
+    /**
+     * Choose <code>count</code> ascending indices less than <code>limit</code>
+     * according to the {@link #distribution}. Clustered inserts share a single
+     * index, which after insertion makes them consecutive.
+     */
+    private int[] choosePositions(int count, int limit, boolean inserts) {
+        final int[] result = new int[count];
+        if(distribution == Distribution.UNIFORM) {
+            for(int i = 0; i < count; i++) {
+                result[i] = dice.nextInt(limit);
+            }
+            Arrays.sort(result);
+        } else if(distribution == Distribution.CLUSTERED) {
+            final int start = inserts ? dice.nextInt(limit) : dice.nextInt(limit - count + 1);
+            for(int i = 0; i < count; i++) {
+                result[i] = inserts ? start : start + i;
+            }
+        } else {
+            Arrays.fill(result, limit - 1);
+            if(!inserts) {
+                for(int i = 0; i < count; i++) {
+                    result[i] = limit - count + i;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Insert a batch of elements into the source list in a single event.
+     */
+    protected void insertBatch() {
+        source.beginEvent();
+        applyInserts();
+        source.commitEvent();
+    }
+
+    /**
+     * Insert a batch of elements into the source list, within the current
+     * transaction.
+     */
+    protected void applyInserts() {
+        for(int i = 0; i < insertIndices.length; i++) {
+            source.add(insertIndices[i], (E)batchValues[i]);
+        }
+    }
+
+    /**
+     * Remove the batch inserted by {@link #insertBatch()} in a single event,
+     * restoring the source list to its original state.
+     */
+    protected void removeBatch() {
+        source.beginEvent();
+        for(int i = insertIndices.length - 1; i >= 0; i--) {
+            source.remove(insertIndices[i]);
+        }
+        source.commitEvent();
+    }
+
+    /**
+     * Replace a batch of elements in the source list in a single event.
+     */
+    protected void updateBatch() {
+        source.beginEvent();
+        for(int i = 0; i < updateIndices.length; i++) {
+            source.set(updateIndices[i], (E)batchValues[i]);
+        }
+        source.commitEvent();
+    }
+
+    /**
+     * Get the indices changed by {@link #updateBatch()}.
+     */
+    protected int[] getUpdateIndices() {
+        return updateIndices;
+    }
+}
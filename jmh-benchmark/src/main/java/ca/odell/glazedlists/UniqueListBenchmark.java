@@ -0,0 +1,48 @@
+package ca.odell.glazedlists;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link UniqueList} for changes to its source, with values drawn
+ * from a range that determines how many duplicates each unique value has.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UniqueListBenchmark extends TransformedListBenchmark<Integer> {
+
+    /** the number of distinct values in the source list */
+    @Param({ "100", "10000" })
+    private int distinctValues;
+
+    private UniqueList<Integer> unique;
+
+    @Override
+    protected Integer createElement() {
+        return Integer.valueOf(dice.nextInt(distinctValues));
+    }
+
+    @Setup
+    public void setUp() {
+        setUpSource();
+        unique = UniqueList.create(source);
+    }
+
+    @Benchmark
+    public EventList<Integer> testInsertRemove() {
+        insertBatch();
+        removeBatch();
+        return unique;
+    }
+
+    @Benchmark
+    public EventList<Integer> testUpdate() {
+        updateBatch();
+        return unique;
+    }
+}